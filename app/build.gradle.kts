@@ -34,6 +34,7 @@ android {
 
 dependencies {
 
+    implementation(project(":cube-core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
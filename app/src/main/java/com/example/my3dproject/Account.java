@@ -1,5 +1,8 @@
 package com.example.my3dproject;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Represents a user account that has a username, profile picture and information about his current game session
  * (rotations made by him, the timer and so on).
@@ -9,9 +12,12 @@ public class Account {
 	// The display name of the user
 	public String name;
 
-	// The profile picture of the account, encoded as a Base64 String
+	// The profile picture of the account, encoded as a Base64 String (only kept by accounts of older versions)
 	public String profilePicture;
 
+	// The hash of the profile picture in the AvatarStore, or an empty String if there is none
+	public String profilePictureHash;
+
 	// The user ID */
 	public String userId;
 
@@ -21,9 +27,15 @@ public class Account {
 	// Flag indicating whether the best score should be reset (for debugging purposes)
 	public boolean resetBestScore;
 
-	// Serialized string containing saved rotation data
+	// Flag indicating whether the best time is counted in the rank index (accounts of older versions are not)
+	public boolean rankIndexed;
+
+	// Serialized string containing saved rotation data (only written by older versions of the app)
 	public String savedRotations;
 
+	// The saved cube, a CubeSnapshot encoded as a Base64 String
+	public String savedCubeSnapshot;
+
 	// Current timer value for the active session
 	public double timer;
 
@@ -41,9 +53,12 @@ public class Account {
 		this.userId = userId;
 		this.name = name;
 		this.profilePicture = "";
+		this.profilePictureHash = "";
 		this.bestTime = Double.MAX_VALUE; // Set to maximum value (no best time yet)
 		this.resetBestScore = false;
+		this.rankIndexed = false;
 		this.savedRotations = "";
+		this.savedCubeSnapshot = "";
 		this.timer = 0;
 		this.timestampOfSave = 0;
 	}
@@ -55,10 +70,13 @@ public class Account {
 	public Account() {
 		this.name = "";
 		this.profilePicture = "";
+		this.profilePictureHash = "";
 		this.userId = "";
 		this.bestTime = Double.MAX_VALUE; // Set to maximum value (no best time yet)
 		this.resetBestScore = false;
+		this.rankIndexed = false;
 		this.savedRotations = "";
+		this.savedCubeSnapshot = "";
 		this.timer = 0;
 		this.timestampOfSave = 0;
 	}
@@ -95,6 +113,22 @@ public class Account {
 		this.profilePicture = profilePicture;
 	}
 
+	/**
+	 * @return The hash of the profile picture in the AvatarStore, or an empty String if there is none
+	 */
+	public String getProfilePictureHash() {
+		return profilePictureHash;
+	}
+
+	/**
+	 * Sets the hash of the user's profile picture
+	 *
+	 * @param profilePictureHash The hash of the profile picture in the AvatarStore
+	 */
+	public void setProfilePictureHash(String profilePictureHash) {
+		this.profilePictureHash = profilePictureHash;
+	}
+
 	/**
 	 * @return true if the best score should be reset, false otherwise
 	 */
@@ -154,6 +188,24 @@ public class Account {
 		this.resetBestScore = shouldResetBestScore;
 	}
 
+	/**
+	 * Checks if the best time is counted in the rank index.
+	 *
+	 * @return true if the best time is counted in the rank index, false otherwise
+	 */
+	public boolean isRankIndexed() {
+		return rankIndexed;
+	}
+
+	/**
+	 * Sets the flag for the best time being counted in the rank index.
+	 *
+	 * @param rankIndexed true if the best time is counted in the rank index, false otherwise
+	 */
+	public void setRankIndexed(boolean rankIndexed) {
+		this.rankIndexed = rankIndexed;
+	}
+
 	/**
 	 * Gets the saved rotation data.
 	 *
@@ -172,6 +224,24 @@ public class Account {
 		this.savedRotations = savedRotations;
 	}
 
+	/**
+	 * Gets the saved cube.
+	 *
+	 * @return The saved cube snapshot, encoded as a Base64 String
+	 */
+	public String getSavedCubeSnapshot() {
+		return savedCubeSnapshot;
+	}
+
+	/**
+	 * Sets the saved cube.
+	 *
+	 * @param savedCubeSnapshot The cube snapshot to save, encoded as a Base64 String
+	 */
+	public void setSavedCubeSnapshot(String savedCubeSnapshot) {
+		this.savedCubeSnapshot = savedCubeSnapshot;
+	}
+
 	/**
 	 * Gets the timestamp of when the game state was last saved.
 	 *
@@ -208,4 +278,26 @@ public class Account {
 		this.timer = timer;
 	}
 
+	/**
+	 * Converts the account to the values of its children in the database, keyed by their names
+	 * (the same names Firebase gives the fields when the whole account is written).
+	 *
+	 * @return The values of the account's children
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("name", name);
+		map.put("profilePicture", profilePicture);
+		map.put("profilePictureHash", profilePictureHash);
+		map.put("userId", userId);
+		map.put("bestTime", bestTime);
+		map.put("resetBestScore", resetBestScore);
+		map.put("rankIndexed", rankIndexed);
+		map.put("savedRotations", savedRotations);
+		map.put("savedCubeSnapshot", savedCubeSnapshot);
+		map.put("timer", timer);
+		map.put("timestampOfSave", timestampOfSave);
+		return map;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.my3dproject;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A class responsible for reading the account of the signed in user. Accounts are keyed by their user ID in the
+ * "accounts" node, so the account is read directly from its own node instead of going over every account.
+ * The account is kept in memory once it is read, and all the activities share the same copy of it,
+ * so changes one of them makes to it are seen by the others without reading it again.
+ */
+public class AccountRepository {
+
+	// The static instance of the class - for singleton purposes
+	private static AccountRepository instance;
+	// Reference to the accounts in the Firebase database
+	private final DatabaseReference accountsRef;
+	// The user ID of the cached account, or null if no account is cached
+	private String cachedUserId;
+	// The cached account
+	private Account cachedAccount;
+	// The callbacks that wait for the account that is being read, or null if no account is being read
+	private List<Consumer<Account>> pendingCallbacks;
+	// The user ID of the account that is being read
+	private String pendingUserId;
+
+	/**
+	 * The private constructor
+	 */
+	private AccountRepository() {
+		this.accountsRef = FirebaseDatabase.getInstance().getReference("accounts");
+	}
+
+	/**
+	 * A method for getting the static instance of the class.
+	 *
+	 * @return the static instance of the class
+	 */
+	public static synchronized AccountRepository getInstance() {
+		if (instance == null) { // If the instance is null, construct a new one
+			instance = new AccountRepository();
+		}
+		return instance;
+	}
+
+	/**
+	 * @param userId A user ID
+	 * @return The database node of the user's account
+	 */
+	public DatabaseReference getAccountRef(String userId) {
+		return accountsRef.child(userId);
+	}
+
+	/**
+	 * Gets the account of a user, from memory if it was already read or from the database otherwise.
+	 * The callback is called on the main thread, with null if the user has no account or it could not be read.
+	 *
+	 * @param userId The user ID
+	 * @param callback The action that receives the account
+	 */
+	public synchronized void getAccount(String userId, Consumer<Account> callback) {
+		if(userId.equals(cachedUserId)) {
+			callback.accept(cachedAccount);
+			return;
+		}
+		// A read of the same account that is already on its way is joined instead of starting another one
+		if(pendingCallbacks != null && userId.equals(pendingUserId)) {
+			pendingCallbacks.add(callback);
+			return;
+		}
+		pendingUserId = userId;
+		pendingCallbacks = new ArrayList<>();
+		pendingCallbacks.add(callback);
+		accountsRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
+			@Override
+			public void onDataChange(DataSnapshot dataSnapshot) {
+				Account account = dataSnapshot.getValue(Account.class);
+				List<Consumer<Account>> callbacks;
+				synchronized (AccountRepository.this) {
+					if(!userId.equals(pendingUserId)) { // Another user signed in in the meantime
+						return;
+					}
+					if(account != null) {
+						cachedUserId = userId;
+						cachedAccount = account;
+					}
+					callbacks = takePendingCallbacks();
+				}
+				for(Consumer<Account> pendingCallback : callbacks) {
+					pendingCallback.accept(account);
+				}
+			}
+
+			@Override
+			public void onCancelled(DatabaseError ignored) {
+				List<Consumer<Account>> callbacks;
+				synchronized (AccountRepository.this) {
+					if(!userId.equals(pendingUserId)) {
+						return;
+					}
+					callbacks = takePendingCallbacks();
+				}
+				for(Consumer<Account> pendingCallback : callbacks) {
+					pendingCallback.accept(null);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces the cached account, for example with a newly created one.
+	 *
+	 * @param account The account
+	 */
+	public synchronized void setCachedAccount(Account account) {
+		this.cachedUserId = account.getUserId();
+		this.cachedAccount = account;
+	}
+
+	/**
+	 * Forgets the cached account, so the next call to getAccount reads it from the database.
+	 */
+	public synchronized void clearCache() {
+		this.cachedUserId = null;
+		this.cachedAccount = null;
+		this.pendingUserId = null;
+		this.pendingCallbacks = null;
+	}
+
+	/**
+	 * Takes the callbacks that wait for the account that was being read.
+	 *
+	 * @return The callbacks
+	 */
+	private List<Consumer<Account>> takePendingCallbacks() {
+		List<Consumer<Account>> callbacks = pendingCallbacks;
+		pendingCallbacks = null;
+		pendingUserId = null;
+		return callbacks;
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.example.my3dproject;
+
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A class that writes an account to the database by sending only the children that changed since the last write,
+ * with updateChildren instead of setValue. Writing the whole account every time would also upload the children
+ * that never change during a game, like the profile picture, which is by far the largest of them.
+ * <p>
+ * If a write fails, its children are sent again on the next write.
+ * <p>
+ * The account itself is never read here: the values are taken with Account.toMap on the thread that changes the
+ * account, and that copy is what is compared and sent, so a write never sees an account that is half changed.
+ */
+public class AccountSync {
+
+	// The account's node in the database
+	private final DatabaseReference accountRef;
+	// The values of the children as they were last sent (or read) - the values the database is believed to hold
+	private final Map<String, Object> sentValues;
+
+	/**
+	 * The constructor to construct an AccountSync
+	 *
+	 * @param accountRef The account's node in the database
+	 * @param values The values of the account's children as they were read from the database (see Account.toMap)
+	 */
+	public AccountSync(DatabaseReference accountRef, Map<String, Object> values) {
+		this.accountRef = accountRef;
+		this.sentValues = new HashMap<>(values);
+	}
+
+	/**
+	 * Sends the children of the account that changed since the last write. Nothing is sent if none changed.
+	 *
+	 * @param values A copy of the values of the account's children (see Account.toMap), which is not changed later
+	 */
+	public synchronized void sync(Map<String, Object> values) {
+		Map<String, Object> changedValues = new HashMap<>();
+		for(Map.Entry<String, Object> entry : values.entrySet()) {
+			if(!Objects.equals(sentValues.get(entry.getKey()), entry.getValue())) {
+				changedValues.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if(changedValues.isEmpty()) {
+			return;
+		}
+		sentValues.putAll(changedValues);
+		accountRef.updateChildren(changedValues).addOnFailureListener(e -> forget(changedValues));
+	}
+
+	/**
+	 * Forgets values that failed to be written, so they are sent again on the next write.
+	 *
+	 * @param failedValues The values that failed to be written
+	 */
+	private synchronized void forget(Map<String, Object> failedValues) {
+		for(Map.Entry<String, Object> entry : failedValues.entrySet()) {
+			// A newer value that was sent since then is left alone
+			if(Objects.equals(sentValues.get(entry.getKey()), entry.getValue())) {
+				sentValues.remove(entry.getKey());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.example.my3dproject;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+/**
+ * The memory cache of the profile pictures, holding them decoded and cropped to a circle, the way they are shown.
+ * The cache is bounded by the memory the pictures take: once it is full, the pictures that were not shown for
+ * the longest time are dropped (they are still in the file cache of the AvatarStore).
+ * It is safe to use from several threads.
+ */
+public class AvatarCache extends LruCache<String, Bitmap> {
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param maxBytes The largest amount of memory the pictures may take, in bytes
+	 */
+	public AvatarCache(int maxBytes) {
+		super(maxBytes);
+	}
+
+	/**
+	 * Creates an empty cache that takes a share of the memory the app may use.
+	 *
+	 * @param memoryDivisor The cache takes 1 / memoryDivisor of the memory the app may use
+	 * @return The cache
+	 */
+	public static AvatarCache ofMemoryShare(int memoryDivisor) {
+		return new AvatarCache((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / memoryDivisor));
+	}
+
+	/**
+	 * The size of a picture is the memory its pixels take.
+	 */
+	@Override
+	protected int sizeOf(String hash, Bitmap bitmap) {
+		return bitmap.getAllocationByteCount();
+	}
+
+	/**
+	 * @return A summary of how well the cache works, for tuning its size
+	 */
+	public String describe() {
+		return "AvatarCache: " + size() + " / " + maxSize() + " bytes, " + hitCount() + " hits, " + missCount() + " misses, " + evictionCount() + " evictions";
+	}
+
+}
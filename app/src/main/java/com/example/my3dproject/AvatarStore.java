@@ -0,0 +1,237 @@
+package com.example.my3dproject;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * A class responsible for the profile pictures of the accounts. The pictures are kept apart from the accounts,
+ * in the "avatars" node of the database, keyed by the SHA-256 hash of the picture, and an account only holds
+ * the hash. Since a hash always names the same picture, a picture is downloaded at most once: after that it
+ * is taken from the memory cache or from the file cache on the device.
+ * <p>
+ * Pictures are decoded and cropped to a circle (the way they are shown) on a background thread, and only the
+ * cropped pictures are kept in memory (in an AvatarCache bounded by their size in bytes), so showing a picture
+ * again costs nothing on the main thread.
+ */
+public class AvatarStore {
+
+	// The name of the database node and of the cache directory that hold the pictures
+	private static final String AVATARS = "avatars";
+
+	// The static instance of the class - for singleton purposes
+	private static AvatarStore instance;
+	// The "avatars" node of the database
+	private final DatabaseReference avatarsRef;
+	// The directory the downloaded pictures are cached in
+	private final File cacheDirectory;
+	// The decoded pictures, cropped to a circle, by hash
+	private final AvatarCache memoryCache;
+	// The background thread the pictures are decoded on
+	private final ExecutorService decodeExecutor;
+	// Posts the decoded pictures to the main thread
+	private final Handler mainHandler;
+
+	/**
+	 * The private constructor
+	 *
+	 * @param context Any context of the app
+	 */
+	private AvatarStore(Context context) {
+		this.avatarsRef = FirebaseDatabase.getInstance().getReference(AVATARS);
+		this.cacheDirectory = new File(context.getApplicationContext().getCacheDir(), AVATARS);
+		this.memoryCache = AvatarCache.ofMemoryShare(Constants.AVATAR_CACHE_MEMORY_DIVISOR);
+		this.decodeExecutor = Executors.newSingleThreadExecutor();
+		this.mainHandler = new Handler(Looper.getMainLooper());
+	}
+
+	/**
+	 * A method for getting the static instance of the class.
+	 *
+	 * @param context Any context of the app
+	 * @return the static instance of the class
+	 */
+	public static synchronized AvatarStore getInstance(Context context) {
+		if (instance == null) { // If the instance is null, construct a new one
+			instance = new AvatarStore(context);
+		}
+		return instance;
+	}
+
+	/**
+	 * Uploads a picture. The picture is written without checking whether it was already uploaded, since its key
+	 * is its hash: writing it again leaves the node exactly as it was, while checking first would download it.
+	 *
+	 * @param picture The picture, encoded as a Base64 String
+	 * @return The hash of the picture, to keep in the account
+	 */
+	public String upload(String picture) {
+		String hash = hashOf(picture);
+		avatarsRef.child(hash).setValue(picture);
+		return hash;
+	}
+
+	/**
+	 * Gets the picture of a hash, cropped to a circle, from the caches if it is there or from the database otherwise.
+	 * The callback is called on the main thread (right away if the picture is in memory),
+	 * and is not called if the picture could not be found.
+	 *
+	 * @param hash The hash of the picture
+	 * @param callback The action that receives the picture
+	 */
+	public void load(String hash, Consumer<Bitmap> callback) {
+		Bitmap cached = memoryCache.get(hash);
+		if(cached != null) {
+			callback.accept(cached);
+			return;
+		}
+		File file = new File(cacheDirectory, hash);
+		decodeExecutor.execute(() -> {
+			if(file.isFile()) {
+				Bitmap bitmap = BitmapFactory.decodeFile(file.getPath());
+				if(bitmap != null) {
+					deliver(hash, bitmap, callback);
+					return;
+				}
+			}
+			mainHandler.post(() -> download(hash, file, callback));
+		});
+	}
+
+	/**
+	 * Gets a picture that is held by an account of an older version itself, cropped to a circle.
+	 * The callback is called on the main thread (right away if the picture is in memory).
+	 *
+	 * @param picture The picture, encoded as a Base64 String
+	 * @param callback The action that receives the picture
+	 */
+	public void loadInline(String picture, Consumer<Bitmap> callback) {
+		decodeExecutor.execute(() -> {
+			String hash = hashOf(picture);
+			Bitmap cached = memoryCache.get(hash);
+			if(cached != null) {
+				mainHandler.post(() -> callback.accept(cached));
+				return;
+			}
+			byte[] bytes = Base64.decode(picture, Base64.DEFAULT);
+			Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+			if(bitmap != null) {
+				deliver(hash, bitmap, callback);
+			}
+		});
+	}
+
+	/**
+	 * Downloads a picture that is in neither of the caches, and decodes it on the background thread.
+	 *
+	 * @param hash The hash of the picture
+	 * @param file The file to cache the picture in
+	 * @param callback The action that receives the picture
+	 */
+	private void download(String hash, File file, Consumer<Bitmap> callback) {
+		avatarsRef.child(hash).addListenerForSingleValueEvent(new ValueEventListener() {
+			@Override
+			public void onDataChange(DataSnapshot dataSnapshot) {
+				String picture = dataSnapshot.getValue(String.class);
+				if(picture == null || picture.isEmpty()) {
+					return;
+				}
+				decodeExecutor.execute(() -> {
+					byte[] bytes = Base64.decode(picture, Base64.DEFAULT);
+					Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+					if(bitmap == null) {
+						return;
+					}
+					writeToFileCache(file, bytes);
+					deliver(hash, bitmap, callback);
+				});
+			}
+
+			@Override
+			public void onCancelled(DatabaseError ignored) {
+			}
+		});
+	}
+
+	/**
+	 * Crops a decoded picture to a circle, keeps it in memory and passes it to the main thread.
+	 * Runs on the background thread.
+	 *
+	 * @param hash The hash of the picture
+	 * @param bitmap The decoded picture
+	 * @param callback The action that receives the picture
+	 */
+	private void deliver(String hash, Bitmap bitmap, Consumer<Bitmap> callback) {
+		Bitmap circular = BitmapUtil.getCircularBitmap(bitmap);
+		memoryCache.put(hash, circular);
+		mainHandler.post(() -> callback.accept(circular));
+	}
+
+	/**
+	 * @return The memory cache of the pictures, whose hit and miss counts tell how well its size fits
+	 */
+	public AvatarCache getMemoryCache() {
+		return memoryCache;
+	}
+
+	/**
+	 * Writes a downloaded picture to the file cache.
+	 *
+	 * @param file The file of the picture
+	 * @param bytes The encoded picture
+	 */
+	private void writeToFileCache(File file, byte[] bytes) {
+		if(!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs()) {
+			return;
+		}
+		try (FileOutputStream outputStream = new FileOutputStream(file)) {
+			outputStream.write(bytes);
+		}
+		catch (IOException e) {
+			// The picture would just be downloaded again next time
+			Log.w("AvatarStore", "Could not cache a profile picture", e);
+		}
+	}
+
+	/**
+	 * Computes the hash that names a picture.
+	 *
+	 * @param picture The picture, encoded as a Base64 String
+	 * @return The SHA-256 hash of the encoded picture, as a hexadecimal String
+	 */
+	public static String hashOf(String picture) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(picture.getBytes(StandardCharsets.US_ASCII));
+			StringBuilder hash = new StringBuilder();
+			for(byte b : digest) {
+				hash.append(String.format("%02x", b & 0xFF));
+			}
+			return hash.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			// Every Android device has SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -32,6 +32,12 @@ public class BitmapUtil {
 	 */
 	public static final int PROFILE_PICTURE_HEIGHT = 128;
 
+	/**
+	 * The JPEG quality profile pictures are encoded at. A 128x128 picture at this quality takes a few KB,
+	 * with no difference that can be seen at the size the pictures are shown.
+	 */
+	public static final int PROFILE_PICTURE_QUALITY = 80;
+
 	/**
 	 * Creates a circular bitmap from the input bitmap by cropping it to a square
 	 * and drawing it within a circular mask.
@@ -55,54 +61,121 @@ public class BitmapUtil {
 	}
 
 	/**
-	 * Converts a bitmap to a Base64 encoded string representation.
+	 * Converts a bitmap to a Base64 encoded string representation, as a JPEG at the profile picture quality.
 	 *
 	 * @param bitmap The bitmap to be encoded
 	 * @return Base64 encoded string of the bitmap data
 	 */
 	public static String convertTo64Base(Bitmap bitmap){
 		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-		bitmap.compress(Bitmap.CompressFormat.JPEG, 100, byteArrayOutputStream);
+		bitmap.compress(Bitmap.CompressFormat.JPEG, PROFILE_PICTURE_QUALITY, byteArrayOutputStream);
 		byte[] data = byteArrayOutputStream.toByteArray();
 		return Base64.encodeToString(data, Base64.DEFAULT);
 	}
 
 	/**
-	 * Loads a bitmap from a content URI and automatically corrects its orientation
-	 * based on EXIF data.
+	 * Loads a profile picture from a content URI: the largest centered square of the image, scaled to
+	 * PROFILE_PICTURE_WIDTH x PROFILE_PICTURE_HEIGHT and turned by its EXIF orientation.
 	 *
 	 * @param imageUri The URI of the image to load
 	 * @param contentResolver ContentResolver to access the image data
-	 * @return A properly oriented bitmap loaded from the URI
+	 * @return The profile picture
 	 * @throws IOException If there's an error reading the image or EXIF data
 	 */
-	public static Bitmap getBitmapOutOfImageUri(Uri imageUri, android.content.ContentResolver contentResolver) throws IOException {
-		//gets a bitmap from the uri
-		InputStream inputStream = contentResolver.openInputStream(imageUri);
-		Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-		inputStream.close();
-
-		//gets the orientation of the image
-		InputStream exifInputStream = contentResolver.openInputStream(imageUri);
-		ExifInterface exif = new ExifInterface(exifInputStream);
-		int orientation = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
-		exifInputStream.close();
-
-		int rotationDegrees = 0;
-		switch (orientation) {
-			case ExifInterface.ORIENTATION_ROTATE_90: rotationDegrees = 90; break;
-			case ExifInterface.ORIENTATION_ROTATE_180: rotationDegrees = 180; break;
-			case ExifInterface.ORIENTATION_ROTATE_270: rotationDegrees = 270; break;
+	public static Bitmap getProfilePictureOutOfImageUri(Uri imageUri, android.content.ContentResolver contentResolver) throws IOException {
+		Bitmap sampled = decodeSampledBitmap(imageUri, contentResolver, PROFILE_PICTURE_WIDTH, PROFILE_PICTURE_HEIGHT);
+		int size = Math.min(sampled.getWidth(), sampled.getHeight());
+
+		// Cropping, scaling and rotating are done in a single pass over the small bitmap
+		Matrix matrix = new Matrix();
+		matrix.postScale((float) PROFILE_PICTURE_WIDTH / size, (float) PROFILE_PICTURE_HEIGHT / size);
+		matrix.postRotate(readRotationDegrees(imageUri, contentResolver));
+		Bitmap picture = Bitmap.createBitmap(
+			sampled, (sampled.getWidth() - size) / 2, (sampled.getHeight() - size) / 2, size, size, matrix, true
+		);
+		if(picture != sampled) {
+			sampled.recycle();
 		}
+		return picture;
+	}
 
-		if (rotationDegrees != 0) { // if the orientation is not 0 degrees, rotate the image
-			Matrix matrix = new Matrix(); // rotation matrix for the image
-			matrix.postRotate(rotationDegrees);
-			bitmap = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+	/**
+	 * Decodes an image at the smallest power of 2 reduction that keeps it at least as large as the requested size.
+	 * Only the bounds of the image are read first, so the full resolution image is never decoded.
+	 *
+	 * @param imageUri The URI of the image to load
+	 * @param contentResolver ContentResolver to access the image data
+	 * @param reqWidth The smallest width needed
+	 * @param reqHeight The smallest height needed
+	 * @return The decoded bitmap, not rotated
+	 * @throws IOException If there's an error reading the image
+	 */
+	private static Bitmap decodeSampledBitmap(Uri imageUri, android.content.ContentResolver contentResolver, int reqWidth, int reqHeight) throws IOException {
+		//reads only the size of the image
+		BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inJustDecodeBounds = true;
+		try (InputStream inputStream = contentResolver.openInputStream(imageUri)) {
+			BitmapFactory.decodeStream(inputStream, null, options);
+		}
+		if(options.outWidth <= 0 || options.outHeight <= 0) {
+			throw new IOException("Could not read the image " + imageUri);
 		}
 
+		//decodes the image at the reduced resolution
+		options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+		options.inJustDecodeBounds = false;
+		Bitmap bitmap;
+		try (InputStream inputStream = contentResolver.openInputStream(imageUri)) {
+			bitmap = BitmapFactory.decodeStream(inputStream, null, options);
+		}
+		if(bitmap == null) {
+			throw new IOException("Could not decode the image " + imageUri);
+		}
 		return bitmap;
 	}
 
+	/**
+	 * Calculates the largest power of 2 an image can be reduced by while staying at least as large as a size.
+	 * The image may be rotated later, so the smaller side of the image is compared to the larger side of the size.
+	 *
+	 * @param width The width of the image
+	 * @param height The height of the image
+	 * @param reqWidth The smallest width needed
+	 * @param reqHeight The smallest height needed
+	 * @return The value for BitmapFactory.Options.inSampleSize
+	 */
+	public static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+		int smallerSide = Math.min(width, height);
+		int required = Math.max(reqWidth, reqHeight);
+		int inSampleSize = 1;
+		while (smallerSide / (inSampleSize * 2) >= required) {
+			inSampleSize *= 2;
+		}
+		return inSampleSize;
+	}
+
+	/**
+	 * Reads how much an image should be turned to be shown upright.
+	 *
+	 * @param imageUri The URI of the image
+	 * @param contentResolver ContentResolver to access the image data
+	 * @return The rotation in degrees (0, 90, 180 or 270)
+	 * @throws IOException If there's an error reading the EXIF data
+	 */
+	private static int readRotationDegrees(Uri imageUri, android.content.ContentResolver contentResolver) throws IOException {
+		//gets the orientation of the image
+		int orientation;
+		try (InputStream exifInputStream = contentResolver.openInputStream(imageUri)) {
+			ExifInterface exif = new ExifInterface(exifInputStream);
+			orientation = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+		}
+
+		switch (orientation) {
+			case ExifInterface.ORIENTATION_ROTATE_90: return 90;
+			case ExifInterface.ORIENTATION_ROTATE_180: return 180;
+			case ExifInterface.ORIENTATION_ROTATE_270: return 270;
+			default: return 0;
+		}
+	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.example.my3dproject;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * A frame clock whose frames are the refreshes of the display (vsync), as reported by the Choreographer of
+ * the main thread. The thread of the frame loop asks the main thread for a frame callback and sleeps until it
+ * comes, so a frame is never drawn more often than the display can show it. Frames that should start later
+ * than the next refresh are asked for with a delay, so a slowed-down loop does not wake up on every refresh.
+ */
+public class ChoreographerFrameClock implements FrameClock, Choreographer.FrameCallback {
+
+	// How much earlier than the time it was asked for a refresh may be and still count, since refreshes jitter a little
+	private static final long FRAME_TIME_TOLERANCE_NANOS = 2_000_000;
+	// The longest time a frame is waited for, after which the frame starts anyway (for example when the screen is off)
+	private static final long MAX_WAIT_NANOS = 100_000_000;
+
+	// Posts the requests for frame callbacks to the main thread, which the Choreographer belongs to
+	private final Handler mainHandler;
+	// Guards the fields below, and is waited on between frames
+	private final Object lock;
+	// The time of the latest refresh of the display, in nanoseconds
+	private long lastVsyncNanos;
+	// The time the last frame started, in nanoseconds
+	private long lastFrameNanos;
+	// Whether a frame callback was asked for and did not come yet
+	private boolean isCallbackPosted;
+	// The time the frame callback that was asked for should come at, in nanoseconds
+	private long requestedCallbackNanos;
+	// Whether the waiting thread was woken up since the last frame started
+	private boolean isWoken;
+
+	/**
+	 * Creates a clock. May be called on any thread.
+	 */
+	public ChoreographerFrameClock() {
+		this.mainHandler = new Handler(Looper.getMainLooper());
+		this.lock = new Object();
+	}
+
+	@Override
+	public long nanoTime() {
+		return System.nanoTime();
+	}
+
+	@Override
+	public long awaitFrame(long earliestNanos) throws InterruptedException {
+		synchronized (lock) {
+			long deadline = System.nanoTime() + Math.max(0, earliestNanos - System.nanoTime()) + MAX_WAIT_NANOS;
+			while(lastVsyncNanos <= lastFrameNanos || (!isWoken && lastVsyncNanos < earliestNanos - FRAME_TIME_TOLERANCE_NANOS)) {
+				long now = System.nanoTime();
+				if(now >= deadline) { // The display does not refresh, so the frame starts without it
+					lastFrameNanos = now;
+					isWoken = false;
+					return now;
+				}
+				long delayNanos = isWoken ? 0 : earliestNanos - FRAME_TIME_TOLERANCE_NANOS - now;
+				requestCallback(Math.max(0, delayNanos));
+				long waitNanos = deadline - now;
+				lock.wait(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+			}
+			lastFrameNanos = lastVsyncNanos;
+			isWoken = false;
+			return lastFrameNanos;
+		}
+	}
+
+	@Override
+	public void wake() {
+		synchronized (lock) {
+			isWoken = true;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Called by the Choreographer on the main thread when the display refreshes.
+	 *
+	 * @param frameTimeNanos The time the refresh started, in nanoseconds
+	 */
+	@Override
+	public void doFrame(long frameTimeNanos) {
+		synchronized (lock) {
+			lastVsyncNanos = frameTimeNanos;
+			isCallbackPosted = false;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Asks the Choreographer for a frame callback, unless one that comes early enough was already asked for.
+	 * Called while holding the lock.
+	 *
+	 * @param delayNanos The time to wait before the callback, in nanoseconds
+	 */
+	private void requestCallback(long delayNanos) {
+		long callbackNanos = System.nanoTime() + delayNanos;
+		if(isCallbackPosted && requestedCallbackNanos <= callbackNanos) {
+			return;
+		}
+		isCallbackPosted = true;
+		requestedCallbackNanos = callbackNanos;
+		long delayMillis = delayNanos / 1_000_000;
+		mainHandler.post(() -> {
+			Choreographer choreographer = Choreographer.getInstance();
+			choreographer.removeFrameCallback(this);
+			choreographer.postFrameCallbackDelayed(this, delayMillis);
+		});
+	}
+
+}
@@ -35,4 +35,66 @@ public class Constants {
 	 */
 	public static final double FOCAL_LENGTH = 450;
 
-}
\ No newline at end of file
+	/**
+	 * The name of the file (in the app's files directory) that holds the tables of the solver.
+	 */
+	public static final String SOLVER_TABLES_FILE_NAME = "solver_tables.bin";
+
+	/**
+	 * The size of the Rubik's cube of the game.
+	 */
+	public static final double GAME_RUBIKS_CUBE_SIZE = 50;
+
+	/**
+	 * The amount of accounts that are read at a time for the leaderboard.
+	 */
+	public static final int LEADERBOARD_PAGE_SIZE = 25;
+
+	/**
+	 * How many accounts before the end of the read part of the leaderboard the next page starts being read.
+	 */
+	public static final int LEADERBOARD_PREFETCH_DISTANCE = 5;
+
+	/**
+	 * The memory cache of the profile pictures takes 1 / AVATAR_CACHE_MEMORY_DIVISOR of the memory the app may use.
+	 */
+	public static final int AVATAR_CACHE_MEMORY_DIVISOR = 16;
+
+	/**
+	 * The time a turn of the player takes to animate, in seconds (when no other turns are waiting).
+	 */
+	public static final double PLAYER_TURN_DURATION = 0.12;
+
+	/**
+	 * The largest amount of turns of the player that may wait to be animated. Turns made when that many are waiting are ignored.
+	 */
+	public static final int MAX_QUEUED_PLAYER_TURNS = 8;
+
+	/**
+	 * How much faster the turns of the player are animated for every turn that waits after the animated one
+	 * (0.75 means 1.75 times as fast with one turn waiting, 2.5 times with two and so on).
+	 */
+	public static final double PLAYER_TURN_BACKLOG_SPEEDUP = 0.75;
+
+	/**
+	 * The amount of fixed steps the simulation of the game loop takes every second, no matter the frame rate.
+	 */
+	public static final double SIMULATION_STEPS_PER_SECOND = 120;
+
+	/**
+	 * The longest time the simulation steps of a single frame may take, in seconds. Once they take longer,
+	 * the steps that are left are dropped instead of piling up on the next frames.
+	 */
+	public static final double FRAME_BUDGET = 0.008;
+
+	/**
+	 * The amount of frames every second while nothing moves and the screen is not touched.
+	 */
+	public static final double IDLE_FRAMES_PER_SECOND = 10;
+
+	/**
+	 * The time nothing has to move for before the frames come at the idle rate, in seconds.
+	 */
+	public static final double IDLE_DELAY = 1;
+
+}
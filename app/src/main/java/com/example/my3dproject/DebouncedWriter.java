@@ -0,0 +1,86 @@
+package com.example.my3dproject;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A class that writes values in the background, and only when there is something new to write.
+ * Every submitted value marks the writer as dirty, and the latest value is written once a delay after
+ * the first of them, so a burst of changes becomes a single write. When nothing is submitted, nothing is written.
+ *
+ * @param <T> The type of the written values
+ */
+public class DebouncedWriter<T> {
+
+	// The executor the values are written on
+	private final ScheduledExecutorService executor;
+	// The action that writes a value
+	private final Consumer<T> writer;
+	// The time in milliseconds from the first change to the write
+	private final long delayMillis;
+	// The latest value that was not written yet, or null if there is none
+	private final AtomicReference<T> pendingValue;
+	// Whether a write is already scheduled
+	private final AtomicBoolean isWriteScheduled;
+
+	/**
+	 * The constructor to construct a DebouncedWriter
+	 *
+	 * @param executor The executor to write the values on
+	 * @param writer The action that writes a value
+	 * @param delayMillis The time in milliseconds from the first change to the write
+	 */
+	public DebouncedWriter(ScheduledExecutorService executor, Consumer<T> writer, long delayMillis) {
+		this.executor = executor;
+		this.writer = writer;
+		this.delayMillis = delayMillis;
+		this.pendingValue = new AtomicReference<>();
+		this.isWriteScheduled = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Submits a new value to write, replacing any value that was not written yet.
+	 *
+	 * @param value The value
+	 */
+	public void submit(T value) {
+		pendingValue.set(value);
+		if(isWriteScheduled.compareAndSet(false, true)) {
+			try {
+				executor.schedule(this::writePendingValue, delayMillis, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException ignored) {
+				// The executor was shut down, so nothing is written anymore
+			}
+		}
+	}
+
+	/**
+	 * Writes the value that was not written yet (if there is one) right away, without waiting for the delay.
+	 */
+	public void flush() {
+		try {
+			executor.execute(this::writePendingValue);
+		}
+		catch (RejectedExecutionException ignored) {
+			// The executor was shut down, so nothing is written anymore
+		}
+	}
+
+	/**
+	 * Writes the latest value. Runs on the executor.
+	 */
+	private void writePendingValue() {
+		// Cleared before taking the value, so a value submitted from now on schedules another write
+		isWriteScheduled.set(false);
+		T value = pendingValue.getAndSet(null);
+		if(value != null) {
+			writer.accept(value);
+		}
+	}
+
+}
@@ -2,10 +2,7 @@ package com.example.my3dproject;
 
 import android.content.Context;
 import android.content.res.Configuration;
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
 import com.example.my3dproject.drawables.Drawable;
@@ -19,16 +16,19 @@ import java.util.List;
  * capabilities without game-specific features like timers, scoring, or Firebase integration.
  * This appears to be used for menu screens, demos, or other non-game contexts where
  * 3D visualization is needed but game logic is not required.
+ * <p>
+ * Like the GameController, it builds the frames on a simulation thread and draws them on a separate render thread.
  */
 public class DefaultController extends SurfaceView implements Runnable {
 
 	private final TimedAnimationManager animationManager;  // Manages timed animations and effects
-	private final Paint background;  // Paint object for drawing the background
-	private final SurfaceHolder surfaceHolder;  // Holder for the drawing surface
-	private volatile boolean isRenderThreadRunning;  // Thread safety flag for render loop
+	private Thread simulationThread;  // Thread that runs the rendering loop and builds the frames
+	private volatile boolean isSimulationThreadRunning;  // Thread safety flag for the rendering loop
 	private final List<Drawable> drawables;  // List of objects that can be drawn to screen
 	private final List<UpdatableComponent> updatables;  // List of objects that need regular updates
-	private double lastTime;  // Timestamp of last frame, used for delta time calculations
+	private final FrameSnapshotBuffer snapshotBuffer;  // Passes the frames from the simulation thread to the render thread
+	private final SnapshotRenderer snapshotRenderer;  // The render thread, which draws the frames
+	private final FrameScheduler frameScheduler;  // Paces the rendering loop to the display and steps the animations at a fixed rate
 
 	/**
 	 * Constructor initializes the basic rendering system
@@ -47,23 +47,22 @@ public class DefaultController extends SurfaceView implements Runnable {
 		// Initialize animation manager
 		this.animationManager = new TimedAnimationManager();
 
-		// Setup background rendering with theme adaptation
-		this.background = new Paint();
-		background.setColor(isDarkMode()? Color.BLACK : Color.WHITE);
-
 		// Initialize rendering components
-		this.surfaceHolder = getHolder();
-		this.isRenderThreadRunning = true;
+		this.simulationThread = new Thread(this);
+		this.isSimulationThreadRunning = true;
 		this.drawables = new ArrayList<>();
 		this.updatables = new ArrayList<>();
-		this.lastTime = System.nanoTime() / 1e9;  // Convert nanoseconds to seconds
+		this.snapshotBuffer = new FrameSnapshotBuffer();
+		this.snapshotRenderer = new SnapshotRenderer(getHolder(), snapshotBuffer, this::requestFrame);
+		this.frameScheduler = new FrameScheduler(new ChoreographerFrameClock(), animationManager::update, this::buildFrame, this::isActive);
 
 		// Configure screen geometry for 3D projection
 		ScreenGeometryManager.getInstance().setScreenSize(screenWidth, screenHeight);
 		ScreenGeometryManager.getInstance().setFocalLength(Constants.FOCAL_LENGTH);
 
-		// Start the render thread immediately
-		new Thread(this).start();
+		// Start the rendering threads immediately
+		simulationThread.start();
+		snapshotRenderer.start();
 	}
 
 	/**
@@ -72,6 +71,7 @@ public class DefaultController extends SurfaceView implements Runnable {
 	 */
 	public void addDrawables(Drawable... drawables) {
 		this.drawables.addAll(Arrays.asList(drawables));
+		requestFrame();
 	}
 
 	/**
@@ -80,37 +80,53 @@ public class DefaultController extends SurfaceView implements Runnable {
 	 */
 	public void addUpdatableComponents(UpdatableComponent... updatableComponents) {
 		this.updatables.addAll(Arrays.asList(updatableComponents));
+		requestFrame();
 	}
 
 	/**
-	 * Main rendering method that draws one frame
-	 * @param deltaTime Time elapsed since last frame in seconds
+	 * Makes the next frame be drawn, for changes that are made outside of the rendering loop
+	 * (frames are only drawn while something is moving)
 	 */
-	private void drawSurface(double deltaTime) {
-		Canvas canvas;
-		// Only draw if surface is valid and we can lock the canvas
-		if (surfaceHolder.getSurface().isValid() && (canvas = surfaceHolder.lockCanvas()) != null) {
-			// Update background color based on current theme
-			background.setColor(isDarkMode()? Color.BLACK : Color.WHITE);
-			canvas.drawPaint(background);
-
-			// Update all updatable components with current touch input
-			for(UpdatableComponent updatableComponent : updatables) {
-				updatableComponent.update(
-					deltaTime,
-					ScreenTouchListener.getInstance().getPos(),
-					ScreenTouchListener.getInstance().getEvent()
-				);
-			}
+	public void requestFrame() {
+		frameScheduler.invalidate();
+	}
 
-			// Render all drawable objects
-			for (Drawable drawable : drawables) {
-				drawable.render(canvas, isDarkMode());
+	/**
+	 * Checks if anything is moving, so the frames should keep coming at the full rate
+	 * @return true if one of the updatable components is animating
+	 */
+	private boolean isActive() {
+		if(animationManager.hasPendingActions()) {
+			return true;
+		}
+		for(UpdatableComponent updatableComponent : updatables) {
+			if(updatableComponent.isAnimating()) {
+				return true;
 			}
+		}
+		return false;
+	}
+
+	/**
+	 * Main rendering method that builds one frame on the simulation thread,
+	 * and publishes it for the render thread to draw
+	 * @param deltaTime Time of the animation steps taken since the last frame in seconds
+	 */
+	private void buildFrame(double deltaTime) {
+		// Update all updatable components with current touch input
+		ScreenTouchListener.Touch touch = ScreenTouchListener.getInstance().takeTouch();
+		for(UpdatableComponent updatableComponent : updatables) {
+			updatableComponent.update(deltaTime, touch.getPos(), touch.getEvent());
+		}
 
-			// Release the canvas and display the frame
-			surfaceHolder.unlockCanvasAndPost(canvas);
+		// Render all drawable objects into the snapshot of the frame, with the background color of the current theme
+		boolean isDarkMode = isDarkMode();
+		FrameSnapshot snapshot = snapshotBuffer.getBackSnapshot();
+		snapshot.setBackgroundColor(isDarkMode? Color.BLACK : Color.WHITE);
+		for (Drawable drawable : drawables) {
+			drawable.render(snapshot, isDarkMode);
 		}
+		snapshotBuffer.publish();
 	}
 
 	/**
@@ -123,27 +139,41 @@ public class DefaultController extends SurfaceView implements Runnable {
 	}
 
 	/**
-	 * Called when activity is paused. Stops the render thread.
+	 * Called when activity is paused. Stops the rendering threads.
 	 */
 	public void onPause() {
-		isRenderThreadRunning = false;
+		isSimulationThreadRunning = false;
+		frameScheduler.wake();  // Stop waiting for the next frame, so the simulation thread ends right away
+		snapshotRenderer.stop();
 	}
 
 	/**
-	 * Called when activity is destroyed. Stops the render thread.
+	 * Called when activity is destroyed. Stops the rendering threads.
 	 */
 	public void onDestroy() {
-		isRenderThreadRunning = false;
+		isSimulationThreadRunning = false;
+		frameScheduler.wake();
+		snapshotRenderer.stop();
 	}
 
 	/**
-	 * Called when activity is resumed. Restarts the render thread if needed.
+	 * Called when activity is resumed. Restarts the rendering threads if needed.
 	 */
 	public void onResume() {
-		if(!isRenderThreadRunning) {
-			isRenderThreadRunning = true;
-			new Thread(this).start();
+		if(!isSimulationThreadRunning) {
+			// The frames may only be built by a single thread, so the old simulation thread has to end first
+			try {
+				simulationThread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			isSimulationThreadRunning = true;
+			simulationThread = new Thread(this);
+			simulationThread.start();
 		}
+		snapshotRenderer.start();
 	}
 
 	/**
@@ -155,20 +185,19 @@ public class DefaultController extends SurfaceView implements Runnable {
 
 	/**
 	 * Main rendering loop that runs in a separate thread.
-	 * Handles timing, updates, and rendering.
+	 * Handles timing, updates, and rendering, once per frame of the frame scheduler.
 	 */
 	@Override
 	public void run() {
-		while (isRenderThreadRunning) {
-			// Calculate delta time since last frame
-			double currentTime = System.nanoTime() / 1e9;
-
-			// Update animation manager and render the frame
-			animationManager.update(currentTime - lastTime);
-			drawSurface(currentTime - lastTime);
-
-			// Store current time for next frame's delta calculation
-			lastTime = currentTime;
+		// The time the loop was paused for is not simulated
+		frameScheduler.start();
+		while (isSimulationThreadRunning) {
+			try {
+				frameScheduler.runFrame();
+			}
+			catch (InterruptedException e) {
+				return;
+			}
 		}
 	}
 }
\ No newline at end of file
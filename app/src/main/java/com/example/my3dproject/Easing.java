@@ -0,0 +1,31 @@
+package com.example.my3dproject;
+
+/**
+ * An easing curve, which tells how far along an animation is at every point of its time.
+ */
+public interface Easing {
+
+	/**
+	 * Moves at the same speed all the way.
+	 */
+	Easing LINEAR = progress -> progress;
+
+	/**
+	 * Starts fast and slows down towards the end.
+	 */
+	Easing EASE_OUT_CUBIC = progress -> 1 - Math.pow(1 - progress, 3);
+
+	/**
+	 * Speeds up at the start and slows down towards the end.
+	 */
+	Easing EASE_IN_OUT_CUBIC = progress -> progress < 0.5
+		? 4 * progress * progress * progress
+		: 1 - Math.pow(-2 * progress + 2, 3) / 2;
+
+	/**
+	 * @param progress The part of the animation's time that passed (0 to 1)
+	 * @return The part of the animation's way that was made (0 at 0 and 1 at 1)
+	 */
+	double apply(double progress);
+
+}
@@ -0,0 +1,147 @@
+package com.example.my3dproject;
+
+import com.example.my3dproject.drawables.Cube;
+import com.example.my3dproject.drawables.RubiksCube;
+import com.example.my3dproject.math.geometry.Axis;
+
+/**
+ * An animation of a single turn of a layer of the Rubik's cube. The angle of the layer is computed from the time
+ * that passed since the animation started, so a late or dropped frame only changes how the turn looks in that frame,
+ * and once the time is up the layer is turned by exactly what is left of the angle, so the turn always adds up to
+ * the whole angle (and the cube snaps to the exact orientation of its logical state).
+ */
+public class FaceTurnAnimation {
+
+	// The Rubik's cube whose layer is turned
+	private final RubiksCube rubiksCube;
+	// The axis the layer is turned around
+	private final Axis axis;
+	// A cube of the layer, which tells which layer is turned
+	private final Cube cubeToRotateAround;
+	// The angle of the whole turn, in radians
+	private final double angle;
+	// The time the turn takes, in seconds
+	private final double duration;
+	// The easing curve of the turn
+	private final Easing easing;
+	// The action that is run once the turn is done, or null
+	private final Runnable onFinished;
+	// The time that passed since the turn started, in seconds
+	private double elapsedTime;
+	// The angle the layer was already turned by
+	private double appliedAngle;
+
+	/**
+	 * Creates an animation of a turn.
+	 *
+	 * @param rubiksCube The Rubik's cube whose layer is turned
+	 * @param axis The axis the layer is turned around
+	 * @param cubeToRotateAround A cube of the layer, which tells which layer is turned
+	 * @param angle The angle of the whole turn, in radians
+	 * @param duration The time the turn takes, in seconds
+	 * @param easing The easing curve of the turn
+	 * @param onFinished The action to run once the turn is done, or null
+	 */
+	public FaceTurnAnimation(RubiksCube rubiksCube, Axis axis, Cube cubeToRotateAround, double angle, double duration, Easing easing, Runnable onFinished) {
+		this.rubiksCube = rubiksCube;
+		this.axis = axis;
+		this.cubeToRotateAround = cubeToRotateAround;
+		this.angle = angle;
+		this.duration = duration;
+		this.easing = easing;
+		this.onFinished = onFinished;
+		this.elapsedTime = 0;
+		this.appliedAngle = 0;
+	}
+
+	/**
+	 * Creates an animation of the turn of a rotation operation.
+	 *
+	 * @param rubiksCube The Rubik's cube whose layer is turned
+	 * @param rotationOperation The rotation operation
+	 * @param duration The time the turn takes, in seconds
+	 * @param easing The easing curve of the turn
+	 * @param onFinished The action to run once the turn is done, or null
+	 * @return The animation
+	 */
+	public static FaceTurnAnimation of(RubiksCube rubiksCube, RotationOperation rotationOperation, double duration, Easing easing, Runnable onFinished) {
+		Cube cubeToRotateAround = new Cube(
+			rotationOperation.getPointToRotateAround().getX(),
+			rotationOperation.getPointToRotateAround().getY(),
+			rotationOperation.getPointToRotateAround().getZ(), rubiksCube.getSmallCubesSize()
+		);
+		return new FaceTurnAnimation(
+			rubiksCube, rotationOperation.getAxisOfRotation(), cubeToRotateAround,
+			rotationOperation.getAngleOfRotation(), duration, easing, onFinished
+		);
+	}
+
+	/**
+	 * Moves the animation forward in time and turns the layer to where it should be by then.
+	 *
+	 * @param deltaTime The time that passed, in seconds
+	 * @return The part of the time that was left after the turn was done (0 if it is not done yet)
+	 */
+	public double advance(double deltaTime) {
+		elapsedTime += deltaTime;
+		double targetAngle;
+		double leftTime = 0;
+		if(elapsedTime >= duration) {
+			leftTime = elapsedTime - duration;
+			elapsedTime = duration;
+			targetAngle = angle; // Exactly the whole angle, whatever the easing curve gives at 1
+		}
+		else {
+			targetAngle = angle * easing.apply(elapsedTime / duration);
+		}
+		if(targetAngle != appliedAngle) {
+			rubiksCube.rotateLayer(axis, cubeToRotateAround, targetAngle - appliedAngle);
+			appliedAngle = targetAngle;
+		}
+		return leftTime;
+	}
+
+	/**
+	 * @return true once the animation started moving the layer
+	 */
+	public boolean isStarted() {
+		return elapsedTime > 0;
+	}
+
+	/**
+	 * Checks if another turn undoes this one: a turn of the same layer around the same axis by the opposite angle.
+	 *
+	 * @param other The other turn
+	 * @return true if doing both turns leaves the cube as it was
+	 */
+	public boolean isInverseOf(FaceTurnAnimation other) {
+		return axis == other.axis
+			&& Math.abs(getPositionOnAxis() - other.getPositionOnAxis()) < RotationOperation.CUBE_POSITION_TOLERANCE_FOR_ROTATION
+			&& Math.abs(angle + other.angle) < 1e-6;
+	}
+
+	/**
+	 * @return The position of the turned layer on the axis
+	 */
+	private double getPositionOnAxis() {
+		return axis == Axis.X ? cubeToRotateAround.getPos().getX() :
+			axis == Axis.Y ? cubeToRotateAround.getPos().getY() : cubeToRotateAround.getPos().getZ();
+	}
+
+	/**
+	 * @return true once the layer was turned by the whole angle
+	 */
+	public boolean isFinished() {
+		return elapsedTime >= duration;
+	}
+
+	/**
+	 * Runs the action of the end of the turn, if there is one.
+	 */
+	public void runOnFinished() {
+		if(onFinished != null) {
+			onFinished.run();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.example.my3dproject;
+
+import java.util.ArrayDeque;
+
+/**
+ * Plays face turn animations one after the other. Only the animation at the head of the queue is active,
+ * so queueing a turn takes constant time, and every frame only the active turn does any work. The time that is
+ * left in a frame after a turn is done goes to the next turn, so a series of turns takes the same time at any
+ * frame rate.
+ * <p>
+ * An animator may speed its animations up as turns pile up behind the active one, so a quick series of turns
+ * (such as the finger tricks of a speed-solver) is never far behind the input, and a turn that undoes the last
+ * queued turn may cancel it instead of being queued (see enqueueCoalescing).
+ */
+public class FaceTurnAnimator {
+
+	// The animations that were not done yet, the active one at the head
+	private final ArrayDeque<FaceTurnAnimation> queue;
+	// How much faster the active animation is played for every animation that waits after it
+	private final double backlogSpeedup;
+
+	/**
+	 * Creates an animator with no animations, which plays all the animations at their own speed.
+	 */
+	public FaceTurnAnimator() {
+		this(0);
+	}
+
+	/**
+	 * Creates an animator with no animations.
+	 *
+	 * @param backlogSpeedup How much faster the active animation is played for every animation that waits after it
+	 */
+	public FaceTurnAnimator(double backlogSpeedup) {
+		this.queue = new ArrayDeque<>();
+		this.backlogSpeedup = backlogSpeedup;
+	}
+
+	/**
+	 * Adds an animation, which starts once all the animations before it are done.
+	 *
+	 * @param animation The animation
+	 */
+	public synchronized void enqueue(FaceTurnAnimation animation) {
+		queue.addLast(animation);
+	}
+
+	/**
+	 * Adds an animation, unless it undoes the last animation that is waiting (in which case both are dropped,
+	 * and the action of the end of the waiting one is not run) or there are too many animations already.
+	 *
+	 * @param animation The animation
+	 * @param maxQueued The largest amount of animations the animator may hold
+	 * @return false if the animation was ignored since there were too many animations already
+	 */
+	public synchronized boolean enqueueCoalescing(FaceTurnAnimation animation, int maxQueued) {
+		FaceTurnAnimation last = queue.peekLast();
+		if(last != null && !last.isStarted() && last.isInverseOf(animation)) {
+			queue.pollLast();
+			return true;
+		}
+		if(queue.size() >= maxQueued) {
+			return false;
+		}
+		queue.addLast(animation);
+		return true;
+	}
+
+	/**
+	 * @return true if there is an animation that was not done yet
+	 */
+	public synchronized boolean isAnimating() {
+		return !queue.isEmpty();
+	}
+
+	/**
+	 * Moves the animations forward in time. Called each iteration of the main game loop.
+	 *
+	 * @param deltaTime The time that passed since the last update, in seconds
+	 */
+	public synchronized void update(double deltaTime) {
+		double time = deltaTime;
+		while(!queue.isEmpty()) {
+			FaceTurnAnimation animation = queue.peekFirst();
+			double speed = 1 + backlogSpeedup * (queue.size() - 1);
+			time = animation.advance(time * speed) / speed;
+			if(!animation.isFinished()) {
+				return;
+			}
+			queue.pollFirst();
+			animation.runOnFinished();
+		}
+	}
+
+}
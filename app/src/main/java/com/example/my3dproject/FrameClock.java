@@ -0,0 +1,30 @@
+package com.example.my3dproject;
+
+/**
+ * The source of time of a FrameScheduler, which also decides when its frames start. On a device the frames
+ * follow the refresh of the display (see ChoreographerFrameClock), while SystemFrameClock only needs the JVM.
+ */
+public interface FrameClock {
+
+	/**
+	 * @return The current time, in nanoseconds (on the same time base as System.nanoTime)
+	 */
+	long nanoTime();
+
+	/**
+	 * Blocks until the next frame that starts at a given time or later, or until the clock is woken up,
+	 * in which case it waits only for the next frame.
+	 *
+	 * @param earliestNanos The earliest time the frame may start, in nanoseconds
+	 * @return The time the frame started, in nanoseconds
+	 * @throws InterruptedException If the waiting thread was interrupted
+	 */
+	long awaitFrame(long earliestNanos) throws InterruptedException;
+
+	/**
+	 * Makes the thread that waits for a frame (or the next one that does) stop waiting for the earliest time
+	 * it asked for, for example since the player touched the screen while the frames were slowed down.
+	 */
+	void wake();
+
+}
@@ -0,0 +1,192 @@
+package com.example.my3dproject;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Runs the frames of a frame loop: the simulation moves forward in fixed steps, and the frames are drawn as
+ * the frame clock lets them (on a device, once per refresh of the display), instead of as fast as possible.
+ * A frame is only drawn when something is moving or the picture was invalidated since the last frame, so a
+ * still picture is drawn once and then costs nothing.
+ * <p>
+ * The time between frames goes into an accumulator, and the simulation takes as many whole steps as the
+ * accumulator holds (the rest of the time waits for the next frame), so the simulation is the same at any frame
+ * rate. The frame itself is told the time of the steps that were taken before it.
+ * <p>
+ * A frame has a budget: once the steps of a frame took longer than it, the steps that are left are dropped,
+ * so a slow frame is followed by a slower simulation rather than by more and more steps to catch up on.
+ * <p>
+ * When the loop reports that nothing is moving for a while, the scheduler goes into an idle mode in which the
+ * frames come at a much lower rate, until something moves again or the scheduler is woken up.
+ */
+public class FrameScheduler {
+
+	// The longest time a single frame may move the simulation forward, so a loop that stopped does not catch up on it
+	private static final long MAX_FRAME_TIME_NANOS = 250_000_000;
+
+	// The clock that the frames follow
+	private final FrameClock clock;
+	// The time of a single step of the simulation, in seconds
+	private final double stepTime;
+	// The time of a single step of the simulation, in nanoseconds
+	private final long stepNanos;
+	// The longest time the steps of a frame may take, in nanoseconds
+	private final long frameBudgetNanos;
+	// The time between frames in the idle mode, in nanoseconds
+	private final long idleFrameIntervalNanos;
+	// The time nothing has to move for before the idle mode starts, in nanoseconds
+	private final long idleDelayNanos;
+	// Moves the simulation forward by a single step, whose time it gets in seconds
+	private final DoubleConsumer step;
+	// Draws a frame, and gets the time of the steps that were taken since the last frame in seconds
+	private final DoubleConsumer frame;
+	// Tells whether something is moving, so the frames should come at the full rate
+	private final BooleanSupplier isActive;
+	// The time the last frame started, in nanoseconds
+	private long lastFrameNanos;
+	// The time that passed and was not simulated yet, in nanoseconds
+	private long accumulatedNanos;
+	// The time something moved at last, in nanoseconds
+	private long lastActiveNanos;
+	// Whether the scheduler is in the idle mode
+	private volatile boolean isIdle;
+	// Whether the picture changed without anything moving, so the next frame should be drawn
+	private final AtomicBoolean isInvalidated;
+	// The amount of frames whose steps went over the frame budget
+	private long overBudgetFrames;
+
+	/**
+	 * Creates a scheduler with the rates of Constants.
+	 *
+	 * @param clock The clock that the frames follow
+	 * @param step Moves the simulation forward by a single step, whose time it gets in seconds
+	 * @param frame Draws a frame, and gets the time of the steps that were taken since the last frame in seconds
+	 * @param isActive Tells whether something is moving, so the frames should come at the full rate
+	 */
+	public FrameScheduler(FrameClock clock, DoubleConsumer step, DoubleConsumer frame, BooleanSupplier isActive) {
+		this(
+			clock, Constants.SIMULATION_STEPS_PER_SECOND, Constants.FRAME_BUDGET,
+			Constants.IDLE_FRAMES_PER_SECOND, Constants.IDLE_DELAY, step, frame, isActive
+		);
+	}
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param clock The clock that the frames follow
+	 * @param stepsPerSecond The amount of steps the simulation takes every second
+	 * @param frameBudget The longest time the steps of a frame may take, in seconds
+	 * @param idleFramesPerSecond The amount of frames every second in the idle mode
+	 * @param idleDelay The time nothing has to move for before the idle mode starts, in seconds
+	 * @param step Moves the simulation forward by a single step, whose time it gets in seconds
+	 * @param frame Draws a frame, and gets the time of the steps that were taken since the last frame in seconds
+	 * @param isActive Tells whether something is moving, so the frames should come at the full rate
+	 */
+	public FrameScheduler(
+		FrameClock clock,
+		double stepsPerSecond,
+		double frameBudget,
+		double idleFramesPerSecond,
+		double idleDelay,
+		DoubleConsumer step,
+		DoubleConsumer frame,
+		BooleanSupplier isActive
+	) {
+		if(stepsPerSecond <= 0 || idleFramesPerSecond <= 0) {
+			throw new IllegalArgumentException("The rates must be positive");
+		}
+		this.clock = clock;
+		this.stepNanos = Math.max(1, Math.round(1e9 / stepsPerSecond));
+		this.stepTime = stepNanos / 1e9;
+		this.frameBudgetNanos = Math.round(frameBudget * 1e9);
+		this.idleFrameIntervalNanos = Math.round(1e9 / idleFramesPerSecond);
+		this.idleDelayNanos = Math.round(idleDelay * 1e9);
+		this.step = step;
+		this.frame = frame;
+		this.isActive = isActive;
+		this.isInvalidated = new AtomicBoolean();
+		start();
+	}
+
+	/**
+	 * Starts counting the time from now, so the time before it (for example while the loop was paused) is not simulated.
+	 * Called before the first frame of a loop, which is always drawn.
+	 */
+	public void start() {
+		lastFrameNanos = clock.nanoTime();
+		accumulatedNanos = 0;
+		lastActiveNanos = lastFrameNanos;
+		isIdle = false;
+		isInvalidated.set(true);
+	}
+
+	/**
+	 * Waits for the next frame, takes the steps of the simulation that are due and draws the frame
+	 * if something is moving or the picture was invalidated.
+	 *
+	 * @throws InterruptedException If the thread was interrupted while waiting for the frame
+	 */
+	public void runFrame() throws InterruptedException {
+		long frameStartNanos = clock.awaitFrame(isIdle ? lastFrameNanos + idleFrameIntervalNanos : lastFrameNanos + 1);
+		accumulatedNanos += Math.max(0, Math.min(frameStartNanos - lastFrameNanos, MAX_FRAME_TIME_NANOS));
+		lastFrameNanos = frameStartNanos;
+
+		int steps = 0;
+		long stepsStartNanos = clock.nanoTime();
+		while(accumulatedNanos >= stepNanos) {
+			step.accept(stepTime);
+			accumulatedNanos -= stepNanos;
+			steps++;
+			if(accumulatedNanos >= stepNanos && clock.nanoTime() - stepsStartNanos > frameBudgetNanos) {
+				// Out of budget - the time that is left is dropped, apart from what is less than a step
+				accumulatedNanos %= stepNanos;
+				overBudgetFrames++;
+			}
+		}
+		boolean isActive = this.isActive.getAsBoolean();
+		if(isInvalidated.getAndSet(false) || isActive) {
+			frame.accept(steps * stepTime);
+		}
+
+		if(isActive) {
+			lastActiveNanos = frameStartNanos;
+			isIdle = false;
+		}
+		else if(frameStartNanos - lastActiveNanos >= idleDelayNanos) {
+			isIdle = true;
+		}
+	}
+
+	/**
+	 * Makes the next frame be drawn even if nothing is moving, since the picture changed in another way
+	 * (or could not be drawn). Leaves the idle mode right away. May be called on any thread.
+	 */
+	public void invalidate() {
+		isInvalidated.set(true);
+		wake();
+	}
+
+	/**
+	 * Leaves the idle mode right away, without waiting for the rest of the slow frame. May be called on any thread.
+	 */
+	public void wake() {
+		isIdle = false;
+		clock.wake();
+	}
+
+	/**
+	 * @return true if the frames come at the low rate of the idle mode
+	 */
+	public boolean isIdle() {
+		return isIdle;
+	}
+
+	/**
+	 * @return The amount of frames whose steps went over the frame budget, and dropped some of the time
+	 */
+	public long getOverBudgetFrames() {
+		return overBudgetFrames;
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.example.my3dproject;
+
+import java.util.Arrays;
+
+/**
+ * Everything a single frame draws, already projected to the screen and in the order it is drawn: the background
+ * color and a list of shapes (polygons, circles and texts) with their screen coordinates and final colors.
+ * <p>
+ * A snapshot is built by the simulation thread and drawn by the render thread, so drawing a frame needs no
+ * geometry at all, and the simulation can build the next frame while the last one is drawn. The snapshots are
+ * passed between the threads through a FrameSnapshotBuffer, which makes sure a snapshot is only ever used by a
+ * single thread: it is written while it is being built and never changes after it is published.
+ * <p>
+ * The shapes are kept in parallel arrays that grow as needed and are reused by the next frames, so building
+ * a snapshot allocates nothing once the arrays are large enough.
+ */
+public final class FrameSnapshot {
+
+	/**
+	 * A filled polygon with an outline. Its size is the width of the outline.
+	 */
+	public static final int POLYGON = 0;
+	/**
+	 * A filled circle with an outline around its single vertex. Its size is the radius.
+	 */
+	public static final int CIRCLE = 1;
+	/**
+	 * A text that starts at its single vertex, in the fill color. Its size is the size of the text.
+	 */
+	public static final int TEXT = 2;
+
+	// The amount of shapes and vertices the arrays can hold at first
+	private static final int INITIAL_CAPACITY = 128;
+
+	// The number of the snapshot, which grows with every published snapshot (0 for one that was never published)
+	private volatile long sequence;
+	// The color the frame is cleared to
+	private int backgroundColor;
+	// The amount of shapes in the snapshot
+	private int shapesCount;
+	// The kind of every shape (POLYGON, CIRCLE or TEXT)
+	private int[] kinds;
+	// The fill color of every shape
+	private int[] fillColors;
+	// The outline color of every shape
+	private int[] outlineColors;
+	// The size of every shape (its meaning depends on the kind)
+	private float[] sizes;
+	// The index of the first vertex of every shape
+	private int[] firstVertices;
+	// The text of every text shape, null for the other shapes
+	private String[] texts;
+	// The amount of vertices in the snapshot
+	private int verticesCount;
+	// The screen coordinates of the vertices, x and y one after the other
+	private float[] vertices;
+
+	/**
+	 * Creates an empty snapshot.
+	 */
+	public FrameSnapshot() {
+		this.kinds = new int[INITIAL_CAPACITY];
+		this.fillColors = new int[INITIAL_CAPACITY];
+		this.outlineColors = new int[INITIAL_CAPACITY];
+		this.sizes = new float[INITIAL_CAPACITY];
+		this.firstVertices = new int[INITIAL_CAPACITY];
+		this.texts = new String[INITIAL_CAPACITY];
+		this.vertices = new float[INITIAL_CAPACITY * 2];
+	}
+
+	/**
+	 * Removes all the shapes, so the snapshot can be built again. Keeps the arrays.
+	 */
+	public void clear() {
+		Arrays.fill(texts, 0, shapesCount, null);
+		shapesCount = 0;
+		verticesCount = 0;
+	}
+
+	/**
+	 * @param backgroundColor The color the frame is cleared to
+	 */
+	public void setBackgroundColor(int backgroundColor) {
+		this.backgroundColor = backgroundColor;
+	}
+
+	/**
+	 * Adds a filled polygon, whose vertices are added after it by addVertex.
+	 *
+	 * @param fillColor The color of the inside of the polygon
+	 * @param outlineColor The color of the outline
+	 * @param outlineWidth The width of the outline, in pixels
+	 */
+	public void addPolygon(int fillColor, int outlineColor, float outlineWidth) {
+		addShape(POLYGON, fillColor, outlineColor, outlineWidth, null);
+	}
+
+	/**
+	 * Adds a filled circle.
+	 *
+	 * @param x The x of the center on the screen
+	 * @param y The y of the center on the screen
+	 * @param radius The radius, in pixels
+	 * @param fillColor The color of the inside of the circle
+	 * @param outlineColor The color of the outline
+	 */
+	public void addCircle(float x, float y, float radius, int fillColor, int outlineColor) {
+		addShape(CIRCLE, fillColor, outlineColor, radius, null);
+		addVertex(x, y);
+	}
+
+	/**
+	 * Adds a text.
+	 *
+	 * @param text The text
+	 * @param x The x of the start of the text on the screen
+	 * @param y The y of the baseline of the text on the screen
+	 * @param textSize The size of the text, in pixels
+	 * @param color The color of the text
+	 */
+	public void addText(String text, float x, float y, float textSize, int color) {
+		addShape(TEXT, color, color, textSize, text);
+		addVertex(x, y);
+	}
+
+	/**
+	 * Adds a vertex to the last shape that was added.
+	 *
+	 * @param x The x of the vertex on the screen
+	 * @param y The y of the vertex on the screen
+	 */
+	public void addVertex(float x, float y) {
+		if(verticesCount * 2 == vertices.length) {
+			vertices = Arrays.copyOf(vertices, vertices.length * 2);
+		}
+		vertices[verticesCount * 2] = x;
+		vertices[verticesCount * 2 + 1] = y;
+		verticesCount++;
+	}
+
+	/**
+	 * Adds a shape with no vertices, growing the arrays if they are full.
+	 */
+	private void addShape(int kind, int fillColor, int outlineColor, float size, String text) {
+		if(shapesCount == kinds.length) {
+			int capacity = kinds.length * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			fillColors = Arrays.copyOf(fillColors, capacity);
+			outlineColors = Arrays.copyOf(outlineColors, capacity);
+			sizes = Arrays.copyOf(sizes, capacity);
+			firstVertices = Arrays.copyOf(firstVertices, capacity);
+			texts = Arrays.copyOf(texts, capacity);
+		}
+		kinds[shapesCount] = kind;
+		fillColors[shapesCount] = fillColor;
+		outlineColors[shapesCount] = outlineColor;
+		sizes[shapesCount] = size;
+		firstVertices[shapesCount] = verticesCount;
+		texts[shapesCount] = text;
+		shapesCount++;
+	}
+
+	/**
+	 * @return The number of the snapshot, which grows with every published snapshot
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @param sequence The number of the snapshot. Set by FrameSnapshotBuffer when it is published.
+	 */
+	void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	/**
+	 * @return The color the frame is cleared to
+	 */
+	public int getBackgroundColor() {
+		return backgroundColor;
+	}
+
+	/**
+	 * @return The amount of shapes, which are drawn in the order of their indexes
+	 */
+	public int getShapesCount() {
+		return shapesCount;
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The kind of the shape (POLYGON, CIRCLE or TEXT)
+	 */
+	public int getKind(int shape) {
+		return kinds[shape];
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The fill color of the shape
+	 */
+	public int getFillColor(int shape) {
+		return fillColors[shape];
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The outline color of the shape
+	 */
+	public int getOutlineColor(int shape) {
+		return outlineColors[shape];
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The size of the shape (the width of the outline of a polygon, the radius of a circle, the size of a text)
+	 */
+	public float getSize(int shape) {
+		return sizes[shape];
+	}
+
+	/**
+	 * @param shape The index of a text shape
+	 * @return The text
+	 */
+	public String getText(int shape) {
+		return texts[shape];
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The index of the first vertex of the shape
+	 */
+	public int getFirstVertex(int shape) {
+		return firstVertices[shape];
+	}
+
+	/**
+	 * @param shape The index of a shape
+	 * @return The amount of vertices of the shape
+	 */
+	public int getVerticesCount(int shape) {
+		int end = shape + 1 < shapesCount ? firstVertices[shape + 1] : verticesCount;
+		return end - firstVertices[shape];
+	}
+
+	/**
+	 * @param vertex The index of a vertex
+	 * @return The x of the vertex on the screen
+	 */
+	public float getX(int vertex) {
+		return vertices[vertex * 2];
+	}
+
+	/**
+	 * @param vertex The index of a vertex
+	 * @return The y of the vertex on the screen
+	 */
+	public float getY(int vertex) {
+		return vertices[vertex * 2 + 1];
+	}
+
+}
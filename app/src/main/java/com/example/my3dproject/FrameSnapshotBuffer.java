@@ -0,0 +1,97 @@
+package com.example.my3dproject;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Passes frame snapshots from the simulation thread (the writer) to the render thread (the reader) without locks.
+ * <p>
+ * There are three snapshots: the writer builds the next frame in its back snapshot, the reader draws its front
+ * snapshot, and the latest published snapshot waits between them in an atomic reference. Publishing swaps the
+ * back snapshot with the latest one, and taking swaps the front snapshot with it, so both threads always own
+ * a snapshot of their own and neither ever waits for the other. A frame that was published before the reader
+ * took the last one is simply dropped, and the reader always draws the newest frame.
+ */
+public class FrameSnapshotBuffer {
+
+	// The latest published snapshot, or a snapshot that was already drawn if nothing was published since
+	private final AtomicReference<FrameSnapshot> latest;
+	// The snapshot the writer builds, owned by the writer
+	private FrameSnapshot back;
+	// The snapshot the reader draws, owned by the reader
+	private FrameSnapshot front;
+	// The amount of snapshots that were published, written by the writer only
+	private long publishedCount;
+	// The reader thread while it waits for a snapshot, or null
+	private volatile Thread waitingReader;
+
+	/**
+	 * Creates a buffer with nothing published.
+	 */
+	public FrameSnapshotBuffer() {
+		this.latest = new AtomicReference<>(new FrameSnapshot());
+		this.back = new FrameSnapshot();
+		this.front = new FrameSnapshot();
+	}
+
+	/**
+	 * Gets the snapshot to build the next frame in, cleared. Called by the writer only.
+	 *
+	 * @return The back snapshot
+	 */
+	public FrameSnapshot getBackSnapshot() {
+		back.clear();
+		return back;
+	}
+
+	/**
+	 * Publishes the back snapshot, after which the writer must not touch it anymore. Called by the writer only.
+	 */
+	public void publish() {
+		back.setSequence(++publishedCount);
+		back = latest.getAndSet(back);
+		Thread reader = waitingReader;
+		if(reader != null) {
+			LockSupport.unpark(reader);
+		}
+	}
+
+	/**
+	 * Takes the latest published snapshot if it is newer than the one the reader has. The snapshot belongs
+	 * to the reader until it takes the next one. Called by the reader only.
+	 *
+	 * @return The snapshot to draw, or null if nothing was published since the last one was taken
+	 */
+	public FrameSnapshot takeLatest() {
+		if(latest.get().getSequence() <= front.getSequence()) {
+			return null;
+		}
+		// Only the writer may have swapped in a snapshot since the check, and it would be even newer
+		front = latest.getAndSet(front);
+		return front;
+	}
+
+	/**
+	 * Takes the latest published snapshot, waiting for one to be published if there is no new one.
+	 * Called by the reader only.
+	 *
+	 * @param timeoutNanos The longest time to wait, in nanoseconds
+	 * @return The snapshot to draw, or null if nothing was published in time (or the reader was unparked)
+	 */
+	public FrameSnapshot awaitLatest(long timeoutNanos) {
+		FrameSnapshot snapshot = takeLatest();
+		if(snapshot != null) {
+			return snapshot;
+		}
+		waitingReader = Thread.currentThread();
+		// Checking again after registering, so a snapshot published in between is not missed
+		snapshot = takeLatest();
+		if(snapshot == null) {
+			LockSupport.parkNanos(this, timeoutNanos);
+			snapshot = takeLatest();
+		}
+		waitingReader = null;
+		return snapshot;
+	}
+
+}
@@ -4,31 +4,40 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.content.res.Configuration;
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
 import android.util.Log;
-import android.view.SurfaceHolder;
+import android.view.MotionEvent;
 import android.view.SurfaceView;
 import android.widget.TextView;
 
+import com.example.my3dproject.cube.CubeModel;
+import com.example.my3dproject.cube.CubeSnapshot;
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.data.FirebaseRankIndex;
+import com.example.my3dproject.data.RankIndex;
+import com.example.my3dproject.data.RankIndexBackfill;
 import com.example.my3dproject.drawables.Drawable;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 /**
  * GameController is the main game engine class that handles rendering and timing.
  * It extends SurfaceView for custom drawing
  * and implements Runnable to run the game loop in a separate thread.
+ * <p>
+ * The game loop runs on two threads: the simulation thread handles the touch input, the animations and the 3D
+ * geometry, and publishes a snapshot of every frame, and the render thread only draws the latest snapshot.
+ * So the geometry of a frame is built while the last frame is drawn, and the two threads never wait for each other.
  */
 public class GameController extends SurfaceView implements Runnable {
 
@@ -42,24 +51,29 @@ public class GameController extends SurfaceView implements Runnable {
 	private boolean shouldTimerCount;  // Flag to control whether timer is actively counting
 
 	// Rendering components
-	private final Paint background;  // Paint object for drawing the background
-	private final SurfaceHolder surfaceHolder;  // Holder for the drawing surface
-	private Thread renderThread;  // Thread that runs the game loop
-	private volatile boolean isRenderThreadRunning;  // Thread safety flag determining if the game thread should run
+	private Thread simulationThread;  // Thread that runs the game loop and builds the frames
+	private volatile boolean isSimulationThreadRunning;  // Thread safety flag determining if the game thread should run
 	private final List<Drawable> drawables;  // List of objects that can be drawn to screen
 	private final List<UpdatableComponent> updatables;  // List of objects that need regular updates
-	private Canvas canvas;  // Canvas for drawing operations
-	private double lastTime;  // Timestamp of last frame, used for delta time calculations
+	private final FrameSnapshotBuffer snapshotBuffer;  // Passes the frames from the simulation thread to the render thread
+	private final SnapshotRenderer snapshotRenderer;  // The render thread, which draws the frames
+	private final FrameScheduler frameScheduler;  // Paces the game loop to the display and steps the simulation at a fixed rate
 
 	// Animation and game mechanics
 	private final TimedAnimationManager animationManager;  // Manages timed animations and periodic actions
-	private List<RotationOperation> rotationOperations;  // List of cube rotations performed by player
+	private CubeModel savedCubeModel;  // The cube as the rotations performed by player left it
 
 	// Firebase and data persistence
 	private final FirebaseAuth mAuth;  // Firebase authentication instance
-	private final DatabaseReference accountRef;  // Reference to accounts in Firebase database
 	private final SharedPreferences sharedPreferences;  // Local storage for game data
-	private Account currentAccount;  // Current user's account data
+	private Account currentAccount;  // Current user's account data, only used on the main thread
+	private final Handler mainHandler;  // Runs the changes to the current account on the main thread
+	private volatile AccountSync accountSync;  // Writes the changed children of the current account to Firebase
+	private final RankIndex rankIndex;  // Histogram of the best times of all the accounts in Firebase
+	private final ScheduledExecutorService savesExecutor;  // Background thread the saves are written on
+	private final DebouncedWriter<GameSave> preferencesWriter;  // Writes the game state to SharedPreferences when it changes
+	private final DebouncedWriter<GameSave> accountWriter;  // Writes the game state to the Firebase account when it changes
+	private int lastSavedTimerSecond;  // The whole second of the timer when the saves were last marked as changed
 
 	/**
 	 * Constructor initializes the game controller with all necessary components
@@ -92,27 +106,30 @@ public class GameController extends SurfaceView implements Runnable {
 		this.shouldTimerCount = true;
 
 		// Setup rendering components
-		this.background = new Paint();
-		background.setColor(isDarkMode()? Color.BLACK : Color.WHITE);  // Adapt to system theme
-		this.surfaceHolder = getHolder();
-		this.renderThread = new Thread(this);
-		this.isRenderThreadRunning = true;
+		this.simulationThread = new Thread(this);
+		this.isSimulationThreadRunning = true;
 		this.drawables = new ArrayList<>();
 		this.updatables = new ArrayList<>();
-		this.lastTime = System.nanoTime() / 1e9;  // Convert nanoseconds to seconds
+		this.snapshotBuffer = new FrameSnapshotBuffer();
+		this.snapshotRenderer = new SnapshotRenderer(getHolder(), snapshotBuffer, this::requestFrame);
 
 		// Initialize animation mamager
 		this.animationManager = new TimedAnimationManager();
 
+		// Setup the frame scheduler, which every touch of the screen makes draw a frame
+		this.frameScheduler = new FrameScheduler(new ChoreographerFrameClock(), this::updateSimulation, this::buildFrame, this::isActive);
+		ScreenTouchListener.getInstance().setOnTouchAction(frameScheduler::invalidate);
+
 		// Setup Firebase components
 		this.mAuth = FirebaseAuth.getInstance();
-		FirebaseDatabase database = FirebaseDatabase.getInstance();
-		this.accountRef = database.getReference("accounts");
+		this.mainHandler = new Handler(Looper.getMainLooper());
+		this.rankIndex = new FirebaseRankIndex(FirebaseDatabase.getInstance().getReference("rankIndex"));
 		this.sharedPreferences = context.getSharedPreferences(findLastConnectedUser(), 0);
 
-		// Setup periodic save operations (every 1 second)
-		animationManager.addLoopedAction(new LoopedAction(this::updateSavesInPreferences, 1.0));
-		animationManager.addLoopedAction(new LoopedAction(this::updateSavesInAccount, 1.0));
+		// Setup the saves, which are written in the background and only after the game state changes
+		this.savesExecutor = Executors.newSingleThreadScheduledExecutor();
+		this.preferencesWriter = new DebouncedWriter<>(savesExecutor, this::updateSavesInPreferences, 1000);
+		this.accountWriter = new DebouncedWriter<>(savesExecutor, this::updateSavesInAccount, 5000);
 
 		// Load saved game state
 		getAllSavedValuesFromSharedPreferences();
@@ -122,8 +139,9 @@ public class GameController extends SurfaceView implements Runnable {
 		ScreenGeometryManager.getInstance().setScreenSize(screenWidth, screenHeight);
 		ScreenGeometryManager.getInstance().setFocalLength(Constants.FOCAL_LENGTH);
 
-		// Start the render thread
-		renderThread.start();
+		// Start the game threads
+		simulationThread.start();
+		snapshotRenderer.start();
 	}
 
 	/**
@@ -132,6 +150,7 @@ public class GameController extends SurfaceView implements Runnable {
 	 */
 	public void addDrawables(Drawable... drawables) {
 		this.drawables.addAll(Arrays.asList(drawables));
+		requestFrame();
 	}
 
 	/**
@@ -140,36 +159,65 @@ public class GameController extends SurfaceView implements Runnable {
 	 */
 	public void addUpdatableComponents(UpdatableComponent... updatableComponents) {
 		this.updatables.addAll(Arrays.asList(updatableComponents));
+		requestFrame();
 	}
 
 	/**
-	 * Main rendering method that draws one frame of the game
-	 * @param deltaTime Time elapsed since last frame in seconds
+	 * Makes the next frame be drawn, for changes to the game that are made outside of the game loop
+	 * (frames are only drawn while something is moving or the screen is touched)
 	 */
-	private void drawSurface(double deltaTime) {
-		// Only draw if surface is valid and we can lock the canvas
-		if (surfaceHolder.getSurface().isValid() && (canvas = surfaceHolder.lockCanvas()) != null) {
-			// Update background color based on current theme
-			background.setColor(isDarkMode()? Color.BLACK : Color.WHITE);
-			canvas.drawPaint(background);
+	public void requestFrame() {
+		frameScheduler.invalidate();
+	}
 
-			// Update all updatable components with current touch input
-			for(UpdatableComponent updatableComponent : updatables) {
-				updatableComponent.update(
-					deltaTime,
-					ScreenTouchListener.getInstance().getPos(),
-					ScreenTouchListener.getInstance().getEvent()
-				);
-			}
+	/**
+	 * Moves the game forward by a single fixed step of the frame scheduler
+	 * @param stepTime The time of the step in seconds
+	 */
+	private void updateSimulation(double stepTime) {
+		// Update timer if it should be counting
+		if(shouldTimerCount) {
+			updateTimer(stepTime);
+		}
+		animationManager.update(stepTime);
+	}
 
-			// Render all drawable objects
-			for (Drawable drawable : drawables) {
-				drawable.render(canvas, isDarkMode());
+	/**
+	 * Checks if anything in the game is moving, so the frames should keep coming at the full rate
+	 * @return true if the screen is touched or one of the updatable components is animating
+	 */
+	private boolean isActive() {
+		if(ScreenTouchListener.getInstance().getEvent() != MotionEvent.ACTION_UP || animationManager.hasPendingActions()) {
+			return true;
+		}
+		for(UpdatableComponent updatableComponent : updatables) {
+			if(updatableComponent.isAnimating()) {
+				return true;
 			}
+		}
+		return false;
+	}
 
-			// Release the canvas and display the frame
-			surfaceHolder.unlockCanvasAndPost(canvas);
+	/**
+	 * Main rendering method that builds one frame of the game on the simulation thread,
+	 * and publishes it for the render thread to draw
+	 * @param deltaTime Time of the simulation steps taken since the last frame in seconds
+	 */
+	private void buildFrame(double deltaTime) {
+		// Update all updatable components with current touch input
+		ScreenTouchListener.Touch touch = ScreenTouchListener.getInstance().takeTouch();
+		for(UpdatableComponent updatableComponent : updatables) {
+			updatableComponent.update(deltaTime, touch.getPos(), touch.getEvent());
 		}
+
+		// Render all drawable objects into the snapshot of the frame, with the background color of the current theme
+		boolean isDarkMode = isDarkMode();
+		FrameSnapshot snapshot = snapshotBuffer.getBackSnapshot();
+		snapshot.setBackgroundColor(isDarkMode? Color.BLACK : Color.WHITE);
+		for (Drawable drawable : drawables) {
+			drawable.render(snapshot, isDarkMode);
+		}
+		snapshotBuffer.publish();
 	}
 
 	/**
@@ -196,6 +244,13 @@ public class GameController extends SurfaceView implements Runnable {
 	private void updateTimer(double deltaTime) {
 		timer += deltaTime;
 
+		// The saved timer and the display only need to follow whole seconds
+		if((int) timer == lastSavedTimerSecond) {
+			return;
+		}
+		lastSavedTimerSecond = (int) timer;
+		markSavesChanged();
+
 		// Format time as MM:SS
 		String minutes = (int)(timer/60) < 10 ? "0" + (int)(timer/60) : "" + (int)(timer/60);
 		String seconds = (int)(timer % 60) < 10 ? "0" + (int)(timer % 60) : "" + (int)(timer % 60);
@@ -209,6 +264,7 @@ public class GameController extends SurfaceView implements Runnable {
 	 */
 	public void resetTimer() {
 		timer = 0;
+		markSavesChanged();
 		tvTimer.post(() -> tvTimer.setText("⏱ 00:00"));
 	}
 
@@ -247,14 +303,16 @@ public class GameController extends SurfaceView implements Runnable {
 				updateBestTime(timer);
 
 				// Update Firebase account if logged in and this beats their best time
-				if(currentAccount != null && currentAccount.getBestTime() > bestTime) {
-					currentAccount.setBestTime(bestTime);
-					updateSavedAccountInDatabase();
-				}
+				double newBestTime = bestTime;
+				changeCurrentAccount(account -> {
+					if(account.getBestTime() > newBestTime) {
+						setAccountBestTime(newBestTime);
+					}
+				});
 				timer = 0;
-				updateSavesInPreferences();
 			}
 			timer = 0;
+			markSavesChanged();
 		}
 	}
 
@@ -263,14 +321,47 @@ public class GameController extends SurfaceView implements Runnable {
 	 * @param rotationOperation The rotation operation to save
 	 */
 	public void saveAnotherRotation(RotationOperation rotationOperation) {
-		rotationOperations.add(rotationOperation);
+		synchronized (savedCubeModel) { // The saves read the cube on other threads
+			savedCubeModel.applyRotationOperation(rotationOperation);
+		}
+		markSavesChanged();
 	}
 
 	/**
 	 * Clears all saved rotation operations
 	 */
 	public void clearAllSavedRotations() {
-		rotationOperations.clear();
+		synchronized (savedCubeModel) {
+			// The cube is solved, but it may have been turned as a whole on the way
+			savedCubeModel.setState(CubieState.SOLVED, savedCubeModel.getFrame());
+		}
+		markSavesChanged();
+	}
+
+	/**
+	 * Marks the game state as changed, so it is saved soon. Changes that come one after the other
+	 * are saved together, and nothing is saved while the game state stays the same.
+	 */
+	private void markSavesChanged() {
+		GameSave gameSave = takeGameSave();
+		preferencesWriter.submit(gameSave);
+		accountWriter.submit(gameSave);
+	}
+
+	/**
+	 * Writes the changes to the game state that were not saved yet right away.
+	 */
+	private void flushSaves() {
+		preferencesWriter.flush();
+		accountWriter.flush();
+	}
+
+	/**
+	 * Takes a copy of the game state to save
+	 * @return The copy of the game state
+	 */
+	private GameSave takeGameSave() {
+		return new GameSave(timer, bestTime, makeSavedCubeAString(), System.currentTimeMillis());
 	}
 
 	/**
@@ -302,11 +393,37 @@ public class GameController extends SurfaceView implements Runnable {
 		}
 		updateBestTime(bestTime);
 
-		// Load rotation operations, preferring Firebase data if more recent
+		// Load the saved cube, preferring Firebase data if more recent
+		String cubeSnapshot = firebaseTimestamp > localTimestamp ?
+			intentFromMainMenu.getExtras().getString("cubeSnapshot") :
+			sharedPreferences.getString("cubeSnapshot", "");
 		String rotations = firebaseTimestamp > localTimestamp ?
 			intentFromMainMenu.getExtras().getString("rotations") :
 			sharedPreferences.getString("rotations", "");
-		this.rotationOperations = RotationOperation.valuesOf(rotations != null ? rotations : "");
+		loadSavedCube(cubeSnapshot, rotations);
+	}
+
+	/**
+	 * Restores the saved cube from its snapshot, which takes the same time however long the game was.
+	 * Saves of older versions of the app have no snapshot, only every rotation that was made,
+	 * so those rotations are replayed on the logical cube instead.
+	 * @param cubeSnapshot The saved CubeSnapshot encoded as a Base64 String, or an empty String if there is none
+	 * @param rotations The rotations saved by older versions, separated by '~'
+	 */
+	private void loadSavedCube(String cubeSnapshot, String rotations) {
+		this.savedCubeModel = new CubeModel();
+		if(cubeSnapshot != null && !cubeSnapshot.isEmpty()) {
+			try {
+				CubeSnapshot.fromBytes(Base64.decode(cubeSnapshot, Base64.NO_WRAP)).restoreInto(savedCubeModel);
+				return;
+			}
+			catch (IllegalArgumentException e) {
+				Log.e("GameController", "Could not read the saved cube", e);
+			}
+		}
+		for(RotationOperation rotationOperation : RotationOperation.valuesOf(rotations != null ? rotations : "")) {
+			saveAnotherRotation(rotationOperation);
+		}
 	}
 
 	/**
@@ -323,147 +440,214 @@ public class GameController extends SurfaceView implements Runnable {
 	}
 
 	/**
-	 * Saves the current account data to Firebase database
+	 * Changes the best time of the current account, moving it to its new place in the rank index if it is counted there.
+	 *
+	 * @param newBestTime The new best time of the account
+	 */
+	private void setAccountBestTime(double newBestTime) {
+		if(currentAccount.getBestTime() != newBestTime) {
+			if(currentAccount.isRankIndexed()) {
+				rankIndex.move(currentAccount.getBestTime(), newBestTime);
+			}
+			currentAccount.setBestTime(newBestTime);
+		}
+	}
+
+	/**
+	 * Changes the current account and saves it to Firebase, on the main thread. The account is shared with the
+	 * activities through the AccountRepository, so it is only ever changed on the main thread, where they use it.
+	 * Nothing is changed if no account is signed in.
+	 *
+	 * @param change The change to make to the account
+	 */
+	private void changeCurrentAccount(Consumer<Account> change) {
+		mainHandler.post(() -> {
+			Account account = currentAccount;
+			if(account != null) {
+				change.accept(account);
+				updateSavedAccountInDatabase();
+			}
+		});
+	}
+
+	/**
+	 * Saves the current account data to Firebase database. Only the children that changed since the last save are sent.
+	 * Called on the main thread only.
 	 */
 	private void updateSavedAccountInDatabase() {
-		accountRef.child(mAuth.getCurrentUser().getUid()).setValue(currentAccount);
+		AccountSync sync = accountSync;
+		if(sync != null) {
+			sync.sync(currentAccount.toMap());
+		}
 	}
 
 	/**
-	 * Saves current game state to local SharedPreferences
+	 * Saves a copy of the game state to local SharedPreferences. Runs on the saves thread.
+	 * @param gameSave The copy of the game state
 	 */
-	private void updateSavesInPreferences() {
+	private void updateSavesInPreferences(GameSave gameSave) {
 		SharedPreferences.Editor editor = sharedPreferences.edit();
-		editor.putString("timer", String.valueOf(timer));
-		editor.putString("bestTime", String.valueOf(bestTime));
-		editor.putString("rotations", makeRotationOperationsAString(rotationOperations));
-		editor.putString("timestampOfSave", String.valueOf(System.currentTimeMillis()));
+		editor.putString("timer", String.valueOf(gameSave.getTimer()));
+		editor.putString("bestTime", String.valueOf(gameSave.getBestTime()));
+		editor.putString("cubeSnapshot", gameSave.getCubeSnapshot());
+		editor.remove("rotations");
+		editor.putString("timestampOfSave", String.valueOf(gameSave.getTimestampOfSave()));
 		editor.apply();
 	}
 
 	/**
-	 * Updates the current account with latest game state and saves to Firebase
+	 * Updates the current account with a copy of the game state and saves to Firebase. Runs on the saves thread,
+	 * and hands the copy to the main thread, where the account is changed.
+	 * @param gameSave The copy of the game state
 	 */
-	private void updateSavesInAccount() {
-		if(currentAccount != null) {
-			currentAccount.setSavedRotations(makeRotationOperationsAString(rotationOperations));
-			currentAccount.setTimer(timer);
-			currentAccount.setTimestampOfSave(System.currentTimeMillis());
-			updateSavedAccountInDatabase();
-		}
+	private void updateSavesInAccount(GameSave gameSave) {
+		changeCurrentAccount(account -> {
+			account.setSavedCubeSnapshot(gameSave.getCubeSnapshot());
+			account.setSavedRotations("");
+			account.setTimer(gameSave.getTimer());
+			account.setTimestampOfSave(gameSave.getTimestampOfSave());
+		});
 	}
 
 	/**
-	 * Converts a list of rotation operations to a string format for storage
-	 * @param rotationOperations List of rotation operations to convert
-	 * @return a String that represents the rotations
+	 * Converts the saved cube to a string format for storage
+	 * @return The CubeSnapshot of the saved cube, encoded as a Base64 String
 	 */
-	private String makeRotationOperationsAString(List<RotationOperation> rotationOperations) {
-		StringBuilder output = new StringBuilder();
-		for(RotationOperation rotationOperation : rotationOperations) {
-			output.append(rotationOperation.toString()).append("~");
+	private String makeSavedCubeAString() {
+		CubeSnapshot snapshot;
+		synchronized (savedCubeModel) {
+			snapshot = new CubeSnapshot(savedCubeModel);
 		}
-		return output.toString();
+		return Base64.encodeToString(snapshot.toBytes(), Base64.NO_WRAP);
 	}
 
 	/**
-	 * @return List of saved rotation operations
+	 * @return The cube as the saved rotations left it
 	 */
-	public List<RotationOperation> getSavedRotationOperations() {
-		return rotationOperations;
+	public CubeModel getSavedCubeModel() {
+		return savedCubeModel;
 	}
 
 	/**
-	 * Retrieves the current user's account from Firebase database.
+	 * Retrieves the current user's account from Firebase database (through the AccountRepository,
+	 * which reads only the user's own account and shares it with the other activities).
 	 * Also handles account synchronization and best score reset functionality.
 	 */
 	public void findCurrentAccount() {
-		accountRef.addListenerForSingleValueEvent(new ValueEventListener() {
-			@Override
-			public void onDataChange(DataSnapshot dataSnapshot) {
-				// Search through all accounts to find current user's account
-				for (DataSnapshot data : dataSnapshot.getChildren()) {
-					Account account = data.getValue(Account.class);
-					if (mAuth.getCurrentUser() != null && account.getUserId().equals(mAuth.getCurrentUser().getUid())) {
-						currentAccount = account;
-
-						// Handle best score reset if requested
-						if(account.shouldResetBestScore()) {
-							account.setResetBestScore(false);
-							account.setBestTime(Double.MAX_VALUE);
-							bestTime = Double.MAX_VALUE;
-							updateSavesInPreferences();
-							updateSavedAccountInDatabase();
-						}
-
-						// Synchronize best times between local and Firebase
-						if(account.getBestTime() < bestTime) {
-							// Firebase has better time, update local
-							bestTime = account.getBestTime();
-							updateSavedAccountInDatabase();
-							updateBestTime(bestTime);
-						}
-						else {
-							// Local has better time, update Firebase
-							account.setBestTime(bestTime);
-							updateSavedAccountInDatabase();
-						}
+		if (mAuth.getCurrentUser() == null) {
+			return;
+		}
+		String userId = mAuth.getCurrentUser().getUid();
+		AccountRepository.getInstance().getAccount(userId, account -> {
+			if (account == null) {
+				return;
+			}
+			accountSync = new AccountSync(AccountRepository.getInstance().getAccountRef(userId), account.toMap());
+			currentAccount = account;
+
+			// Accounts of older versions may not be counted in the rank index yet
+			if(!account.isRankIndexed()) {
+				double indexedBestTime = account.getBestTime();
+				RankIndexBackfill.index(AccountRepository.getInstance().getAccountRef(userId), indexedBestTime, rankIndex, indexed -> {
+					if(indexed) {
+						changeCurrentAccount(current -> {
+							// The best time may have changed while the account was being counted, and was not moved in the index then
+							rankIndex.move(indexedBestTime, current.getBestTime());
+							current.setRankIndexed(true);
+						});
 					}
-				}
+				});
+			}
+
+			// Accounts of older versions hold the profile picture itself, which is moved to the AvatarStore
+			if(account.getProfilePictureHash().isEmpty() && !account.getProfilePicture().isEmpty()) {
+				account.setProfilePictureHash(AvatarStore.getInstance(getContext()).upload(account.getProfilePicture()));
+				account.setProfilePicture("");
+				updateSavedAccountInDatabase();
 			}
 
-			@Override
-			public void onCancelled(DatabaseError ignored) {
+			// Handle best score reset if requested
+			if(account.shouldResetBestScore()) {
+				account.setResetBestScore(false);
+				setAccountBestTime(Double.MAX_VALUE);
+				bestTime = Double.MAX_VALUE;
+				markSavesChanged();
+				updateSavedAccountInDatabase();
+			}
+
+			// Synchronize best times between local and Firebase
+			if(account.getBestTime() < bestTime) {
+				// Firebase has better time, update local
+				bestTime = account.getBestTime();
+				updateSavedAccountInDatabase();
+				updateBestTime(bestTime);
+			}
+			else {
+				// Local has better time, update Firebase
+				setAccountBestTime(bestTime);
+				updateSavedAccountInDatabase();
 			}
 		});
 	}
 
 	/**
-	 * Called when activity is paused. Stops the render thread.
+	 * Called when activity is paused. Stops the game threads.
 	 */
 	public void onPause() {
-		isRenderThreadRunning = false;
+		isSimulationThreadRunning = false;
+		frameScheduler.wake();  // Stop waiting for the next frame, so the simulation thread ends right away
+		snapshotRenderer.stop();
+		// The app may be killed while paused, so whatever was not saved yet is saved now
+		flushSaves();
 	}
 
 	/**
-	 * Called when activity is destroyed. Stops the render thread.
+	 * Called when activity is destroyed. Stops the game threads and the saves thread once the last saves are written.
 	 */
 	public void onDestroy() {
-		isRenderThreadRunning = false;
+		isSimulationThreadRunning = false;
+		frameScheduler.wake();
+		snapshotRenderer.stop();
+		ScreenTouchListener.getInstance().setOnTouchAction(null);
+		flushSaves();
+		savesExecutor.shutdown();
 	}
 
 	/**
-	 * Called when activity is resumed. Restarts the render thread if needed.
+	 * Called when activity is resumed. Restarts the game threads if needed.
 	 */
 	public void onResume() {
-		if(!isRenderThreadRunning) {
-			isRenderThreadRunning = true;
-			renderThread = new Thread(this);
-			renderThread.start();
+		if(!isSimulationThreadRunning) {
+			// The frames of the old simulation thread may only be built by a single thread, so it has to end first
+			try {
+				simulationThread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			isSimulationThreadRunning = true;
+			simulationThread = new Thread(this);
+			simulationThread.start();
 		}
+		snapshotRenderer.start();
 	}
 
 	/**
 	 * Main game loop that runs in a separate thread.
-	 * Handles timing, updates, and rendering
+	 * Handles timing, updates, and rendering, once per frame of the frame scheduler
 	 */
 	@Override
 	public void run() {
-		while (isRenderThreadRunning) {
-			// Calculate delta time since last frame
-			double currentTime = System.nanoTime() / 1e9;
-
-			// Update timer if it should be counting
-			if(shouldTimerCount) {
-				updateTimer(currentTime - lastTime);
+		// The time the game was paused for is not simulated
+		frameScheduler.start();
+		while (isSimulationThreadRunning) {
+			try {
+				frameScheduler.runFrame();
+			}
+			catch (InterruptedException e) {
+				return;
 			}
-
-			// Update animation manager and render the frame
-			animationManager.update(currentTime - lastTime);
-			drawSurface(currentTime - lastTime);
-
-			// Store current time for next frame's delta calculation
-			lastTime = currentTime;
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.my3dproject;
+
+/**
+ * An immutable copy of everything the game saves, taken on the game thread so it can be written on another thread.
+ */
+public class GameSave {
+
+	// The game timer in seconds
+	private final double timer;
+	// The player's best time
+	private final double bestTime;
+	// The saved cube, a CubeSnapshot encoded as a Base64 String
+	private final String cubeSnapshot;
+	// The time the save was taken, in milliseconds since the epoch
+	private final long timestampOfSave;
+
+	/**
+	 * The constructor to construct a GameSave
+	 *
+	 * @param timer The game timer in seconds
+	 * @param bestTime The player's best time
+	 * @param cubeSnapshot The saved cube, a CubeSnapshot encoded as a Base64 String
+	 * @param timestampOfSave The time the save was taken, in milliseconds since the epoch
+	 */
+	public GameSave(double timer, double bestTime, String cubeSnapshot, long timestampOfSave) {
+		this.timer = timer;
+		this.bestTime = bestTime;
+		this.cubeSnapshot = cubeSnapshot;
+		this.timestampOfSave = timestampOfSave;
+	}
+
+	/**
+	 * @return The game timer in seconds
+	 */
+	public double getTimer() {
+		return timer;
+	}
+
+	/**
+	 * @return The player's best time
+	 */
+	public double getBestTime() {
+		return bestTime;
+	}
+
+	/**
+	 * @return The saved cube, a CubeSnapshot encoded as a Base64 String
+	 */
+	public String getCubeSnapshot() {
+		return cubeSnapshot;
+	}
+
+	/**
+	 * @return The time the save was taken, in milliseconds since the epoch
+	 */
+	public long getTimestampOfSave() {
+		return timestampOfSave;
+	}
+
+}
@@ -1,9 +1,13 @@
 package com.example.my3dproject;
 
-import android.util.Pair;
+import android.util.Log;
 import android.view.MotionEvent;
 import android.widget.Toast;
 
+import com.example.my3dproject.cube.CubeModel;
+import com.example.my3dproject.cube.Move;
+import com.example.my3dproject.cube.solver.SolverTables;
+import com.example.my3dproject.cube.solver.TwoPhaseSolver;
 import com.example.my3dproject.drawables.Cube;
 import com.example.my3dproject.drawables.Polygon;
 import com.example.my3dproject.drawables.RubiksCube;
@@ -13,12 +17,13 @@ import com.example.my3dproject.math.geometry.Direction;
 import com.example.my3dproject.math.geometry.DirectionCross;
 import com.example.my3dproject.math.geometry.Point2d;
 import com.example.my3dproject.math.geometry.Point3d;
+import java.io.File;
 import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
 
 /**
  * Main manager class for handling Rubik's Cube interactions, animations, and state management.
@@ -27,6 +32,13 @@ import java.util.function.Consumer;
  */
 public class RubiksCubeManager implements UpdatableComponent{
 
+	// The thread the solver runs on, so building its tables and searching never block the game loop
+	private static final ExecutorService solverExecutor = Executors.newSingleThreadExecutor();
+	// The two-phase solver, created on the solver thread the first time it is needed
+	private static TwoPhaseSolver solver;
+	// The file the solver tables are kept in between runs of the app
+	private final File solverTablesFile;
+
 	// The 3D Rubik's cube
 	private final RubiksCube rubiksCube;
 	// Current state of the cube
@@ -35,6 +47,10 @@ public class RubiksCubeManager implements UpdatableComponent{
 	private final GameController controller;
 	// The animation manager
 	private final TimedAnimationManager animationManager;
+	// Plays the animations of the turns of the cube's layers, one after the other
+	private final FaceTurnAnimator faceTurnAnimator;
+	// Plays the animations of the turns made by the player, faster when the player is ahead of them
+	private final FaceTurnAnimator playerTurnAnimator;
 	// Queue to store recent touch points for gesture detection
 	private final ArrayBlockingQueue<Point2d> lastClicksQueue;
 	// Flag indicating if screen is currently being touched
@@ -61,8 +77,6 @@ public class RubiksCubeManager implements UpdatableComponent{
 	private Optional<Polygon> selectedPolygon;
 	// Selected polygon in non-rotated coordinate system
 	private Optional<Polygon> selectedNotRotatedPolygon;
-	// Stack storing all player operations
-	private final Stack<Pair<Consumer<Double>, Double>> undoStack;
 	// Flag to handle solved cube events only once per solve
 	private AtomicBoolean hasNoticedCubeSolved;
 
@@ -77,6 +91,8 @@ public class RubiksCubeManager implements UpdatableComponent{
 		this.rubiksCube = rubiksCube;
 		this.controller = controller;
 		this.animationManager = controller.getAnimationManager();
+		this.faceTurnAnimator = new FaceTurnAnimator();
+		this.playerTurnAnimator = new FaceTurnAnimator(Constants.PLAYER_TURN_BACKLOG_SPEEDUP);
 		this.rubiksCubeState = RubiksCubeState.IDLE;
 		this.rubiksCubeSize = rubiksCube.getRubiksCubeSize();
 		this.smallCubesSize = rubiksCube.getSmallCubesSize();
@@ -90,52 +106,42 @@ public class RubiksCubeManager implements UpdatableComponent{
 		this.lastPointOfClick = new Point2d(0, 0);
 		this.selectedPolygon = Optional.empty();
 		this.selectedNotRotatedPolygon = Optional.empty();
-		this.undoStack = new Stack<>();
 		this.hasNoticedCubeSolved = new AtomicBoolean(false);
+		this.solverTablesFile = new File(controller.getContext().getFilesDir(), Constants.SOLVER_TABLES_FILE_NAME);
 
 		// Small initial rotation to ensure proper 3D rendering setup
 		rubiksCube.rotate(0.001, 0.001, 0.001);
 
-		// Load and apply any previously saved rotations from firebase storage
+		// Restore the saved cube (from firebase storage or the local saves)
 		retrieveRotationsFromDatabase();
+
+		// Load the solver tables in the background, so they are ready when the player asks for a solution
+		solverExecutor.execute(() -> getSolver(solverTablesFile));
 	}
 
 	/**
-	 * Retrieves saved rotation operations from the database and applies them to restore
-	 * the cube to its previous state.
+	 * Gets the solver, loading its tables on the first call. The tables are built and saved to the file
+	 * only the first time the app runs, later runs map them from the file. Only called on the solver thread.
+	 *
+	 * @param tablesFile The file of the solver tables
+	 * @return The two-phase solver
 	 */
-	private void retrieveRotationsFromDatabase() {
-		List<RotationOperation> rotationOperations = controller.getSavedRotationOperations();
-
-		// Apply each saved rotation operation
-		for(RotationOperation rotationOperation : rotationOperations) {
-			// Create a cube representing the axis of rotation
-			Cube cubeToRotateAround = new Cube(
-				rotationOperation.getPointToRotateAround().getX(),
-				rotationOperation.getPointToRotateAround().getY(),
-				rotationOperation.getPointToRotateAround().getZ(), smallCubesSize
-			);
-			double angle = rotationOperation.getAngleOfRotation();
-
-			// Apply rotation based on the axis and add inverse operation to undo stack
-			switch (rotationOperation.getAxisOfRotation()) {
-				case X: {
-					rubiksCube.rotateXAroundCube(cubeToRotateAround, rotationOperation.getAngleOfRotation());
-					undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateXAroundCube(cubeToRotateAround, angleToRotate), -angle));
-					break;
-				}
-				case Y: {
-					rubiksCube.rotateYAroundCube(cubeToRotateAround, rotationOperation.getAngleOfRotation());
-					undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateYAroundCube(cubeToRotateAround, angleToRotate), -angle));
-					break;
-				}
-				case Z: {
-					rubiksCube.rotateZAroundCube(cubeToRotateAround, rotationOperation.getAngleOfRotation());
-					undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateZAroundCube(cubeToRotateAround, angleToRotate), -angle));
-					break;
-				}
-			}
+	private static TwoPhaseSolver getSolver(File tablesFile) {
+		if(solver == null) {
+			solver = new TwoPhaseSolver(SolverTables.loadOrBuild(
+				tablesFile,
+				e -> Log.w("RubiksCubeManager", "Could not read or write the solver tables file", e)
+			));
 		}
+		return solver;
+	}
+
+	/**
+	 * Restores the cube to its saved state. The saved state is taken as a whole and the cubes are placed
+	 * where it says, so no saved rotation is replayed on the 3D cube.
+	 */
+	private void retrieveRotationsFromDatabase() {
+		rubiksCube.setLogicalState(controller.getSavedCubeModel());
 
 		// Check if cube is already solved after loading rotations
 		if(rubiksCube.checkIfCubeIsSolved()) {
@@ -168,6 +174,13 @@ public class RubiksCubeManager implements UpdatableComponent{
 			updateByClickInput(pointOfClick, event);
 		}
 
+		// Turn the layers that are being animated to where they should be by now
+		faceTurnAnimator.update(deltaTime);
+		playerTurnAnimator.update(deltaTime);
+		if(rubiksCubeState == RubiksCubeState.ROTATED_BY_PLAYER && !playerTurnAnimator.isAnimating()) {
+			rubiksCubeState = RubiksCubeState.IDLE; // All the turns of the player were animated
+		}
+
 		// Scale delta time for appropriate rotation speed
 		double scaledTime = deltaTime * 100;
 
@@ -192,13 +205,13 @@ public class RubiksCubeManager implements UpdatableComponent{
 		// Update last click point for next frame
 		lastPointOfClick = pointOfClick.times(1/getScreenSizeRatio());
 
-		// Check for cube solved state
+		// Check for cube solved state. A solve is only noticed once no turn of the player is waiting, since a
+		// cube that the player turns on is not solved by them
 		boolean isCubeSolved = rubiksCube.checkIfCubeIsSolved();
-		if(isCubeSolved && !hasNoticedCubeSolved.get()) {
+		if(isCubeSolved && !hasNoticedCubeSolved.get() && !playerTurnAnimator.isAnimating()) {
 			// Cube just became solved
 			hasNoticedCubeSolved.set(true);
 			controller.noticedCubeIsSolved();
-			undoStack.clear(); // Clear undo history when solved
 			controller.clearAllSavedRotations();
 			controller.stopTimer(true);
 			// Show message
@@ -213,6 +226,17 @@ public class RubiksCubeManager implements UpdatableComponent{
 		selectedPolygon.ifPresent(polygon -> polygon.setSelected(true));
 	}
 
+	/**
+	 * The cube is animating while its layers turn and while it spins after being flung.
+	 * Waiting for the solver is not animating, since the cube does not move until the solution comes.
+	 *
+	 * @return true if the cube is animating
+	 */
+	@Override
+	public boolean isAnimating() {
+		return faceTurnAnimator.isAnimating() || playerTurnAnimator.isAnimating() || xRotationalVelocity != 0 || yRotationalVelocity != 0;
+	}
+
 	/**
 	 * Processes touch input events
 	 * @param pointOfCLick Current touch point coordinates
@@ -243,7 +267,7 @@ public class RubiksCubeManager implements UpdatableComponent{
 					}
 				}
 				// Handle cube face rotation if a polygon was selected
-				if (rubiksCubeState.isAvailableForModifications() && selectedPolygon.isPresent() && lastClicksQueue.remainingCapacity() == 0) {
+				if (rubiksCubeState.isAcceptingPlayerTurns() && selectedPolygon.isPresent() && lastClicksQueue.remainingCapacity() == 0) {
 					detectCubeRotationByPlayer(pointOfCLick);
 				}
 				// Clear selections after touch ends
@@ -328,55 +352,52 @@ public class RubiksCubeManager implements UpdatableComponent{
 		// Execute appropriate rotation based on swipe direction and selected face
 		if(mostSimilarVec == vecRight) {
 			if(directionOfNormalOfPolygon.getAxis() == Axis.Z) {
-				animateRotatingAroundY(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Y, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.Y) {
-				animateRotatingAroundZ(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Z, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 		}
 		else if(mostSimilarVec == vecLeft) {
 			if(directionOfNormalOfPolygon.getAxis() == Axis.Z) {
-				animateRotatingAroundY(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Y, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.Y) {
-				animateRotatingAroundZ(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Z, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 		}
 		else if(mostSimilarVec == vecUp) {
 			if(directionOfNormalOfPolygon.getAxis() == Axis.Z) {
-				animateRotatingAroundX(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.X, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.X) {
-				animateRotatingAroundZ(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Z, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 		}
 		else if(mostSimilarVec == vecDown) {
 			if(directionOfNormalOfPolygon.getAxis() == Axis.Z) {
-				animateRotatingAroundX(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.X, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.X) {
-				animateRotatingAroundZ(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Z, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 		}
 		else if(mostSimilarVec == vecForward) {
 			if(directionOfNormalOfPolygon.getAxis() == Axis.X) {
-				animateRotatingAroundY(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Y, (directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.Y) {
-				animateRotatingAroundX(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.X, -(directionOfNormalOfPolygon.getSignInAxis()) * Math.toRadians(90), selectedCube);
 			}
 		}
 		else if(mostSimilarVec == vecBackward){
 			if(directionOfNormalOfPolygon.getAxis() == Axis.X) {
-				animateRotatingAroundY(25, 0.12, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.Y, (directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 			else if(directionOfNormalOfPolygon.getAxis() == Axis.Y) {
-				animateRotatingAroundX(25, 0.12, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
+				animateLayerTurn(Axis.X, -(directionOfNormalOfPolygon.getSignInAxis()) * -Math.toRadians(90), selectedCube);
 			}
 		}
-
-		// Return to idle state after rotation animation completes
-		animationManager.addAction(new TimedAction(() -> rubiksCubeState = RubiksCubeState.IDLE, 0.5));
 	}
 
 	/**
@@ -504,16 +525,11 @@ public class RubiksCubeManager implements UpdatableComponent{
 		rubiksCubeState = RubiksCubeState.SHUFFLE; // Sets the Rubik's Cube state to SHUFFLE
 		controller.stopTimer(true); // Stops the timer
 		int amountOfTurns = 50; // Amount of random rotations
-		int animationSteps = 15; // Steps of rotation (the more steps, the smoother the animation is)
 		double timeToTurn = 0.12; // Amount of seconds a rotation would take
 
 		int lastAxis = (int)(Math.random()*3); // The last axis that was rotated
 		int lastSide = (int)(Math.random()*3) - 1; // The last size that was rotated
 		int direction = 1; // direction of turn
-		animationManager.addAction(new TimedAction(() -> { // Adding a timed action that would make the cube state idle again after the animation stopes
-			rubiksCubeState = RubiksCubeState.IDLE;
-			controller.stopTimer(false);
-		}, timeToTurn * amountOfTurns));
 		for(int i = 0; i < amountOfTurns; i++) { // Randomize each step
 			int axis = (int)(Math.random()*3); // The axis
 			int side = (int)(Math.random()*3) - 1; // The side
@@ -522,49 +538,31 @@ public class RubiksCubeManager implements UpdatableComponent{
 			}
 			lastAxis = axis;
 			lastSide = side;
-			int directionOfRotation = direction;
-			if(axis == 0) { // Add and animation for rotation around the X axis
-				for(int j = 0; j < animationSteps; j++) {
-					animationManager.addAction(new TimedAction(() -> rubiksCube.rotateXAroundCube(
-						new Cube(side * smallCubesSize, 0, 0, smallCubesSize), Math.toRadians(90.0/animationSteps*directionOfRotation)
-					),j*(timeToTurn-0.0001)/animationSteps + i*timeToTurn));
-				}
-				animationManager.addAction(new TimedAction(
-					() -> controller.saveAnotherRotation(new RotationOperation(side * smallCubesSize, 0, 0, Axis.X, Math.toRadians(90.0*directionOfRotation))),
-					i*timeToTurn*0
-				));
-				undoStack.push(new Pair<>(angle -> rubiksCube.rotateXAroundCube(new Cube(side * smallCubesSize, 0, 0, smallCubesSize), angle), Math.toRadians(90.0 * -directionOfRotation)));
+			RotationOperation rotationOperation;
+			if(axis == 0) { // A rotation around the X axis
+				rotationOperation = new RotationOperation(side * smallCubesSize, 0, 0, Axis.X, Math.toRadians(90.0*direction));
 			}
-			else if(axis == 1) { // Add and animation for rotation around the Y axis
-				for(int j = 0; j < animationSteps; j++) {
-					animationManager.addAction(new TimedAction(() -> rubiksCube.rotateYAroundCube(
-						new Cube(0, side * smallCubesSize, 0, smallCubesSize), Math.toRadians(90.0/animationSteps*directionOfRotation)
-					),j*(timeToTurn-0.0001)/animationSteps + i*timeToTurn));
-				}
-				animationManager.addAction(new TimedAction(
-					() -> controller.saveAnotherRotation(new RotationOperation(0, side * smallCubesSize, 0, Axis.Y, Math.toRadians(90.0*directionOfRotation))),
-					i*timeToTurn*0
-
-				));
-				undoStack.push(new Pair<>(angle -> rubiksCube.rotateYAroundCube(new Cube(0, side * smallCubesSize, 0, smallCubesSize), angle), Math.toRadians(90.0 * -directionOfRotation)));
+			else if(axis == 1) { // A rotation around the Y axis
+				rotationOperation = new RotationOperation(0, side * smallCubesSize, 0, Axis.Y, Math.toRadians(90.0*direction));
 			}
-			else { // Add and animation for rotation around the Z axis
-				for(int j = 0; j < animationSteps; j++) {
-					animationManager.addAction(new TimedAction(() -> rubiksCube.rotateZAroundCube(
-						new Cube(0, 0, side * smallCubesSize, smallCubesSize), Math.toRadians(90.0/animationSteps*directionOfRotation)
-					),j*(timeToTurn-0.0001)/animationSteps + i*timeToTurn));
-				}
-				animationManager.addAction(new TimedAction(
-					() -> controller.saveAnotherRotation(new RotationOperation(0.0, 0.0, side * smallCubesSize, Axis.Z, Math.toRadians(90.0*directionOfRotation))),
-					i*timeToTurn*0
-				));
-				undoStack.push(new Pair<>(angle -> rubiksCube.rotateZAroundCube(new Cube(0, 0, side * smallCubesSize, smallCubesSize), angle), Math.toRadians(90.0 * -directionOfRotation)));
+			else { // A rotation around the Z axis
+				rotationOperation = new RotationOperation(0.0, 0.0, side * smallCubesSize, Axis.Z, Math.toRadians(90.0*direction));
 			}
+			animationManager.addAction(new TimedAction(() -> controller.saveAnotherRotation(rotationOperation), 0));
+
+			// The cube becomes idle again after the animation of the last turn stops
+			Runnable onFinished = i < amountOfTurns - 1 ? null : () -> {
+				rubiksCubeState = RubiksCubeState.IDLE;
+				controller.stopTimer(false);
+			};
+			faceTurnAnimator.enqueue(FaceTurnAnimation.of(rubiksCube, rotationOperation, timeToTurn, Easing.LINEAR, onFinished));
 		}
+		controller.requestFrame(); // The game loop may be idle, and the shuffle starts with the next frame
 	}
 
 	/**
-	 * Solves the rubik's cube by playing all of the steps in reverse
+	 * Solves the rubik's cube. The solution is found by the two-phase solver on the solver thread,
+	 * and is then animated turn by turn.
 	 */
 	public void solve() {
 		if(!rubiksCubeState.isAvailableForModifications()) { // Checks if the cube is available for this animation
@@ -572,61 +570,92 @@ public class RubiksCubeManager implements UpdatableComponent{
 		}
 		rubiksCubeState = RubiksCubeState.SOLVING; // Sets the state to be SOLVING
 		controller.stopTimer(true);
-		int animationSteps = 10; // Amount of steps in a turn animation (the more steps, the smoother the animation)
-		double timeToTurn = 0.05; // Amount of seconds it would take to make a single turn
-		double index = 0;
-		int stackSize = undoStack.size(); // amount of rotations needed to reset
-		double timeOffset = 0;
-		while (!undoStack.empty()) { // For each of the steps in the undo stack
-			Pair<Consumer<Double>, Double> action = undoStack.pop(); // removing the action from the undo stack
-			double timeWithSlowingOffset = (timeToTurn + 0.1 * Math.pow((index + 1)/stackSize, 3.5)); // Time to wait for the animation (with a slowing effect)
-			for(int i = 0; i < animationSteps; i++) { // Calculating the animation
-				animationManager.addAction(new TimedAction(() -> {
-					hasNoticedCubeSolved.set(true);
-					action.first.accept(action.second / animationSteps);
-				}, timeOffset + i*timeWithSlowingOffset/animationSteps));
+		CubeModel cubeModel = new CubeModel(rubiksCube.getCubeModel()); // A copy of the cube for the solver thread
+		solverExecutor.execute(() -> {
+			List<Move> solution;
+			try {
+				solution = getSolver(solverTablesFile).solve(cubeModel.getState());
 			}
-			index++;
-			timeOffset += timeWithSlowingOffset;
-		}
-		animationManager.addAction(new TimedAction(() -> { // Adding a timed action to return the cube to IDLE after it is solved
-			rubiksCubeState = RubiksCubeState.IDLE;
-			controller.resetTimer();
-			controller.clearAllSavedRotations();
-		}, timeOffset));
+			catch (RuntimeException | OutOfMemoryError e) { // An unsolvable state, or no memory for the solver tables
+				Log.e("RubiksCubeManager", "Could not solve the cube", e);
+				animationManager.addAction(new TimedAction(this::failSolving, 0));
+				controller.requestFrame();
+				return;
+			}
+			// Starting the animation from the game loop, like every other change to the cube
+			animationManager.addAction(new TimedAction(() -> animateSolution(solution, cubeModel), 0));
+			controller.requestFrame();
+		});
 	}
 
 	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the X axis
+	 * Returns the cube to IDLE after the solver failed, so the player can keep playing from where they were.
 	 */
-	private void animateRotatingAroundX(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		controller.saveAnotherRotation(new RotationOperation(cubeToRotateAround.getPos(), Axis.X, angle));
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateXAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
-		}
-		undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateXAroundCube(cubeToRotateAround, angleToRotate), -angle));
+	private void failSolving() {
+		rubiksCubeState = RubiksCubeState.IDLE;
+		controller.stopTimer(false);
+		// Show message
+		controller.post(() -> Toast.makeText(controller.getContext(), "Could not solve the cube", Toast.LENGTH_SHORT).show());
 	}
 
 	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the Y axis
+	 * Animates a solution of the cube.
+	 *
+	 * @param solution The moves of the solution, in the cube's own faces
+	 * @param cubeModel The state of the cube the solution was found for
 	 */
-	private void animateRotatingAroundY(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		controller.saveAnotherRotation(new RotationOperation(cubeToRotateAround.getPos(), Axis.Y, angle));
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateYAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
+	private void animateSolution(List<Move> solution, CubeModel cubeModel) {
+		double timeToTurn = 0.05; // Amount of seconds it would take to make a single turn
+		if(solution.isEmpty()) {
+			finishSolving();
+			return;
+		}
+		for(int index = 0; index < solution.size(); index++) {
+			// The solution only turns faces, so the face centers keep pointing the same way during all of it
+			RotationOperation rotationOperation = cubeModel.toRotationOperation(solution.get(index), smallCubesSize);
+			double timeWithSlowingOffset = (timeToTurn + 0.1 * Math.pow((index + 1.0)/solution.size(), 3.5)); // Time to wait for the animation (with a slowing effect)
+			boolean isLastTurn = index == solution.size() - 1;
+			faceTurnAnimator.enqueue(FaceTurnAnimation.of(rubiksCube, rotationOperation, timeWithSlowingOffset, Easing.EASE_IN_OUT_CUBIC, () -> {
+				hasNoticedCubeSolved.set(true); // The cube being solved by the solution is not a solve of the player
+				if(isLastTurn) {
+					finishSolving();
+				}
+			}));
 		}
-		undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateYAroundCube(cubeToRotateAround, angleToRotate), -angle));
 	}
 
 	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the Z axis
+	 * Returns the cube to IDLE after it was solved by the solver.
 	 */
-	private void animateRotatingAroundZ(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		controller.saveAnotherRotation(new RotationOperation(cubeToRotateAround.getPos(), Axis.Z, angle));
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateZAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
-		}
-		undoStack.push(new Pair<>(angleToRotate -> rubiksCube.rotateZAroundCube(cubeToRotateAround, angleToRotate), -angle));
+	private void finishSolving() {
+		hasNoticedCubeSolved.set(true);
+		rubiksCubeState = RubiksCubeState.IDLE;
+		controller.resetTimer();
+		controller.clearAllSavedRotations();
+	}
+
+	/**
+	 * A method to send an animation of a turn made by the player, which rotates a side of the cube around an axis.
+	 * The turn is queued after the turns of the player that were not animated yet, or cancels the last of them
+	 * if it undoes it. The turn is ignored if too many turns are waiting already. The turn is saved once it
+	 * was animated.
+	 *
+	 * @param axis The axis to rotate around
+	 * @param angle The angle of the turn, in radians
+	 * @param cubeToRotateAround A cube of the side to rotate
+	 */
+	private void animateLayerTurn(Axis axis, double angle, Cube cubeToRotateAround) {
+		// The layer is taken from the logical state, since the cube may be in the middle of a turn
+		// (a corner half way through a turn is as close to the middle layer as to its own)
+		int layer = rubiksCube.getLayerOfCube(cubeToRotateAround, axis);
+		Move move = Move.fromLayerTurn(axis, layer, (int) Math.round(angle / Math.toRadians(90)));
+		RotationOperation rotationOperation = RotationOperation.fromWorldMove(move, smallCubesSize);
+		// The turn is saved once it is animated, so a turn that is cancelled by the turn after it is never saved
+		FaceTurnAnimation animation = FaceTurnAnimation.of(
+			rubiksCube, rotationOperation, Constants.PLAYER_TURN_DURATION, Easing.EASE_OUT_CUBIC,
+			() -> controller.saveAnotherRotation(rotationOperation)
+		);
+		playerTurnAnimator.enqueueCoalescing(animation, Constants.MAX_QUEUED_PLAYER_TURNS);
 	}
 
 }
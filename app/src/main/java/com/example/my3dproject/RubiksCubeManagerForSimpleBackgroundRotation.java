@@ -3,6 +3,7 @@ package com.example.my3dproject;
 import com.example.my3dproject.drawables.Cube;
 import com.example.my3dproject.drawables.Polygon;
 import com.example.my3dproject.drawables.RubiksCube;
+import com.example.my3dproject.math.geometry.Axis;
 import com.example.my3dproject.math.geometry.Point2d;
 
 /**
@@ -13,8 +14,8 @@ public class RubiksCubeManagerForSimpleBackgroundRotation implements UpdatableCo
 
 	// The Rubik's Cube
 	private final RubiksCube rubiksCube;
-	// The animation manager to handle the random rotation animation
-	private final TimedAnimationManager animationManager;
+	// Plays the random rotation animations
+	private final FaceTurnAnimator faceTurnAnimator;
 	// The time count that is used to call for a random rotation each 0.3 seconds
 	private double timeCount;
 
@@ -22,11 +23,10 @@ public class RubiksCubeManagerForSimpleBackgroundRotation implements UpdatableCo
 	 * Constructor initializes the Rubik's Cube Manager with all necessary components.
 	 *
 	 * @param rubiksCube The 3D Rubik's cube
-	 * @param controller The main controller
 	 */
-	public RubiksCubeManagerForSimpleBackgroundRotation(RubiksCube rubiksCube, DefaultController controller) {
+	public RubiksCubeManagerForSimpleBackgroundRotation(RubiksCube rubiksCube) {
 		this.rubiksCube = rubiksCube;
-		this.animationManager = controller.getAnimationManager();
+		this.faceTurnAnimator = new FaceTurnAnimator();
 		this.timeCount = 0;
 		// Small initial rotation to ensure proper 3D rendering setup
 		rubiksCube.rotate(0.001, 0.001, Math.toRadians(45));
@@ -46,6 +46,7 @@ public class RubiksCubeManagerForSimpleBackgroundRotation implements UpdatableCo
 			timeCount = 0;
 			randomlyRotateSide();
 		}
+		faceTurnAnimator.update(deltaTime); // Turns the rotated side to where it should be by now
 		rubiksCube.rotate(-deltaTime*0.2, deltaTime*0.3, 0); // Rotates the cube slowly in the background
 		for(Polygon polygon : rubiksCube.getAllDrawnPolygons()) { // Updates all polygons
 			polygon.update(deltaTime, pointOfClick, event);
@@ -61,51 +62,20 @@ public class RubiksCubeManagerForSimpleBackgroundRotation implements UpdatableCo
 	private void randomlyRotateSide() {
 		int axis = (int)(Math.random()*3); // The axis, picked randomly (0 = X, 1 = Y, 2 = Z)
 		int side = (int)(Math.random()*3) - 1; // The side that would be rotated (the middle or the sides)
+		// Rotate the side around its axis. The rotation takes 0.28 seconds
+		Cube cubeToRotateAround;
 		if(axis == 0) {
-			animateRotatingAroundX( // Rotate a size around the X axis. The rotation takes 0.28 seconds and takes 15 steps
-				15, 0.28, Math.toRadians(90),
-				new Cube(side * rubiksCube.getSmallCubesSize(), 0, 0, rubiksCube.getSmallCubesSize())
-			);
+			cubeToRotateAround = new Cube(side * rubiksCube.getSmallCubesSize(), 0, 0, rubiksCube.getSmallCubesSize());
 		}
 		else if(axis == 1) {
-			animateRotatingAroundY( // Rotate a size around the Y axis. The rotation takes 0.28 seconds and takes 15 steps
-				15, 0.28, Math.toRadians(90),
-				new Cube(0, side * rubiksCube.getSmallCubesSize(), 0, rubiksCube.getSmallCubesSize())
-			);
+			cubeToRotateAround = new Cube(0, side * rubiksCube.getSmallCubesSize(), 0, rubiksCube.getSmallCubesSize());
 		}
 		else {
-			animateRotatingAroundZ( // Rotate a size around the Z axis. The rotation takes 0.28 seconds and takes 15 steps
-				15, 0.28, Math.toRadians(90),
-				new Cube(0, 0, side * rubiksCube.getSmallCubesSize(), rubiksCube.getSmallCubesSize())
-			);
-		}
-	}
-
-	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the X axis
-	 */
-	private void animateRotatingAroundX(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateXAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
-		}
-	}
-
-	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the Y axis
-	 */
-	private void animateRotatingAroundY(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateYAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
-		}
-	}
-
-	/**
-	 * A method to send an animation to the animation manager that rotates a side of the cube around the Z axis
-	 */
-	private void animateRotatingAroundZ(int animationSteps, double timeToTurn, double angle, Cube cubeToRotateAround) {
-		for(int i = 0; i < animationSteps; i++) {
-			animationManager.addAction(new TimedAction(() -> rubiksCube.rotateZAroundCube(cubeToRotateAround, angle/animationSteps), i*timeToTurn/animationSteps));
+			cubeToRotateAround = new Cube(0, 0, side * rubiksCube.getSmallCubesSize(), rubiksCube.getSmallCubesSize());
 		}
+		faceTurnAnimator.enqueue(new FaceTurnAnimation(
+			rubiksCube, Axis.values()[axis], cubeToRotateAround, Math.toRadians(90), 0.28, Easing.EASE_IN_OUT_CUBIC, null
+		));
 	}
 
 }
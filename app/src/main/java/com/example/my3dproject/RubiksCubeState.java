@@ -10,36 +10,41 @@ public enum RubiksCubeState {
 	 * IDLE - The cube is at rest and ready for user interaction.
 	 * In this state, the user can freely rotate faces and manipulate the cube.
 	 */
-	IDLE(true),
+	IDLE(true, true),
 
 	/**
 	 * SOLVING - The cube is being automatically solved. (After hitting the reset button)
 	 * User modifications are disabled to prevent interference with the solving process.
 	 */
-	SOLVING(false),
+	SOLVING(false, false),
 
 	/**
 	 * ROTATED_BY_PLAYER - The cube is currently being rotated by the player.
-	 * This state prevents additional modifications while an animation is in progress.
+	 * This state prevents shuffling and solving while the turns of the player are animated,
+	 * but more turns of the player are accepted (and queued after the ones that are animated).
 	 */
-	ROTATED_BY_PLAYER(false),
+	ROTATED_BY_PLAYER(false, true),
 
 	/**
 	 * SHUFFLE - The cube is being shuffled automatically.
 	 * User modifications are disabled during the shuffling process to ensure
 	 * a proper random scramble without user interference.
 	 */
-	SHUFFLE(false);
+	SHUFFLE(false, false);
 
 	// Flag indicating whether user can modify the cube in this state
 	private final boolean isAvailableForModifications;
+	// Flag indicating whether the player can turn the cube's layers in this state
+	private final boolean isAcceptingPlayerTurns;
 
 	/**
 	 * Constructor for each enum constant
 	 * @param isAvailableForModifications true if user can interact with cube in this state
+	 * @param isAcceptingPlayerTurns true if the player can turn the cube's layers in this state
 	 */
-	RubiksCubeState(boolean isAvailableForModifications) {
+	RubiksCubeState(boolean isAvailableForModifications, boolean isAcceptingPlayerTurns) {
 		this.isAvailableForModifications = isAvailableForModifications;
+		this.isAcceptingPlayerTurns = isAcceptingPlayerTurns;
 	}
 
 	/**
@@ -50,4 +55,12 @@ public enum RubiksCubeState {
 		return isAvailableForModifications;
 	}
 
+	/**
+	 * Determines if the player can turn the cube's layers in the current state
+	 * @return true if turns of the player are accepted, false otherwise
+	 */
+	public boolean isAcceptingPlayerTurns() {
+		return isAcceptingPlayerTurns;
+	}
+
 }
\ No newline at end of file
@@ -3,13 +3,6 @@ package com.example.my3dproject;
 import android.app.Activity;
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.BitmapShader;
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-import android.graphics.Shader;
-import android.util.Base64;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -42,49 +35,102 @@ public class ScoresAdapter extends ArrayAdapter<Account> {
     }
 
     /**
-     * A method that os called for every item in the ListView.
-     * It sets the profile picture, username and best score.
+     * The views of a row, kept in the row's tag so a recycled row does not look them up again
+     */
+    private static class ViewHolder {
+
+        // The profile picture of the user
+        ImageView ivProfilePicture;
+        // The place of the user
+        TextView tvPlace;
+        // The username
+        TextView tvUsername;
+        // The best time of the user
+        TextView tvBestTime;
+        // The picture the row waits for (its hash, or the picture itself for accounts of older versions), or null
+        String pictureKey;
+
+    }
+
+    /**
+     * A method that is called for every item in the ListView.
+     * It sets the profile picture, username and best score, reusing the row that scrolled out of the list if there is one.
+     * The profile picture is decoded on a background thread and shown once it is ready.
      */
     @NonNull
     @Override
     public View getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
 
-        // Creating the item on the list
-        LayoutInflater layoutInflater = ((Activity) context).getLayoutInflater();
-        View v = layoutInflater.inflate(R.layout.stats_list, parent, false);
+        // Creating the item on the list, unless there is one to reuse
+        View v = convertView;
+        ViewHolder holder;
+        if(v == null) {
+            LayoutInflater layoutInflater = ((Activity) context).getLayoutInflater();
+            v = layoutInflater.inflate(R.layout.stats_list, parent, false);
+
+            // Initializing all views
+            holder = new ViewHolder();
+            holder.ivProfilePicture = v.findViewById(R.id.ivProfilePicture);
+            holder.tvPlace = v.findViewById(R.id.tvPlace);
+            holder.tvUsername = v.findViewById(R.id.tvUsername);
+            holder.tvBestTime = v.findViewById(R.id.tvBestTime);
+            v.setTag(holder);
+        }
+        else {
+            holder = (ViewHolder) v.getTag();
+        }
 
-        // Getting the connected account
+        // Getting the account of the row
         Account currentAccount = accountsList.get(position);
 
-        // Initializing all views
-        ImageView ivProfilePicture = v.findViewById(R.id.ivProfilePicture);
-        TextView tvPlace = v.findViewById(R.id.tvPlace);
-        TextView tvUsername = v.findViewById(R.id.tvUsername);
-        TextView tvBestTime = v.findViewById(R.id.tvBestTime);
-
-        // Setting the profile picture from the encoded String
-        if(!currentAccount.getProfilePicture().isEmpty()) {
-            byte[] decodedBytes = Base64.decode(currentAccount.getProfilePicture(), Base64.DEFAULT);
-            ivProfilePicture.setImageBitmap(BitmapUtil.getCircularBitmap(BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length)));
+        // Setting the profile picture, which is downloaded only if it is not cached yet.
+        // The row may be reused before the picture is ready, so the picture is only shown if the row still waits for it
+        holder.ivProfilePicture.setImageResource(android.R.drawable.ic_menu_camera);
+        ViewHolder rowHolder = holder;
+        if(!currentAccount.getProfilePictureHash().isEmpty()) {
+            String pictureKey = currentAccount.getProfilePictureHash();
+            holder.pictureKey = pictureKey;
+            AvatarStore.getInstance(context).load(pictureKey, bitmap -> showPicture(rowHolder, pictureKey, bitmap));
+        }
+        else if(!currentAccount.getProfilePicture().isEmpty()) { // Accounts of older versions hold the picture itself
+            String pictureKey = currentAccount.getProfilePicture();
+            holder.pictureKey = pictureKey;
+            AvatarStore.getInstance(context).loadInline(pictureKey, bitmap -> showPicture(rowHolder, pictureKey, bitmap));
+        }
+        else {
+            holder.pictureKey = null;
         }
 
-        // Calculating the place of the connected user
-        int place = (accountsList.indexOf(currentAccount) + 1);
+        // Calculating the place of the user (the list is in leaderboard order)
+        int place = position + 1;
 
         // Displaying the place of the user
-        tvPlace.setText(place + (place == 1 ? "st" : (place == 2) ? "nd" : (place == 3) ? "rd" : "th") + " place:");
+        holder.tvPlace.setText(place + (place == 1 ? "st" : (place == 2) ? "nd" : (place == 3) ? "rd" : "th") + " place:");
 
         // Displaying the best time of the user
-        tvUsername.setText(currentAccount.getName());
+        holder.tvUsername.setText(currentAccount.getName());
         String minutes = (int)(currentAccount.getBestTime()/60) < 10 ? "0" + (int)(currentAccount.getBestTime()/60) : "" + (int)(currentAccount.getBestTime()/60);
         String seconds = (int)(currentAccount.getBestTime() % 60) < 10 ? "0" + (int)(currentAccount.getBestTime() % 60) : "" + (int)(currentAccount.getBestTime() % 60);
         if(currentAccount.getBestTime() == Double.MAX_VALUE) {
             minutes = "??";
             seconds = "??";
         }
-        tvBestTime.setText("Best Time Is: ⏱ " + minutes + ":" + seconds);
+        holder.tvBestTime.setText("Best Time Is: ⏱ " + minutes + ":" + seconds);
 
         return v;
     }
 
+    /**
+     * Shows a profile picture that finished loading, if its row was not reused for another account in the meantime.
+     *
+     * @param holder The views of the row
+     * @param pictureKey The picture that was loaded
+     * @param bitmap The picture, cropped to a circle
+     */
+    private static void showPicture(ViewHolder holder, String pictureKey, Bitmap bitmap) {
+        if(pictureKey.equals(holder.pictureKey)) {
+            holder.ivProfilePicture.setImageBitmap(bitmap);
+        }
+    }
+
 }
@@ -5,30 +5,80 @@ import android.view.View;
 
 import com.example.my3dproject.math.geometry.Point2d;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
- * A singleton class responsible for managing all screen-touch actions
+ * A singleton class responsible for managing all screen-touch actions.
+ * <p>
+ * The touches are written by the main thread and read by the simulation thread of the game loop, so every touch
+ * is kept as an immutable Touch that is replaced as a whole, and the reader never sees the position of one touch
+ * with the event of another. The game loop reads the touches once per frame, so a touch that starts and moves
+ * within a single frame would lose its ACTION_DOWN - which is kept until it is read, for that reason.
  */
 public class ScreenTouchListener implements View.OnTouchListener {
 
 	// A static instance of the class - for singleton usages
 	private static ScreenTouchListener instance;
-	// The 2d pos of the last touch on the screen
-	private final Point2d pos;
-	// The event of the last touch gesture on the screen
-	private int event;
+	// The last touch on the screen
+	private volatile Touch lastTouch;
+	// The last ACTION_DOWN touch, until it is taken by takeTouch
+	private final AtomicReference<Touch> pendingDown;
+	// An action that runs on every touch, or null
+	private volatile Runnable onTouchAction;
+
+	/**
+	 * A touch on the screen - its position and event. Immutable, so it can be passed between threads.
+	 */
+	public static final class Touch {
+
+		// The x of the touch on the screen
+		private final double x;
+		// The y of the touch on the screen
+		private final double y;
+		// The motion event type of the touch
+		private final int event;
+
+		/**
+		 * Creates a touch.
+		 *
+		 * @param x The x of the touch on the screen
+		 * @param y The y of the touch on the screen
+		 * @param event The motion event type of the touch
+		 */
+		public Touch(double x, double y, int event) {
+			this.x = x;
+			this.y = y;
+			this.event = event;
+		}
+
+		/**
+		 * @return the 2d pos of the touch on the screen
+		 */
+		public Point2d getPos() {
+			return new Point2d(x, y);
+		}
+
+		/**
+		 * @return the motion event type (ACTION_DOWN, ACTION_MOVE, ACTION_UP)
+		 */
+		public int getEvent() {
+			return event;
+		}
+
+	}
 
 	/**
 	 * A private constructor that initializes the pos and the event
 	 */
 	private ScreenTouchListener() {
-		this.pos = new Point2d(0, 0);
-		this.event = MotionEvent.ACTION_UP;
+		this.lastTouch = new Touch(0, 0, MotionEvent.ACTION_UP);
+		this.pendingDown = new AtomicReference<>();
 	}
 
 	/**
 	 * A static method to get the static instance of the class
 	 */
-	public static ScreenTouchListener getInstance() {
+	public static synchronized ScreenTouchListener getInstance() {
 		if(instance == null) { // If the instance is null, create a new one
 			instance = new ScreenTouchListener();
 		}
@@ -39,14 +89,34 @@ public class ScreenTouchListener implements View.OnTouchListener {
 	 * @return the 2d pos of the last touch on the screen
 	 */
 	public Point2d getPos() {
-		return new Point2d(pos);
+		return lastTouch.getPos();
 	}
 
 	/**
 	 * @return the current motion event type (ACTION_DOWN, ACTION_MOVE, ACTION_UP)
 	 */
 	public int getEvent() {
-		return event;
+		return lastTouch.getEvent();
+	}
+
+	/**
+	 * Takes the touch a frame of the game loop should handle: the ACTION_DOWN that started the current touch
+	 * if it was not taken yet, and the last touch otherwise.
+	 *
+	 * @return The touch
+	 */
+	public Touch takeTouch() {
+		Touch down = pendingDown.getAndSet(null);
+		return down != null ? down : lastTouch;
+	}
+
+	/**
+	 * Sets an action that runs on every touch (on the main thread), such as waking up a slowed-down game loop.
+	 *
+	 * @param onTouchAction The action, or null for none
+	 */
+	public void setOnTouchAction(Runnable onTouchAction) {
+		this.onTouchAction = onTouchAction;
 	}
 
 	/**
@@ -55,11 +125,16 @@ public class ScreenTouchListener implements View.OnTouchListener {
 	 */
 	@Override
 	public boolean onTouch(View v, MotionEvent event) {
-		// Updates the pos of the last screen gesture
-		pos.setX(event.getX());
-		pos.setY(event.getY());
-		// Updates the current motion event type
-		this.event = event.getAction();
+		// Replaces the last screen gesture
+		Touch touch = new Touch(event.getX(), event.getY(), event.getAction());
+		if(touch.getEvent() == MotionEvent.ACTION_DOWN) {
+			pendingDown.set(touch);
+		}
+		lastTouch = touch;
+		Runnable action = onTouchAction;
+		if(action != null) {
+			action.run();
+		}
 		return true;
 	}
 }
@@ -0,0 +1,145 @@
+package com.example.my3dproject;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.view.SurfaceHolder;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The render thread of a controller. It draws the latest frame snapshot of a FrameSnapshotBuffer onto a surface
+ * whenever a new one is published, and does nothing else - the touch input, the animations and all of the 3D
+ * geometry are handled by the simulation thread that builds the snapshots, so the two can run at the same time.
+ */
+public class SnapshotRenderer implements Runnable {
+
+	// The longest time the thread waits for a snapshot before it checks whether it should stop, in nanoseconds
+	private static final long MAX_WAIT_NANOS = 100_000_000;
+
+	// Holder for the drawing surface
+	private final SurfaceHolder surfaceHolder;
+	// The buffer the snapshots come from
+	private final FrameSnapshotBuffer snapshotBuffer;
+	// Called when a snapshot could not be drawn since the surface is not ready, so the frame is built again later
+	private final Runnable onNotDrawn;
+	// Paint for the inside of the shapes
+	private final Paint fillPaint;
+	// Paint for the outlines of the shapes
+	private final Paint outlinePaint;
+	// The path of the polygon that is drawn, reused for all of them
+	private final Path path;
+	// The thread that draws, or null if it was never started
+	private Thread thread;
+	// Thread safety flag determining if the render thread should run
+	private volatile boolean isRunning;
+
+	/**
+	 * Creates a renderer, which does not draw until it is started.
+	 *
+	 * @param surfaceHolder Holder for the drawing surface
+	 * @param snapshotBuffer The buffer the snapshots come from
+	 * @param onNotDrawn Called when a snapshot could not be drawn since the surface is not ready
+	 */
+	public SnapshotRenderer(SurfaceHolder surfaceHolder, FrameSnapshotBuffer snapshotBuffer, Runnable onNotDrawn) {
+		this.surfaceHolder = surfaceHolder;
+		this.snapshotBuffer = snapshotBuffer;
+		this.onNotDrawn = onNotDrawn;
+		this.fillPaint = new Paint();
+		fillPaint.setStyle(Paint.Style.FILL);
+		this.outlinePaint = new Paint();
+		outlinePaint.setAntiAlias(false);
+		outlinePaint.setStyle(Paint.Style.STROKE);
+		this.path = new Path();
+	}
+
+	/**
+	 * Starts the render thread, unless it is running already. If it was stopped, waits for it to end first,
+	 * since the snapshot buffer may only have a single reader.
+	 */
+	public synchronized void start() {
+		if(isRunning) {
+			return;
+		}
+		if(thread != null) {
+			try {
+				thread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		isRunning = true;
+		thread = new Thread(this, "SnapshotRenderer");
+		thread.start();
+	}
+
+	/**
+	 * Makes the render thread stop once it is done with the frame it is drawing.
+	 */
+	public synchronized void stop() {
+		isRunning = false;
+		if(thread != null) {
+			LockSupport.unpark(thread); // Stop waiting for a snapshot
+		}
+	}
+
+	/**
+	 * The render loop: waits for snapshots and draws them.
+	 */
+	@Override
+	public void run() {
+		while (isRunning) {
+			FrameSnapshot snapshot = snapshotBuffer.awaitLatest(MAX_WAIT_NANOS);
+			if(snapshot != null && isRunning) {
+				draw(snapshot);
+			}
+		}
+	}
+
+	/**
+	 * Draws a snapshot onto the surface.
+	 *
+	 * @param snapshot The snapshot
+	 */
+	private void draw(FrameSnapshot snapshot) {
+		Canvas canvas;
+		// Only draw if surface is valid and we can lock the canvas
+		if (!surfaceHolder.getSurface().isValid() || (canvas = surfaceHolder.lockCanvas()) == null) {
+			onNotDrawn.run();
+			return;
+		}
+		canvas.drawColor(snapshot.getBackgroundColor());
+		for(int shape = 0; shape < snapshot.getShapesCount(); shape++) {
+			int first = snapshot.getFirstVertex(shape);
+			fillPaint.setColor(snapshot.getFillColor(shape));
+			outlinePaint.setColor(snapshot.getOutlineColor(shape));
+			switch (snapshot.getKind(shape)) {
+				case FrameSnapshot.POLYGON:
+					path.rewind();
+					path.moveTo(snapshot.getX(first), snapshot.getY(first));
+					for(int vertex = first + 1; vertex < first + snapshot.getVerticesCount(shape); vertex++) {
+						path.lineTo(snapshot.getX(vertex), snapshot.getY(vertex));
+					}
+					path.close();
+					outlinePaint.setStrokeWidth(snapshot.getSize(shape));
+					canvas.drawPath(path, fillPaint);
+					canvas.drawPath(path, outlinePaint);
+					break;
+				case FrameSnapshot.CIRCLE:
+					outlinePaint.setStrokeWidth(0);
+					canvas.drawCircle(snapshot.getX(first), snapshot.getY(first), snapshot.getSize(shape), fillPaint);
+					canvas.drawCircle(snapshot.getX(first), snapshot.getY(first), snapshot.getSize(shape), outlinePaint);
+					break;
+				case FrameSnapshot.TEXT:
+					fillPaint.setTextSize(snapshot.getSize(shape));
+					canvas.drawText(snapshot.getText(shape), snapshot.getX(first), snapshot.getY(first), fillPaint);
+					break;
+			}
+		}
+		// Release the canvas and display the frame
+		surfaceHolder.unlockCanvasAndPost(canvas);
+	}
+
+}
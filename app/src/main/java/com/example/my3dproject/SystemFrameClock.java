@@ -0,0 +1,74 @@
+package com.example.my3dproject;
+
+/**
+ * A frame clock that acts as a display with a fixed refresh rate, out of System.nanoTime and sleeping.
+ * It needs nothing of Android, so the frame loop can run on the JVM, and it is the fallback of devices
+ * whose display cannot be followed.
+ */
+public class SystemFrameClock implements FrameClock {
+
+	// The time between frames, in nanoseconds
+	private final long frameIntervalNanos;
+	// Guards the fields below, and is waited on between frames
+	private final Object lock;
+	// The time the last frame started, in nanoseconds
+	private long lastFrameNanos;
+	// Whether the waiting thread was woken up since the last frame started
+	private boolean isWoken;
+
+	/**
+	 * Creates a clock.
+	 *
+	 * @param frameRate The amount of frames per second
+	 */
+	public SystemFrameClock(double frameRate) {
+		if(frameRate <= 0) {
+			throw new IllegalArgumentException("The frame rate must be positive");
+		}
+		this.frameIntervalNanos = Math.max(1, Math.round(1e9 / frameRate));
+		this.lock = new Object();
+		this.lastFrameNanos = Long.MIN_VALUE;
+	}
+
+	@Override
+	public long nanoTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Blocks until the next frame that starts at a given time or later. Frames start at whole multiples of the
+	 * frame interval, the way they would on a display.
+	 */
+	@Override
+	public long awaitFrame(long earliestNanos) throws InterruptedException {
+		synchronized (lock) {
+			while(true) {
+				long now = System.nanoTime();
+				if(isWoken) { // The frame is the next one from the time of waking up
+					earliestNanos = Math.min(earliestNanos, now);
+					isWoken = false;
+				}
+				long target = earliestNanos;
+				if(lastFrameNanos != Long.MIN_VALUE) {
+					target = Math.max(target, lastFrameNanos + 1);
+				}
+				long frame = Math.floorDiv(target + frameIntervalNanos - 1, frameIntervalNanos) * frameIntervalNanos;
+				long remainingNanos = frame - now;
+				if(remainingNanos <= 0) {
+					lastFrameNanos = frame;
+					return frame;
+				}
+				lock.wait(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+			}
+		}
+	}
+
+	@Override
+	public void wake() {
+		synchronized (lock) {
+			isWoken = true;
+			lock.notifyAll();
+		}
+	}
+
+}
@@ -1,24 +1,63 @@
 package com.example.my3dproject;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * A class responsible for all animation managing and timed actions execution.
+ * The timed actions wait in a binary heap ordered by the time they should run at, so adding an action takes
+ * O(log n) time and an update only looks at the actions that run in it, no matter how many are waiting.
  */
 public class TimedAnimationManager {
 
-	// List of all TimedActions
-	private final List<TimedAction> queue;
+	// All the TimedActions that did not run yet, the one that should run first at the head
+	private final PriorityQueue<ScheduledAction> queue;
+	// The amount of actions that were added so far, which orders actions that should run at the same time
+	private long addedActionsCount;
 	// List of all LoopedActions
 	private final List<LoopedAction> loopedActions;
 
+	/**
+	 * A TimedAction waiting in the queue, with the time it should run at.
+	 */
+	private static final class ScheduledAction implements Comparable<ScheduledAction> {
+
+		// The action
+		final TimedAction action;
+		// The timestamp the action should run at, in seconds
+		final double runTime;
+		// The place of the action in the order actions were added
+		final long sequence;
+
+		/**
+		 * @param action The action
+		 * @param runTime The timestamp the action should run at, in seconds
+		 * @param sequence The place of the action in the order actions were added
+		 */
+		ScheduledAction(TimedAction action, double runTime, long sequence) {
+			this.action = action;
+			this.runTime = runTime;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Actions that should run earlier come first, and actions that should run at the same time
+		 * come in the order they were added.
+		 */
+		@Override
+		public int compareTo(ScheduledAction other) {
+			int byTime = Double.compare(runTime, other.runTime);
+			return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+		}
+
+	}
+
 	/**
 	 * The constructor that constructs the TimedAnimation manager
 	 */
 	public TimedAnimationManager() {
-		this.queue = new ArrayList<>();
+		this.queue = new PriorityQueue<>();
 		this.loopedActions = new ArrayList<>();
 	}
 
@@ -30,7 +69,7 @@ public class TimedAnimationManager {
 	public void addAction(TimedAction action) {
 		synchronized (queue) { // Using the list of actions in a thread - safe way
 			action.setTime(action.getTime() + System.nanoTime() / 1e9); // Changing the timer on the action to a timestamp in the future
-			queue.add(action); // Adding the action
+			queue.add(new ScheduledAction(action, action.getTime(), addedActionsCount++)); // Adding the action
 		}
 	}
 
@@ -45,6 +84,20 @@ public class TimedAnimationManager {
 		}
 	}
 
+	/**
+	 * @return true if there are actions that did not run yet, or looped actions
+	 */
+	public boolean hasPendingActions() {
+		synchronized (queue) {
+			if(!queue.isEmpty()) {
+				return true;
+			}
+		}
+		synchronized (loopedActions) {
+			return !loopedActions.isEmpty();
+		}
+	}
+
 	/**
 	 * The update method. Called each iteration of the main
 	 * game loop.
@@ -59,29 +112,20 @@ public class TimedAnimationManager {
 				action.getAction().run(); // Run the action
 			}
 		}
-		if(queue.isEmpty()) { // If the list of TimedActions is empty, exit the method
-			return;
-		}
-		// A list of actions, saved outside for later removal
-		List<TimedAction> removeLater = new ArrayList<>();
-		synchronized (queue) { // Using the list in a thread - safe way
-			// Sorting the list by the time they have left in order
-			// to execute the "finished" actions in the right order
-			queue.sort(Comparator.comparingDouble(TimedAction::getTime));
-		}
-		// For each of the actions, if it's time has come, execute it's action and remove from the list
-		for(int i = 0; i < queue.size(); i++) {
-			double currentTime = System.nanoTime() / 1e9;
-			if(queue.get(i) != null && queue.get(i).getTime() <= currentTime) {
-				queue.get(i).getAction().run();
-				removeLater.add(queue.get(i));
+		double currentTime = System.nanoTime() / 1e9;
+		// Run the actions whose time has come, in order, taking each one out of the queue before it runs
+		// (actions that are added by them run in a later update, since their time is after the current time)
+		while(true) {
+			TimedAction action;
+			synchronized (queue) { // Using the queue in a thread - safe way
+				ScheduledAction next = queue.peek();
+				if(next == null || next.runTime > currentTime) { // The rest of the actions should run later
+					return;
+				}
+				action = queue.poll().action;
 			}
+			action.getAction().run();
 		}
-		// For each of the actions in the list to remove, remove from the original list
-		for(TimedAction action : removeLater) {
-			queue.remove(action);
-		}
-		removeLater.clear(); // Clear the list of actions to remove
 	}
 
 }
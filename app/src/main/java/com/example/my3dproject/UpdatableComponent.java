@@ -16,4 +16,15 @@ public interface UpdatableComponent {
 	 */
 	void update(double deltaTime, Point2d pointOfClick, int event);
 
+	/**
+	 * Checks if the component keeps changing without any touch input, for example in the middle of an animation.
+	 * While no component does and the screen is not touched, the game loop neither updates the components nor
+	 * draws the screen (changes that are made outside of the loop ask for a frame through requestFrame).
+	 *
+	 * @return true if the component is animating (by default, so components that do not tell are never slowed down)
+	 */
+	default boolean isAnimating() {
+		return true;
+	}
+
 }
@@ -13,6 +13,7 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
+import com.example.my3dproject.Constants;
 import com.example.my3dproject.GameController;
 import com.example.my3dproject.R;
 import com.example.my3dproject.RubiksCubeManager;
@@ -76,7 +77,7 @@ public class GameActivity extends AppCompatActivity {
 	private void initGame() {
 		if (controller == null) {
 			this.controller = new GameController(this,getIntent(), frameLayout.getWidth(), frameLayout.getHeight(), tvTimer, tvBestTime);
-			RubiksCube rubiksCube = new RubiksCube(0, 0, 0, 50);
+			RubiksCube rubiksCube = new RubiksCube(0, 0, 0, Constants.GAME_RUBIKS_CUBE_SIZE);
 			RubiksCubeManager rubiksCubeManager = new RubiksCubeManager(rubiksCube, controller);
 			navView.setNavigationItemSelectedListener(item -> { // Starts the navigation view
 				int id = item.getItemId();
@@ -25,17 +25,13 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.example.my3dproject.Account;
+import com.example.my3dproject.AccountRepository;
 import com.example.my3dproject.DefaultController;
 import com.example.my3dproject.R;
 import com.example.my3dproject.RubiksCubeManagerForSimpleBackgroundRotation;
 import com.example.my3dproject.drawables.RubiksCube;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.Optional;
 
@@ -49,11 +45,9 @@ public class MainActivity extends AppCompatActivity {
 	// Firebase authentication instance for user login/logout operations
 	private FirebaseAuth mAuth;
 
-	// Firebase database reference pointing to the "accounts"
-	private DatabaseReference accountRef;
-
 	// User's saved game state retrieved from Firebase
 	private String rotationsRetrievedFromFirebase;
+	private String cubeSnapshotRetrievedFromFirebase;
 	private double timerRetrievedFromFirebase;
 	private long timestampOfSave;
 
@@ -84,13 +78,12 @@ public class MainActivity extends AppCompatActivity {
 		getWindow().getDecorView().setLayoutDirection(View.LAYOUT_DIRECTION_LTR);
 		setRequestedOrientation(ActivityInfo.SCREEN_ORIENTATION_PORTRAIT);
 
-		// Initialize Firebase authentication and database references
+		// Initialize Firebase authentication
 		this.mAuth = FirebaseAuth.getInstance();
-		FirebaseDatabase database = FirebaseDatabase.getInstance();
-		this.accountRef = database.getReference("accounts");
 
 		// Initialize game state variables with default values
 		this.rotationsRetrievedFromFirebase = "";
+		this.cubeSnapshotRetrievedFromFirebase = "";
 		this.timerRetrievedFromFirebase = 0;
 		this.timestampOfSave = 0;
 
@@ -190,7 +183,7 @@ public class MainActivity extends AppCompatActivity {
 			RubiksCube rubiksCube = new RubiksCube(0, 0, 0, 80);
 
 			// Create a rubiks cube manager for simple background rotation
-			RubiksCubeManagerForSimpleBackgroundRotation rubiksCubeManager = new RubiksCubeManagerForSimpleBackgroundRotation(rubiksCube, controller);
+			RubiksCubeManagerForSimpleBackgroundRotation rubiksCubeManager = new RubiksCubeManagerForSimpleBackgroundRotation(rubiksCube);
 
 			// Add cube and rubiks cube manager to the controller
 			controller.addDrawables(rubiksCube);
@@ -268,6 +261,9 @@ public class MainActivity extends AppCompatActivity {
 				editor.putString("userId", mAuth.getCurrentUser().getUid());
 				editor.apply();
 
+				// Load the saved game state of the user that logged in
+				findCurrentAccount();
+
 				// Close dialog and show success message
 				logInDialog.cancel();
 				Toast.makeText(MainActivity.this, "Successfully logged in!", Toast.LENGTH_SHORT).show();
@@ -279,31 +275,20 @@ public class MainActivity extends AppCompatActivity {
 	}
 
 	/**
-	 * Retrieves the current user's account data from Firebase.
-	 * Searches through all accounts to find the one matching the current user's ID,
-	 * then loads their saved game state (rotations, timer, timestamp).
+	 * Retrieves the current user's account data from Firebase (through the AccountRepository,
+	 * which reads only the user's own account), then loads their saved game state (rotations, timer, timestamp).
 	 */
 	public void findCurrentAccount() {
-		accountRef.addListenerForSingleValueEvent(new ValueEventListener() {
-			@Override
-			public void onDataChange(DataSnapshot dataSnapshot) {
-				// Iterate through all accounts in the database
-				for (DataSnapshot data : dataSnapshot.getChildren()) {
-					Account account = data.getValue(Account.class);
-
-					// Check if this account belongs to the current authenticated user
-					if (mAuth.getCurrentUser() != null && account.getUserId().equals(mAuth.getCurrentUser().getUid())) {
-						// Load the user's saved game state
-						rotationsRetrievedFromFirebase = account.getSavedRotations();
-						timerRetrievedFromFirebase = account.getTimer();
-						timestampOfSave = account.getTimestampOfSave();
-					}
-				}
-			}
-
-			@Override
-			public void onCancelled(DatabaseError ignored) {
-				// Handle database errors (currently ignored)
+		if (mAuth.getCurrentUser() == null) {
+			return;
+		}
+		AccountRepository.getInstance().getAccount(mAuth.getCurrentUser().getUid(), account -> {
+			if (account != null) {
+				// Load the user's saved game state
+				rotationsRetrievedFromFirebase = account.getSavedRotations();
+				cubeSnapshotRetrievedFromFirebase = account.getSavedCubeSnapshot();
+				timerRetrievedFromFirebase = account.getTimer();
+				timestampOfSave = account.getTimestampOfSave();
 			}
 		});
 	}
@@ -335,6 +320,7 @@ public class MainActivity extends AppCompatActivity {
 		// Create intent and pass saved game data
 		Intent intent = new Intent(this, GameActivity.class);
 		intent.putExtra("rotations", rotationsRetrievedFromFirebase);
+		intent.putExtra("cubeSnapshot", cubeSnapshotRetrievedFromFirebase);
 		intent.putExtra("timer", timerRetrievedFromFirebase);
 		intent.putExtra("timestampOfSave", timestampOfSave);
 		gameActivityLauncher.launch(intent);
@@ -18,6 +18,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
 
 import com.example.my3dproject.Account;
+import com.example.my3dproject.AccountRepository;
+import com.example.my3dproject.AvatarStore;
 import com.example.my3dproject.BitmapUtil;
 import com.example.my3dproject.R;
 import com.google.firebase.auth.FirebaseAuth;
@@ -106,11 +108,14 @@ public class SignUpActivity extends AppCompatActivity {
 		// Create new Account object with current user's UID and name
 		Account account = new Account(mAuth.getCurrentUser().getUid(), name);
 
-		// Set the profile picture (Base64 encoded string, empty if no image selected)
-		account.setProfilePicture(profilePicture);
+		// Upload the profile picture (Base64 encoded string, empty if no image selected) and keep only its hash
+		if(!profilePicture.isEmpty()) {
+			account.setProfilePictureHash(AvatarStore.getInstance(this).upload(profilePicture));
+		}
 
 		// Save the account to Firebase database using the user's UID as the key
 		accountRef.child(mAuth.getCurrentUser().getUid()).setValue(account);
+		AccountRepository.getInstance().setCachedAccount(account);
 	}
 
 	/**
@@ -125,11 +130,8 @@ public class SignUpActivity extends AppCompatActivity {
 
 			if(imageUri != null) {
 				try {
-					// Convert URI to Bitmap
-					Bitmap bitmap = BitmapUtil.getBitmapOutOfImageUri(imageUri, getContentResolver());
-
-					// Scale the bitmap to standard profile picture dimensions
-					bitmap = Bitmap.createScaledBitmap(bitmap, BitmapUtil.PROFILE_PICTURE_WIDTH, BitmapUtil.PROFILE_PICTURE_HEIGHT, true);
+					// Convert URI to a Bitmap of the standard profile picture dimensions
+					Bitmap bitmap = BitmapUtil.getProfilePictureOutOfImageUri(imageUri, getContentResolver());
 
 					// Display the scaled image in the ImageView
 					ivProfilePicture.setImageBitmap(bitmap);
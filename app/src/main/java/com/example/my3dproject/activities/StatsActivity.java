@@ -1,7 +1,9 @@
 package com.example.my3dproject.activities;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
+import android.widget.AbsListView;
 import android.widget.ListView;
 import android.widget.TextView;
 
@@ -12,37 +14,39 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.my3dproject.Account;
+import com.example.my3dproject.AccountRepository;
+import com.example.my3dproject.AvatarStore;
+import com.example.my3dproject.Constants;
 import com.example.my3dproject.R;
 import com.example.my3dproject.ScoresAdapter;
+import com.example.my3dproject.data.FirebaseLeaderboardSource;
+import com.example.my3dproject.data.FirebaseRankIndex;
+import com.example.my3dproject.data.Leaderboard;
+import com.example.my3dproject.data.RankIndex;
+import com.example.my3dproject.data.RankIndexBackfill;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
  * StatsActivity displays a leaderboard showing user rankings based on their high scores.
+ * The leaderboard is read page by page as it is scrolled, and the place of the current user is found with the rank index.
  */
 public class StatsActivity extends AppCompatActivity {
 
 	// Firebase authentication instance for managing user authentication
 	private FirebaseAuth mAuth;
 
-	// Firebase database reference to the "accounts" node
-	private DatabaseReference accountRef;
+	// The part of the leaderboard that was read from Firebase so far
+	private Leaderboard leaderboard;
 
 	// TextView to display the current user's ranking position
 	private TextView tvUserPlace;
 
-	// Account object representing the currently logged-in user
-	private Account connectedAccount;
-
-	// List containing all user accounts fetched from Firebase
+	// The accounts shown in the ListView (a copy of the accounts of the leaderboard)
 	private List<Account> accounts;
 
 	// ListView to display the leaderboard
@@ -63,10 +67,6 @@ public class StatsActivity extends AppCompatActivity {
 		// Initialize Firebase authentication instance
 		this.mAuth = FirebaseAuth.getInstance();
 
-		// Get Firebase database instance and reference to "accounts" node
-		FirebaseDatabase database = FirebaseDatabase.getInstance();
-		this.accountRef = database.getReference("accounts");
-
 		// Initialize UI components
 		this.tvUserPlace = findViewById(R.id.tvUserPlace);
 		this.lvScore = findViewById(R.id.lvScore);
@@ -76,67 +76,79 @@ public class StatsActivity extends AppCompatActivity {
 		this.adapter = new ScoresAdapter(this, 0, 0, accounts);
 		this.lvScore.setAdapter(adapter);
 
-		// Load all accounts from Firebase
-		getAllAccounts();
+		// The leaderboard is read from the "accounts" node, a page at a time
+		DatabaseReference accountsRef = FirebaseDatabase.getInstance().getReference("accounts");
+		RankIndex rankIndex = new FirebaseRankIndex(FirebaseDatabase.getInstance().getReference("rankIndex"));
+		this.leaderboard = new Leaderboard(
+			new FirebaseLeaderboardSource(accountsRef, rankIndex),
+			Constants.LEADERBOARD_PAGE_SIZE,
+			this::onPageLoaded
+		);
+		this.lvScore.setOnScrollListener(new AbsListView.OnScrollListener() {
+			@Override
+			public void onScrollStateChanged(AbsListView view, int scrollState) {
+			}
+
+			@Override
+			public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+				// Read the next page before the end of the list is reached
+				leaderboard.onScrolledTo(firstVisibleItem + visibleItemCount - 1, Constants.LEADERBOARD_PREFETCH_DISTANCE);
+			}
+		});
+
+		// Load the first page, and the place of the current user once the accounts of older versions are counted
+		leaderboard.loadNextPage();
+		new RankIndexBackfill(accountsRef, rankIndex, Constants.LEADERBOARD_PAGE_SIZE).run(this::findConnectedUsersPlace);
 	}
 
 	/**
-	 * Fetches all user accounts from Firebase database and populates the leaderboard.
-	 * Sorts accounts by best time and identifies the current user's account.
+	 * Called when a page of the leaderboard was read. Shows the new accounts in the ListView.
 	 */
-	public void getAllAccounts() {
-		// Clear existing accounts
+	private void onPageLoaded() {
 		accounts.clear();
+		accounts.addAll(leaderboard.getAccounts());
+		adapter.notifyDataSetChanged();
+	}
 
-		// Add a one-time listener to fetch all accounts
-		accountRef.addListenerForSingleValueEvent(new ValueEventListener() {
-			@Override
-			public void onDataChange(DataSnapshot dataSnapshot) {
-				// Iterate through each account in the database
-				for (DataSnapshot data : dataSnapshot.getChildren()) {
-					// Convert Firebase data to Account object
-					Account account = data.getValue(Account.class);
-
-					// Check if this account belongs to the currently logged-in user
-					if(account.getUserId().equals(mAuth.getCurrentUser().getUid())) {
-						connectedAccount = account;
-					}
-
-					// Add account to the list
-					accounts.add(account);
-				}
-
-				// Sort accounts by best time (ascending order - best times first)
-				accounts.sort(Comparator.comparingDouble(Account::getBestTime));
-
-				// Notify the adapter that data has changed to refresh the ListView
-				adapter.notifyDataSetChanged();
-
-				// Update the display showing the current user's ranking
-				updateConnectedUsersPlace();
-			}
-
-			@Override
-			public void onCancelled(DatabaseError ignored) {
+	/**
+	 * Finds the current user's account and place, without reading the accounts ahead of it.
+	 */
+	private void findConnectedUsersPlace() {
+		if(mAuth.getCurrentUser() == null) {
+			return;
+		}
+		AccountRepository.getInstance().getAccount(mAuth.getCurrentUser().getUid(), account -> {
+			if(account != null) {
+				leaderboard.findPlace(account, this::updateConnectedUsersPlace);
 			}
 		});
 	}
 
 	/**
 	 * Updates the TextView showing the current user's position in the leaderboard.
+	 *
+	 * @param place The user's position (starting at 1), or null if the user has no best time yet
 	 */
-	private void updateConnectedUsersPlace() {
-		// Only update if we found the connected user's account
-		if(connectedAccount != null) {
-			// Calculate user's position (add 1 since list is 0-indexed)
-			int place = (accounts.indexOf(connectedAccount) + 1);
+	private void updateConnectedUsersPlace(Long place) {
+		if(place == null) {
+			tvUserPlace.setText("Solve the cube to get a place!");
+			return;
+		}
 
-			// Determine the appropriate ordinal suffix
-			String placeText = place + (place == 1 ? "st" : (place == 2) ? "nd" : (place == 3) ? "rd" : "th");
+		// Determine the appropriate ordinal suffix
+		String placeText = place + (place == 1 ? "st" : (place == 2) ? "nd" : (place == 3) ? "rd" : "th");
 
-			// Update the TextView with the user's ranking
-			tvUserPlace.setText("You are at " + placeText + " place!");
-		}
+		// Update the TextView with the user's ranking
+		tvUserPlace.setText("You are at " + placeText + " place!");
+	}
+
+	/**
+	 * Called when the activity is destroyed. Logs how well the memory cache of the profile pictures worked.
+	 */
+	@Override
+	protected void onDestroy() {
+		super.onDestroy();
+		Log.d("StatsActivity", AvatarStore.getInstance(this).getMemoryCache().describe());
 	}
 
 	/**
@@ -149,4 +161,4 @@ public class StatsActivity extends AppCompatActivity {
 		finish();
 	}
 
-}
\ No newline at end of file
+}
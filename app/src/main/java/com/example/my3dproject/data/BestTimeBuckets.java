@@ -0,0 +1,71 @@
+package com.example.my3dproject.data;
+
+/**
+ * The buckets the rank index counts best times in: a bucket for every hundredth of a second up to an hour, and one
+ * more bucket for all the longer times. Accounts in a lower bucket are always ahead of the accounts in a higher one
+ * in the leaderboard. Accounts that have no best time yet (Double.MAX_VALUE) are not counted in any bucket.
+ */
+public final class BestTimeBuckets {
+
+	/**
+	 * The amount of buckets in every second (all the buckets but the last one hold a hundredth of a second).
+	 */
+	public static final int PER_SECOND = 100;
+
+	/**
+	 * The amount of buckets.
+	 */
+	public static final int COUNT = 3600 * PER_SECOND + 1;
+
+	/**
+	 * The bucket of the times of an hour and longer.
+	 */
+	public static final int LAST = COUNT - 1;
+
+	/**
+	 * The class only has static methods.
+	 */
+	private BestTimeBuckets() {
+	}
+
+	/**
+	 * @param bestTime The best time of an account, in seconds
+	 * @return false if the account has no best time yet (Double.MAX_VALUE), true otherwise
+	 */
+	public static boolean isCounted(double bestTime) {
+		return bestTime != Double.MAX_VALUE;
+	}
+
+	/**
+	 * Finds the bucket of a best time, such that startOf(bucket) <= bestTime < startOf(bucket + 1) exactly,
+	 * even where the best time is off by a rounding error from a hundredth of a second.
+	 *
+	 * @param bestTime A best time, in seconds
+	 * @return The bucket of the best time (0 to LAST)
+	 */
+	public static int bucketOf(double bestTime) {
+		if(!(bestTime > 0)) {
+			return 0;
+		}
+		if(bestTime >= startOf(LAST)) {
+			return LAST;
+		}
+		int bucket = (int) Math.floor(bestTime * PER_SECOND);
+		if(startOf(bucket) > bestTime) {
+			bucket--;
+		}
+		else if(startOf(bucket + 1) <= bestTime) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	/**
+	 * @param bucket A bucket
+	 * @return The shortest best time the bucket holds
+	 */
+	public static double startOf(int bucket) {
+		return bucket / (double) PER_SECOND;
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.example.my3dproject.data;
+
+/**
+ * A Fenwick tree (binary indexed tree) of counts, which adds to a count and sums a prefix of the counts
+ * in O(log n) time. The nodes are numbered from 1, like in the usual description of the tree, and the
+ * static methods give the nodes an operation touches, so a tree stored elsewhere (such as in the database)
+ * can be updated and read the same way.
+ */
+public class FenwickTree {
+
+	// The nodes of the tree (node 0 is not used)
+	private final long[] nodes;
+
+	/**
+	 * Creates a tree of counts that are all 0.
+	 *
+	 * @param size The amount of counts
+	 */
+	public FenwickTree(int size) {
+		if(size < 1) {
+			throw new IllegalArgumentException("A tree must hold at least one count");
+		}
+		this.nodes = new long[size + 1];
+	}
+
+	/**
+	 * @return The amount of counts
+	 */
+	public int size() {
+		return nodes.length - 1;
+	}
+
+	/**
+	 * Adds to a count.
+	 *
+	 * @param index The index of the count (from 0)
+	 * @param delta The amount to add, which may be negative
+	 */
+	public void add(int index, long delta) {
+		for(int node : updatePath(index, size())) {
+			nodes[node] += delta;
+		}
+	}
+
+	/**
+	 * Sums the first counts.
+	 *
+	 * @param count The amount of counts to sum (0 to size)
+	 * @return The sum of the counts at the indexes 0 to count - 1
+	 */
+	public long prefixSum(int count) {
+		long sum = 0;
+		for(int node : queryPath(count)) {
+			sum += nodes[node];
+		}
+		return sum;
+	}
+
+	/**
+	 * @param index The index of a count (from 0)
+	 * @param size The amount of counts in the tree
+	 * @return The nodes that hold the count, which are the nodes adding to the count changes
+	 */
+	public static int[] updatePath(int index, int size) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " of a tree of " + size + " counts");
+		}
+		int length = 0;
+		for(int node = index + 1; node <= size; node += node & -node) {
+			length++;
+		}
+		int[] path = new int[length];
+		int i = 0;
+		for(int node = index + 1; node <= size; node += node & -node) {
+			path[i++] = node;
+		}
+		return path;
+	}
+
+	/**
+	 * @param count The amount of counts to sum
+	 * @return The nodes whose sum is the sum of the first counts
+	 */
+	public static int[] queryPath(int count) {
+		int[] path = new int[Integer.bitCount(count)];
+		int i = 0;
+		for(int node = count; node > 0; node -= node & -node) {
+			path[i++] = node;
+		}
+		return path;
+	}
+
+}
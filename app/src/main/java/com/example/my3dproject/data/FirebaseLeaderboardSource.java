@@ -0,0 +1,109 @@
+package com.example.my3dproject.data;
+
+import com.example.my3dproject.Account;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A leaderboard that is read from the "accounts" node of the Firebase database. The ordering and the paging are
+ * done by the database (orderByChild("bestTime") with limitToFirst and startAfter), so only the accounts of the
+ * pages that are shown are downloaded, no matter how many accounts there are.
+ * <p>
+ * The place of an account is counted with a RankIndex: the accounts in lower buckets are counted by the index,
+ * and only the accounts of the account's own bucket that are ahead of it are read. A bucket is a hundredth of a
+ * second, so that read is at most MAX_BUCKET_READ accounts, and an account that is within a bucket of more
+ * accounts than that is placed as if the rest of them were behind it. The times of an hour and longer are not told apart at all:
+ * they all share the place after the faster accounts, which the index counts alone.
+ * <p>
+ * The database rules should index the accounts by their best time (".indexOn": "bestTime"), otherwise the
+ * database sorts them again for every query.
+ */
+public class FirebaseLeaderboardSource implements LeaderboardSource {
+
+	// The name of the child the accounts are ordered by
+	private static final String BEST_TIME = "bestTime";
+	// The most accounts of the same bucket that are read to count the accounts ahead of an account
+	private static final int MAX_BUCKET_READ = 100;
+
+	// Reference to the accounts in the Firebase database
+	private final DatabaseReference accountsRef;
+	// The histogram of the best times of the accounts
+	private final RankIndex rankIndex;
+
+	/**
+	 * Creates a leaderboard of the accounts under a database node.
+	 *
+	 * @param accountsRef The node of the accounts, keyed by user ID
+	 * @param rankIndex The histogram of the best times of the accounts
+	 */
+	public FirebaseLeaderboardSource(DatabaseReference accountsRef, RankIndex rankIndex) {
+		this.accountsRef = accountsRef;
+		this.rankIndex = rankIndex;
+	}
+
+	@Override
+	public void loadPage(Account after, int limit, Consumer<List<Account>> callback) {
+		Query query = accountsRef.orderByChild(BEST_TIME);
+		if(after != null) {
+			query = query.startAfter(after.getBestTime(), after.getUserId());
+		}
+		query.limitToFirst(limit).addListenerForSingleValueEvent(new ValueEventListener() {
+			@Override
+			public void onDataChange(DataSnapshot dataSnapshot) {
+				// The children of a snapshot keep the order of the query
+				List<Account> accounts = new ArrayList<>((int) dataSnapshot.getChildrenCount());
+				for(DataSnapshot data : dataSnapshot.getChildren()) {
+					Account account = data.getValue(Account.class);
+					if(account != null) {
+						accounts.add(account);
+					}
+				}
+				callback.accept(accounts);
+			}
+
+			@Override
+			public void onCancelled(DatabaseError ignored) {
+				callback.accept(null);
+			}
+		});
+	}
+
+	@Override
+	public void countAhead(Account account, Consumer<Long> callback) {
+		rankIndex.countFaster(account.getBestTime(), faster -> {
+			if(faster == null) {
+				callback.accept(null);
+				return;
+			}
+			int bucket = BestTimeBuckets.bucketOf(account.getBestTime());
+			if(bucket == BestTimeBuckets.LAST) { // The times of an hour and longer share the place after the faster accounts
+				callback.accept(faster);
+				return;
+			}
+
+			// The accounts of the same bucket are not told apart by the index, so they are read
+			accountsRef.orderByChild(BEST_TIME)
+				.startAt(BestTimeBuckets.startOf(bucket)).endBefore(account.getBestTime(), account.getUserId())
+				.limitToFirst(MAX_BUCKET_READ)
+				.addListenerForSingleValueEvent(new ValueEventListener() {
+					@Override
+					public void onDataChange(DataSnapshot dataSnapshot) {
+						callback.accept(faster + dataSnapshot.getChildrenCount());
+					}
+
+					@Override
+					public void onCancelled(DatabaseError ignored) {
+						callback.accept(null);
+					}
+				});
+		});
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.example.my3dproject.data;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A rank index that is kept in the Firebase database, as the nodes of a Fenwick tree of the buckets (children
+ * named by the number of the node). Moving an account changes at most about 2 log n nodes, all in a single
+ * atomic update of server-side increments, so accounts that change at the same time do not overwrite each
+ * other, and counting reads at most log n nodes.
+ */
+public class FirebaseRankIndex implements RankIndex {
+
+	// Reference to the nodes of the tree in the Firebase database
+	private final DatabaseReference indexRef;
+
+	/**
+	 * Creates an index that is kept under a database node.
+	 *
+	 * @param indexRef The node of the index
+	 */
+	public FirebaseRankIndex(DatabaseReference indexRef) {
+		this.indexRef = indexRef;
+	}
+
+	@Override
+	public void move(Double oldBestTime, Double newBestTime) {
+		Map<Integer, Long> deltas = new HashMap<>();
+		if(oldBestTime != null && BestTimeBuckets.isCounted(oldBestTime)) {
+			for(int node : FenwickTree.updatePath(BestTimeBuckets.bucketOf(oldBestTime), BestTimeBuckets.COUNT)) {
+				deltas.merge(node, -1L, Long::sum);
+			}
+		}
+		if(newBestTime != null && BestTimeBuckets.isCounted(newBestTime)) {
+			for(int node : FenwickTree.updatePath(BestTimeBuckets.bucketOf(newBestTime), BestTimeBuckets.COUNT)) {
+				deltas.merge(node, 1L, Long::sum);
+			}
+		}
+
+		// The nodes both buckets share do not change
+		Map<String, Object> updates = new HashMap<>();
+		for(Map.Entry<Integer, Long> delta : deltas.entrySet()) {
+			if(delta.getValue() != 0) {
+				updates.put(String.valueOf(delta.getKey()), ServerValue.increment(delta.getValue()));
+			}
+		}
+		if(!updates.isEmpty()) {
+			indexRef.updateChildren(updates);
+		}
+	}
+
+	@Override
+	public void countFaster(double bestTime, Consumer<Long> callback) {
+		int[] path = FenwickTree.queryPath(BestTimeBuckets.bucketOf(bestTime));
+		if(path.length == 0) {
+			callback.accept(0L);
+			return;
+		}
+
+		// The nodes are read at the same time, and the callback is called once all of them (or a failure) arrive
+		long[] sum = new long[1];
+		int[] remaining = { path.length };
+		for(int node : path) {
+			indexRef.child(String.valueOf(node)).addListenerForSingleValueEvent(new ValueEventListener() {
+				@Override
+				public void onDataChange(DataSnapshot dataSnapshot) {
+					if(remaining[0] <= 0) {
+						return;
+					}
+					Long count = dataSnapshot.getValue(Long.class);
+					sum[0] += count == null ? 0 : count;
+					if(--remaining[0] == 0) {
+						callback.accept(sum[0]);
+					}
+				}
+
+				@Override
+				public void onCancelled(DatabaseError ignored) {
+					if(remaining[0] > 0) {
+						remaining[0] = 0;
+						callback.accept(null);
+					}
+				}
+			});
+		}
+	}
+
+}
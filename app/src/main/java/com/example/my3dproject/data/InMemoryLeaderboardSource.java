@@ -0,0 +1,79 @@
+package com.example.my3dproject.data;
+
+import com.example.my3dproject.Account;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A leaderboard that is kept in memory, ordered the same way the database orders it. It stands in for the
+ * database where there is none, such as in tests, and calls the callbacks right away.
+ */
+public class InMemoryLeaderboardSource implements LeaderboardSource {
+
+	/**
+	 * The order of the leaderboard: by best time, and by user ID for the same best time.
+	 */
+	public static final Comparator<Account> ORDER =
+		Comparator.comparingDouble(Account::getBestTime).thenComparing(Account::getUserId);
+
+	// The accounts, in leaderboard order
+	private final List<Account> accounts;
+
+	/**
+	 * Creates an empty leaderboard.
+	 */
+	public InMemoryLeaderboardSource() {
+		this.accounts = new ArrayList<>();
+	}
+
+	/**
+	 * Creates a leaderboard of some accounts.
+	 *
+	 * @param accounts The accounts, in any order
+	 */
+	public InMemoryLeaderboardSource(Collection<Account> accounts) {
+		this();
+		for(Account account : accounts) {
+			put(account);
+		}
+	}
+
+	/**
+	 * Adds an account to the leaderboard, or replaces the account of the same user.
+	 *
+	 * @param account The account
+	 */
+	public synchronized void put(Account account) {
+		accounts.removeIf(existing -> existing.getUserId().equals(account.getUserId()));
+		int index = Collections.binarySearch(accounts, account, ORDER);
+		accounts.add(index < 0 ? -index - 1 : index, account);
+	}
+
+	@Override
+	public synchronized void loadPage(Account after, int limit, Consumer<List<Account>> callback) {
+		int start = after == null ? 0 : firstIndexAfter(after);
+		int end = Math.min(accounts.size(), start + limit);
+		callback.accept(new ArrayList<>(accounts.subList(start, end)));
+	}
+
+	@Override
+	public synchronized void countAhead(Account account, Consumer<Long> callback) {
+		int index = Collections.binarySearch(accounts, account, ORDER);
+		callback.accept((long) (index < 0 ? -index - 1 : index));
+	}
+
+	/**
+	 * @param account An account, which does not have to be in the leaderboard
+	 * @return The index of the first account that is after the account in the leaderboard
+	 */
+	private int firstIndexAfter(Account account) {
+		int index = Collections.binarySearch(accounts, account, ORDER);
+		return index < 0 ? -index - 1 : index + 1;
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.example.my3dproject.data;
+
+import java.util.function.Consumer;
+
+/**
+ * A rank index that is kept in memory. It stands in for the database where there is none, such as in tests,
+ * and calls the callbacks right away.
+ */
+public class InMemoryRankIndex implements RankIndex {
+
+	// The amount of accounts in every bucket
+	private final FenwickTree buckets;
+
+	/**
+	 * Creates an index with no accounts.
+	 */
+	public InMemoryRankIndex() {
+		this.buckets = new FenwickTree(BestTimeBuckets.COUNT);
+	}
+
+	@Override
+	public synchronized void move(Double oldBestTime, Double newBestTime) {
+		if(oldBestTime != null && BestTimeBuckets.isCounted(oldBestTime)) {
+			buckets.add(BestTimeBuckets.bucketOf(oldBestTime), -1);
+		}
+		if(newBestTime != null && BestTimeBuckets.isCounted(newBestTime)) {
+			buckets.add(BestTimeBuckets.bucketOf(newBestTime), 1);
+		}
+	}
+
+	@Override
+	public synchronized void countFaster(double bestTime, Consumer<Long> callback) {
+		callback.accept(buckets.prefixSum(BestTimeBuckets.bucketOf(bestTime)));
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.example.my3dproject.data;
+
+import com.example.my3dproject.Account;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The part of the leaderboard that is shown, read page by page from a LeaderboardSource as the list is scrolled.
+ * Only a single page is read at a time, and once a page comes back shorter than the page size there is nothing
+ * more to read. All the methods should be called on the main thread.
+ */
+public class Leaderboard {
+
+	// The source the pages are read from
+	private final LeaderboardSource source;
+	// The amount of accounts in a page
+	private final int pageSize;
+	// The accounts that were read so far, in leaderboard order
+	private final List<Account> accounts;
+	// The action that is called every time a page is added to the accounts
+	private final Runnable onPageLoaded;
+	// true while a page is being read
+	private boolean loading;
+	// true once the last page was read
+	private boolean complete;
+
+	/**
+	 * Creates an empty leaderboard.
+	 *
+	 * @param source The source the pages are read from
+	 * @param pageSize The amount of accounts in a page
+	 * @param onPageLoaded The action that is called every time a page is added to the accounts
+	 */
+	public Leaderboard(LeaderboardSource source, int pageSize, Runnable onPageLoaded) {
+		if(pageSize < 1) {
+			throw new IllegalArgumentException("A page must hold at least one account");
+		}
+		this.source = source;
+		this.pageSize = pageSize;
+		this.accounts = new ArrayList<>();
+		this.onPageLoaded = onPageLoaded;
+	}
+
+	/**
+	 * @return The accounts that were read so far, in leaderboard order (the place of an account is its index + 1)
+	 */
+	public List<Account> getAccounts() {
+		return Collections.unmodifiableList(accounts);
+	}
+
+	/**
+	 * @return true once there are no more accounts to read
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Reads the next page, unless a page is already being read or all the accounts were read.
+	 */
+	public void loadNextPage() {
+		if(loading || complete) {
+			return;
+		}
+		loading = true;
+		Account after = accounts.isEmpty() ? null : accounts.get(accounts.size() - 1);
+		source.loadPage(after, pageSize, page -> {
+			loading = false;
+			if(page == null) { // The page is read again the next time it is needed
+				return;
+			}
+			accounts.addAll(page);
+			complete = page.size() < pageSize;
+			onPageLoaded.run();
+		});
+	}
+
+	/**
+	 * Reads the next page if the shown part of the list got close to the accounts that were not read yet.
+	 *
+	 * @param lastVisibleIndex The index of the last account that is shown
+	 * @param threshold How close to the end of the read accounts the list should get before the next page is read
+	 */
+	public void onScrolledTo(int lastVisibleIndex, int threshold) {
+		if(lastVisibleIndex >= accounts.size() - threshold) {
+			loadNextPage();
+		}
+	}
+
+	/**
+	 * Finds the place of an account in the whole leaderboard, counting the accounts ahead of it at the source
+	 * instead of reading them. An account that has no best time yet has no place, and the callback receives null
+	 * at once. The callback is not called if the place could not be found.
+	 *
+	 * @param account The account
+	 * @param callback The action that receives the place of the account (starting at 1), or null for no place
+	 */
+	public void findPlace(Account account, Consumer<Long> callback) {
+		if(!BestTimeBuckets.isCounted(account.getBestTime())) {
+			callback.accept(null);
+			return;
+		}
+		source.countAhead(account, ahead -> {
+			if(ahead != null) {
+				callback.accept(ahead + 1);
+			}
+		});
+	}
+
+}
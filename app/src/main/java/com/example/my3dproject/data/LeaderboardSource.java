@@ -0,0 +1,34 @@
+package com.example.my3dproject.data;
+
+import com.example.my3dproject.Account;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The source of the accounts shown in the leaderboard. Accounts are ordered by their best time, and accounts
+ * with the same best time by their user ID, which is also how Firebase orders them by a child, so a leaderboard
+ * can be read page by page, each page starting right after the last account of the page before it.
+ */
+public interface LeaderboardSource {
+
+	/**
+	 * Reads a page of the leaderboard.
+	 * The callback is called on the main thread, with null if the page could not be read.
+	 *
+	 * @param after The last account of the previous page, or null for the first page
+	 * @param limit The largest amount of accounts to read
+	 * @param callback The action that receives the accounts, in leaderboard order (fewer than limit at the end)
+	 */
+	void loadPage(Account after, int limit, Consumer<List<Account>> callback);
+
+	/**
+	 * Counts the accounts that are ahead of an account in the leaderboard.
+	 * The callback is called on the main thread, with null if they could not be counted.
+	 *
+	 * @param account The account
+	 * @param callback The action that receives the amount of accounts ahead of the account
+	 */
+	void countAhead(Account account, Consumer<Long> callback);
+
+}
@@ -0,0 +1,30 @@
+package com.example.my3dproject.data;
+
+import java.util.function.Consumer;
+
+/**
+ * A histogram of the best times of all the accounts (see BestTimeBuckets), kept up to date as best times change,
+ * which counts the accounts ahead of a best time without reading the accounts themselves.
+ */
+public interface RankIndex {
+
+	/**
+	 * Moves an account between buckets when its best time changes. null stands for no bucket at all,
+	 * so an account is added to the index with a null old best time and removed with a null new one. A best time of
+	 * Double.MAX_VALUE (no best time yet) is not counted either.
+	 *
+	 * @param oldBestTime The best time the account is counted under, or null if it is not counted
+	 * @param newBestTime The best time the account should be counted under, or null if it should not be counted
+	 */
+	void move(Double oldBestTime, Double newBestTime);
+
+	/**
+	 * Counts the accounts whose best time is in a lower bucket than a best time.
+	 * The callback is called on the main thread, with null if the accounts could not be counted.
+	 *
+	 * @param bestTime The best time
+	 * @param callback The action that receives the amount of accounts
+	 */
+	void countFaster(double bestTime, Consumer<Long> callback);
+
+}
@@ -0,0 +1,124 @@
+package com.example.my3dproject.data;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.function.Consumer;
+
+/**
+ * Counts the accounts of older versions of the app in the rank index. Nothing counted those accounts when their
+ * best times were set, so until they are counted the index places every account behind them too high. Every
+ * account is counted by whoever marks it as counted first (its "rankIndexed" child, in a transaction): its owner
+ * when they next open the game, or anyone who opens the leaderboard while some accounts are still not counted,
+ * which reads those accounts a page at a time. Once all the accounts are counted, a run only reads an empty page.
+ * <p>
+ * The database rules should index the accounts by that child (".indexOn": "rankIndexed") and let signed-in users
+ * set it to true. An account whose owner changes the best time on an older version of the app after it was
+ * counted stays counted under its old best time.
+ */
+public class RankIndexBackfill {
+
+	// The name of the child that marks an account as counted
+	private static final String RANK_INDEXED = "rankIndexed";
+	// The name of the child of the best time
+	private static final String BEST_TIME = "bestTime";
+
+	// Reference to the accounts in the Firebase database
+	private final DatabaseReference accountsRef;
+	// The index the accounts are counted in
+	private final RankIndex rankIndex;
+	// The amount of accounts that are read at a time
+	private final int pageSize;
+
+	/**
+	 * Creates a backfill of the accounts under a database node.
+	 *
+	 * @param accountsRef The node of the accounts, keyed by user ID
+	 * @param rankIndex The index the accounts are counted in
+	 * @param pageSize The amount of accounts that are read at a time
+	 */
+	public RankIndexBackfill(DatabaseReference accountsRef, RankIndex rankIndex, int pageSize) {
+		if(pageSize < 1) {
+			throw new IllegalArgumentException("A page must hold at least one account");
+		}
+		this.accountsRef = accountsRef;
+		this.rankIndex = rankIndex;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Counts all the accounts that are not counted yet, a page at a time. A page is read only after the accounts
+	 * of the page before it were marked, so no account is read twice, and the backfill stops at the first failure.
+	 *
+	 * @param onDone The action that is called on the main thread once the backfill stops
+	 */
+	public void run(Runnable onDone) {
+		// Accounts of older versions have no "rankIndexed" child, which the database orders before false
+		accountsRef.orderByChild(RANK_INDEXED).endAt(false).limitToFirst(pageSize)
+			.addListenerForSingleValueEvent(new ValueEventListener() {
+				@Override
+				public void onDataChange(DataSnapshot dataSnapshot) {
+					if(!dataSnapshot.hasChildren()) {
+						onDone.run();
+						return;
+					}
+					int[] remaining = { (int) dataSnapshot.getChildrenCount() };
+					boolean[] failed = { false };
+					for(DataSnapshot data : dataSnapshot.getChildren()) {
+						Double bestTime = data.child(BEST_TIME).getValue(Double.class);
+						index(data.getRef(), bestTime == null ? Double.MAX_VALUE : bestTime, rankIndex, indexed -> {
+							failed[0] |= !indexed;
+							if(--remaining[0] == 0) {
+								if(failed[0]) {
+									onDone.run();
+								}
+								else {
+									run(onDone);
+								}
+							}
+						});
+					}
+				}
+
+				@Override
+				public void onCancelled(DatabaseError ignored) {
+					onDone.run();
+				}
+			});
+	}
+
+	/**
+	 * Counts an account in the rank index, unless it is already counted.
+	 *
+	 * @param accountRef The node of the account
+	 * @param bestTime The best time of the account
+	 * @param rankIndex The index the account is counted in
+	 * @param callback The action that is called on the main thread with true once the account is counted
+	 *                 (by this call or an earlier one), or false if it could not be marked as counted
+	 */
+	public static void index(DatabaseReference accountRef, double bestTime, RankIndex rankIndex, Consumer<Boolean> callback) {
+		accountRef.child(RANK_INDEXED).runTransaction(new Transaction.Handler() {
+			@Override
+			public Transaction.Result doTransaction(MutableData currentData) {
+				if(Boolean.TRUE.equals(currentData.getValue(Boolean.class))) {
+					return Transaction.abort();
+				}
+				currentData.setValue(true);
+				return Transaction.success(currentData);
+			}
+
+			@Override
+			public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+				if(committed) {
+					rankIndex.move(null, bestTime);
+				}
+				callback.accept(error == null);
+			}
+		});
+	}
+
+}
@@ -1,10 +1,10 @@
 package com.example.my3dproject.drawables;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
 
+import com.example.my3dproject.FrameSnapshot;
 import com.example.my3dproject.ScreenGeometryManager;
+import com.example.my3dproject.cube.CubeOrientation;
 import com.example.my3dproject.math.Vec3D;
 import com.example.my3dproject.math.geometry.CubeColors;
 import com.example.my3dproject.math.geometry.Point3d;
@@ -21,9 +21,21 @@ import java.util.List;
  */
 public class Cube extends Drawable {
 
+	// The direction of each of the 8 vertices from the cube's center, in the order of the points array
+	private static final int[][] VERTEX_DIRECTIONS = {
+		{1, 1, 1}, {1, -1, 1}, {-1, 1, 1}, {-1, -1, 1},
+		{1, 1, -1}, {1, -1, -1}, {-1, 1, -1}, {-1, -1, -1}
+	};
+
 	// Position coordinates of the cube's center
 	private double x, y, z;
 
+	// Position coordinates of the cube's center when it was created (in a solved Rubik's cube)
+	private final double homeX, homeY, homeZ;
+
+	// Half of the side length of the cube
+	private final double halfOfSize;
+
 	// Position coordinates used for rendering (may differ from actual position during rotations)
 	private double drawnX, drawnY, drawnZ;
 
@@ -52,9 +64,13 @@ public class Cube extends Drawable {
 		this.x = x;
 		this.y = y;
 		this.z = z;
+		this.homeX = x;
+		this.homeY = y;
+		this.homeZ = z;
 
 		// Calculate half the size for positioning vertices relative to center
 		double halfOfSize = size / 2;
+		this.halfOfSize = halfOfSize;
 
 		// Define the 8 vertices of the cube
 		// Each vertex is positioned relative to the center
@@ -132,6 +148,54 @@ public class Cube extends Drawable {
 		z = matrix[2][0] * tx + matrix[2][1] * ty + matrix[2][2] * tz + centerOfRotation.getZ();
 	}
 
+	/**
+	 * Places the cube exactly where an orientation takes it from its home position.
+	 * Used to derive the geometry from the logical state of the Rubik's cube, which removes any
+	 * floating-point error that was collected by the small rotation steps of the animations.
+	 *
+	 * @param orientation The orientation of the cube (an index in CubeOrientation)
+	 * @param centerOfRotation The center of the Rubik's cube
+	 */
+	public void placeByOrientation(int orientation, Point3d centerOfRotation) {
+		// Offset of the home position from the center of rotation
+		double[] homeOffset = {
+			homeX - centerOfRotation.getX(),
+			homeY - centerOfRotation.getY(),
+			homeZ - centerOfRotation.getZ()
+		};
+		double[] center = rotateByOrientation(orientation, homeOffset);
+		x = center[0] + centerOfRotation.getX();
+		y = center[1] + centerOfRotation.getY();
+		z = center[2] + centerOfRotation.getZ();
+
+		// Place each vertex relative to the new center
+		for (int i = 0; i < points.length; i++) {
+			double[] vertex = rotateByOrientation(orientation, new double[] {
+				VERTEX_DIRECTIONS[i][0] * halfOfSize,
+				VERTEX_DIRECTIONS[i][1] * halfOfSize,
+				VERTEX_DIRECTIONS[i][2] * halfOfSize
+			});
+			points[i].moveTo(x + vertex[0], y + vertex[1], z + vertex[2]);
+		}
+	}
+
+	/**
+	 * Rotates a vector by one of the 24 cube orientations.
+	 *
+	 * @param orientation The orientation (an index in CubeOrientation)
+	 * @param vector The vector to rotate
+	 * @return The rotated vector
+	 */
+	private static double[] rotateByOrientation(int orientation, double[] vector) {
+		double[] result = new double[3];
+		for (int row = 0; row < 3; row++) {
+			for (int column = 0; column < 3; column++) {
+				result[row] += CubeOrientation.matrixEntry(orientation, row, column) * vector[column];
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Rotates the cube around the X-axis.
 	 *
@@ -240,20 +304,16 @@ public class Cube extends Drawable {
 	 * Renders the cube on the canvas. Currently displays coordinate information as text.
 	 * The actual cube faces are rendered by their individual polygons.
 	 *
-	 * @param canvas Android Canvas to draw on
+	 * @param snapshot The snapshot of the frame that is being built
 	 * @param isDarkMode Whether dark mode is enabled
 	 */
 	@Override
-	public void render(Canvas canvas, boolean isDarkMode) {
-		Paint paint = new Paint();
-		paint.setColor(Color.BLACK);
-		paint.setTextSize(30);
-
+	public void render(FrameSnapshot snapshot, boolean isDarkMode) {
 		// Display the cube's coordinates as text (for debugging purposes)
-		canvas.drawText("(" + ((int) (x * 10) / 10.0) + "," + ((int) (y * 10) / 10.0) + "," + ((int) (z * 1000) / 1000.0) + ")",
+		snapshot.addText("(" + ((int) (x * 10) / 10.0) + "," + ((int) (y * 10) / 10.0) + "," + ((int) (z * 1000) / 1000.0) + ")",
 			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(new Point3d(drawnX, drawnY, drawnZ)) - 100,
 			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(new Point3d(drawnX, drawnY, drawnZ)),
-			paint
+			30, Color.BLACK
 		);
 
 	}
@@ -1,7 +1,6 @@
 package com.example.my3dproject.drawables;
 
-import android.graphics.Canvas;
-
+import com.example.my3dproject.FrameSnapshot;
 import com.example.my3dproject.ScreenGeometryManager;
 import com.example.my3dproject.UpdatableComponent;
 import com.example.my3dproject.math.geometry.Point2d;
@@ -46,11 +45,12 @@ public abstract class Drawable {
 
 	/**
 	 * Abstract method that must be implemented by all drawable objects.
-	 * This method is responsible for rendering the object onto the provided canvas.
+	 * This method is responsible for adding the shapes of the object, projected to the screen, to the snapshot
+	 * of the frame. It is called on the simulation thread, and the render thread draws the snapshot later.
 	 *
-	 * @param canvas The Android Canvas object to draw on
+	 * @param snapshot The snapshot of the frame that is being built
 	 * @param isDarkMode Boolean indicating whether the app is in dark mode
 	 */
-	public abstract void render(Canvas canvas, boolean isDarkMode);
+	public abstract void render(FrameSnapshot snapshot, boolean isDarkMode);
 
 }
\ No newline at end of file
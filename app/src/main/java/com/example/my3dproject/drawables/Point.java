@@ -1,9 +1,8 @@
 package com.example.my3dproject.drawables;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
 
+import com.example.my3dproject.FrameSnapshot;
 import com.example.my3dproject.ScreenGeometryManager;
 import com.example.my3dproject.math.geometry.Point2d;
 import com.example.my3dproject.math.geometry.Point3d;
@@ -123,28 +122,17 @@ public class Point extends Drawable {
 	}
 
 	/**
-	 * Renders the point as a filled circle on the canvas.
+	 * Renders the point as a filled circle with a black outline.
 	 *
-	 * @param canvas Android Canvas to draw on
+	 * @param snapshot The snapshot of the frame that is being built
 	 * @param isDarkMode Whether dark mode is enabled
 	 */
 	@Override
-	public void render(Canvas canvas, boolean isDarkMode) {
+	public void render(FrameSnapshot snapshot, boolean isDarkMode) {
 		// Project 3D coordinates to 2D screen coordinates
 		drawnX = screenGeometryManager.getProjectionTranslatedX(getPose());
 		drawnY = screenGeometryManager.getProjectionTranslatedY(getPose());
 
-		// Create paint for drawing
-		Paint paint = new Paint();
-
-		// Draw black outline circle
-		paint.setStyle(Paint.Style.STROKE);
-		paint.setColor(Color.BLACK);
-		canvas.drawCircle((float) drawnX, (float) drawnY, 10, paint);
-
-		// Fill circle with the specified color
-		paint.setStyle(Paint.Style.FILL);
-		paint.setColor(color);
-		canvas.drawCircle((float) drawnX, (float) drawnY, 10, paint);
+		snapshot.addCircle((float) drawnX, (float) drawnY, 10, color, Color.BLACK);
 	}
 }
\ No newline at end of file
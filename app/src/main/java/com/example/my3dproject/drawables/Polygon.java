@@ -1,13 +1,11 @@
 package com.example.my3dproject.drawables;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Path;
 
 import androidx.annotation.ColorInt;
 
 import com.example.my3dproject.Constants;
+import com.example.my3dproject.FrameSnapshot;
 import com.example.my3dproject.ScreenGeometryManager;
 import com.example.my3dproject.UpdatableComponent;
 import com.example.my3dproject.math.Vec3D;
@@ -19,7 +17,7 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Represents a 3D polygon face that can be rendered on a 2D canvas.
+ * Represents a 3D polygon face that can be rendered on a 2D screen.
  * This class handles the projection, lighting, and rendering of polygon faces
  * in a 3D environment.
  */
@@ -35,15 +33,6 @@ public class Polygon extends Drawable implements UpdatableComponent {
 	// List of 3D points that define the polygon's vertices
 	private final List<Point> points;
 
-	// Path object for drawing the filled polygon shape
-	private Path pathOfPolygon;
-
-	// Path object for drawing the polygon's outline
-	private Path pathOfLines;
-
-	// Paint object for rendering the filled polygon
-	private Paint paintOfFilledShape;
-
 	// Normal vector of the polygon surface
 	private Vec3D normalVector;
 
@@ -62,9 +51,6 @@ public class Polygon extends Drawable implements UpdatableComponent {
 		this.parentCube = parentCube;
 		this.color = color;
 		this.points = Arrays.asList(points);
-		this.pathOfPolygon = new Path();
-		this.pathOfLines = new Path();
-		this.paintOfFilledShape = new Paint();
 		this.normalVector = updateNormalVector();
 		this.isSelected = false;
 	}
@@ -193,9 +179,9 @@ public class Polygon extends Drawable implements UpdatableComponent {
 	}
 
 	/**
-	 * Updates the polygon's state and prepares rendering paths.
-	 * This method is called each frame to update the polygon's 2D projection
-	 * based on current 3D vertex positions.
+	 * Updates the polygon's state for rendering.
+	 * This method is called each frame to update the polygon's normal vector
+	 * based on current 3D vertex positions (the vertices are projected when the polygon is rendered).
 	 *
 	 * @param deltaTime Time elapsed since last update
 	 * @param pointOfClick Screen coordinates of user click
@@ -205,37 +191,6 @@ public class Polygon extends Drawable implements UpdatableComponent {
 	public void update(double deltaTime, Point2d pointOfClick, int event) {
 		// Recalculate normal vector for current vertex positions
 		normalVector = updateNormalVector();
-
-		// Reset drawing paths
-		pathOfPolygon = new Path();
-		pathOfLines = new Path();
-
-		// Create paths by projecting 3D vertices to 2D screen coordinates
-		// Start path at first vertex
-		pathOfPolygon.moveTo(
-			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(points.get(0).getPose()),
-			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(points.get(0).getPose())
-		);
-		pathOfLines.moveTo(
-			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(points.get(0).getPose()),
-			(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(points.get(0).getPose())
-		);
-
-		// Add lines to all other vertices
-		for (Point dot : points) {
-			pathOfPolygon.lineTo(
-				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(dot.getPose()),
-				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(dot.getPose())
-			);
-			pathOfLines.lineTo(
-				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(dot.getPose()),
-				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(dot.getPose())
-			);
-		}
-
-		// Close the paths to complete the polygon shape
-		pathOfPolygon.close();
-		pathOfLines.close();
 	}
 
 	/**
@@ -297,31 +252,30 @@ public class Polygon extends Drawable implements UpdatableComponent {
 	}
 
 	/**
-	 * Renders the polygon onto the provided canvas.
+	 * Renders the polygon into the snapshot of the frame, with its vertices projected to the screen.
 	 *
-	 * @param canvas The Android Canvas to draw on
+	 * @param snapshot The snapshot of the frame that is being built
 	 * @param isDarkMode Whether to use dark mode colors
 	 */
 	@Override
-	public void render(Canvas canvas, boolean isDarkMode) {
+	public void render(FrameSnapshot snapshot, boolean isDarkMode) {
 		// Calculate final color with lighting effects
-		paintOfFilledShape.setColor(isDarkMode ?
+		int fillColor = isDarkMode ?
 			calculateColorWithShade(getDarkModeColor(color), Constants.EnvironmentConstants.LIGHT_DIRECTION, normalVector)
-			: calculateColorWithShade(color, Constants.EnvironmentConstants.LIGHT_DIRECTION, normalVector));
-		paintOfFilledShape.setStyle(Paint.Style.FILL);
+			: calculateColorWithShade(color, Constants.EnvironmentConstants.LIGHT_DIRECTION, normalVector);
+		int outlineColor = isSelected? Color.LTGRAY : Color.BLACK;  // Highlight selected polygons
+		snapshot.addPolygon(fillColor, outlineColor, (float) (3*ScreenGeometryManager.getInstance().getScreenSizeRatio()));
 
-		// Setup outline paint
-		Paint paintOfLines = new Paint();
-		paintOfLines.setColor(isSelected? Color.LTGRAY : Color.BLACK);  // Highlight selected polygons
-		paintOfLines.setStrokeWidth((float) (3*ScreenGeometryManager.getInstance().getScreenSizeRatio()));
-		paintOfLines.setAntiAlias(false);
-		paintOfLines.setStyle(Paint.Style.STROKE);
+		// Project the 3D vertices to 2D screen coordinates
+		for (Point dot : points) {
+			Point3d pose = dot.getPose();
+			snapshot.addVertex(
+				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedX(pose),
+				(float) ScreenGeometryManager.getInstance().getProjectionTranslatedY(pose)
+			);
+		}
 
 		// Reset selection state after rendering
 		isSelected = false;
-
-		// Draw the filled polygon and its outline
-		canvas.drawPath(pathOfPolygon, paintOfFilledShape);
-		canvas.drawPath(pathOfLines, paintOfLines);
 	}
 }
\ No newline at end of file
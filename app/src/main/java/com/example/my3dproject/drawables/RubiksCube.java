@@ -1,10 +1,10 @@
 
 package com.example.my3dproject.drawables;
 
-import android.graphics.Canvas;
-
+import com.example.my3dproject.FrameSnapshot;
 import com.example.my3dproject.RotationOperation;
-import com.example.my3dproject.math.Vec3D;
+import com.example.my3dproject.cube.CubeModel;
+import com.example.my3dproject.math.geometry.Axis;
 import com.example.my3dproject.math.geometry.Point3d;
 import com.example.my3dproject.math.geometry.Quaternion;
 
@@ -56,6 +56,12 @@ public class RubiksCube extends Drawable {
 	// Size of the individual small cubes
 	private final double smallCubesSize;
 
+	// Logical (Android free) state of the cube. It is the source of truth, the geometry is derived from it
+	private final CubeModel cubeModel;
+
+	// Angles that were turned on each layer ([axis][layer + 1]) and not yet added to the logical state
+	private final double[][] pendingLayerAngles;
+
 	/**
 	 * Creates a new Rubik's Cube at the specified position with the given size.
 	 *
@@ -87,6 +93,10 @@ public class RubiksCube extends Drawable {
 		// Initialize rotation
 		this.currentRotation = new Quaternion(1, 0, 0, 0);
 
+		// Initialize the logical state as a solved cube
+		this.cubeModel = new CubeModel();
+		this.pendingLayerAngles = new double[3][3];
+
 		// Create all 27 small cubes
 		// Left layer (x = -1)
 		cubes.add(new Cube(x - sizeOfSmallCubes * 1, y - sizeOfSmallCubes * 1, z - sizeOfSmallCubes * 1, sizeOfSmallCubes));
@@ -253,24 +263,91 @@ public class RubiksCube extends Drawable {
 	 * @return True if the cube is solved (all faces properly aligned)
 	 */
 	public boolean checkIfCubeIsSolved() {
-		// Get reference orientation from the first cube
-		Vec3D initialUpVec = cubes.get(0).getUpOrientationVector();
-		Vec3D initialRightVec = cubes.get(0).getRightOrientationVector();
-
-		// Check alignment of all cubes
-		for(int i = 0; i < cubes.size(); i++) {
-			boolean upIsGood = initialUpVec.cosineSimilarity(cubes.get(i).getUpOrientationVector()) > 0.999;
-			boolean rightIsGood = initialRightVec.cosineSimilarity(cubes.get(i).getRightOrientationVector()) > 0.999;
-
-			// Special handling for center cubes (indices 4, 12, 10, 14, 22, 16, 13)
-			// which don't need to be aligned since they are at the centers
-			if(
-				!((i == 4 || i == 12 || i == 10 || i == 14 || i == 22 || i == 16 || i == 13) || (upIsGood && rightIsGood))
-			) {
-				return false;
+		return cubeModel.isSolved();
+	}
+
+	/**
+	 * Adds a turned angle of a layer to the logical state. The animations turn a layer in small steps,
+	 * so the angle is accumulated and every completed quarter turn is applied to the logical cube.
+	 *
+	 * @param axis The axis the layer was turned around
+	 * @param positionOnAxis The position of the layer on the axis
+	 * @param angle The turned angle in radians
+	 */
+	private void addTurnToLogicalState(Axis axis, double positionOnAxis, double angle) {
+		int layer = (int) Math.round(positionOnAxis / smallCubesSize);
+		if(Math.abs(layer) > 1) {
+			return;
+		}
+		double quarterTurn = Math.PI / 2;
+		double tolerance = 1e-6;
+		pendingLayerAngles[axis.ordinal()][layer + 1] += angle;
+		while (pendingLayerAngles[axis.ordinal()][layer + 1] > quarterTurn - tolerance) {
+			pendingLayerAngles[axis.ordinal()][layer + 1] -= quarterTurn;
+			cubeModel.applyLayerTurn(axis, layer, 1);
+		}
+		while (pendingLayerAngles[axis.ordinal()][layer + 1] < -quarterTurn + tolerance) {
+			pendingLayerAngles[axis.ordinal()][layer + 1] += quarterTurn;
+			cubeModel.applyLayerTurn(axis, layer, -1);
+		}
+
+		// When no layer is in the middle of a turn, the geometry is replaced by the one of the logical state
+		for (double[] anglesOfAxis : pendingLayerAngles) {
+			for (double pendingAngle : anglesOfAxis) {
+				if (Math.abs(pendingAngle) > tolerance) {
+					return;
+				}
+			}
+		}
+		placeCubesByLogicalState();
+	}
+
+	/**
+	 * Replaces the logical state of the cube and places all the cubes accordingly,
+	 * without turning any layer on the way.
+	 *
+	 * @param cubeModel The state to take, which is copied
+	 */
+	public void setLogicalState(CubeModel cubeModel) {
+		this.cubeModel.setState(cubeModel.getState(), cubeModel.getFrame());
+		placeCubesByLogicalState();
+	}
+
+	/**
+	 * Places all the cubes exactly where the logical state says they are.
+	 */
+	private void placeCubesByLogicalState() {
+		Point3d center = new Point3d(x, y, z);
+		for (int i = 0; i < cubes.size(); i++) {
+			cubes.get(i).placeByOrientation(cubeModel.getCubieOrientation(i), center);
+		}
+		for (double[] anglesOfAxis : pendingLayerAngles) {
+			Arrays.fill(anglesOfAxis, 0);
+		}
+	}
+
+	/**
+	 * Rotates a layer of cubes around an axis.
+	 *
+	 * @param axis The axis to rotate around
+	 * @param cubeToRotateAround Reference cube that determines which layer to rotate
+	 * @param angle Rotation angle in radians
+	 */
+	public void rotateLayer(Axis axis, Cube cubeToRotateAround, double angle) {
+		switch (axis) {
+			case X: {
+				rotateXAroundCube(cubeToRotateAround, angle);
+				break;
+			}
+			case Y: {
+				rotateYAroundCube(cubeToRotateAround, angle);
+				break;
+			}
+			case Z: {
+				rotateZAroundCube(cubeToRotateAround, angle);
+				break;
 			}
 		}
-		return true;
 	}
 
 	/**
@@ -289,6 +366,7 @@ public class RubiksCube extends Drawable {
 				);
 			}
 		}
+		addTurnToLogicalState(Axis.X, cubeToRotateAround.getPos().getX() - x, angle);
 	}
 
 	/**
@@ -307,6 +385,7 @@ public class RubiksCube extends Drawable {
 				);
 			}
 		}
+		addTurnToLogicalState(Axis.Y, cubeToRotateAround.getPos().getY() - y, angle);
 	}
 
 	/**
@@ -325,16 +404,17 @@ public class RubiksCube extends Drawable {
 				);
 			}
 		}
+		addTurnToLogicalState(Axis.Z, cubeToRotateAround.getPos().getZ() - z, angle);
 	}
 
 	/**
-	 * Renders the Rubik's Cube to the provided canvas.
+	 * Renders the Rubik's Cube into the snapshot of the frame, in the order its polygons should be drawn.
 	 *
-	 * @param canvas The Android Canvas to draw on
+	 * @param snapshot The snapshot of the frame that is being built
 	 * @param isDarkMode Whether to use dark mode colors
 	 */
 	@Override
-	public void render(Canvas canvas, boolean isDarkMode) {
+	public void render(FrameSnapshot snapshot, boolean isDarkMode) {
 		// Sort polygons by distance from player
 		drawnPolygons.sort(Comparator.comparingDouble(Polygon::getDistanceFromPlayer));
 		notRotatedPolygons.sort(Comparator.comparingDouble(Polygon::getDistanceFromPlayer));
@@ -342,7 +422,7 @@ public class RubiksCube extends Drawable {
 		// Renders only the polygons that face the player
 		for (Polygon polygon : drawnPolygons) {
 			if (polygon.isPointingToPlayer()) {
-				polygon.render(canvas, isDarkMode);
+				polygon.render(snapshot, isDarkMode);
 			}
 		}
 
@@ -372,6 +452,27 @@ public class RubiksCube extends Drawable {
 		return notRotatedPolygons;
 	}
 
+	/**
+	 * Returns the logical state of the cube.
+	 *
+	 * @return The cube model
+	 */
+	public CubeModel getCubeModel() {
+		return cubeModel;
+	}
+
+	/**
+	 * Gets the layer a small cube sits in by the logical state, which is exact even while the cube is in the
+	 * middle of a turn.
+	 *
+	 * @param cube One of the small cubes that are drawn
+	 * @param axis The axis of the layer
+	 * @return The layer (-1, 0 or 1)
+	 */
+	public int getLayerOfCube(Cube cube, Axis axis) {
+		return cubeModel.getLayerOfCubie(cubes.indexOf(cube), axis);
+	}
+
 	/**
 	 * Returns the current rotation of the cube as a quaternion.
 	 *
@@ -0,0 +1,251 @@
+package com.example.my3dproject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of FrameScheduler, on a frame clock whose time only moves when a frame starts or a step costs time.
+ */
+public class FrameSchedulerTest {
+
+	// The time of a single step in the tests, in nanoseconds (100 steps per second)
+	private static final long STEP_NANOS = 10_000_000;
+
+	/**
+	 * A frame clock whose frames come at a fixed interval at once, without waiting.
+	 */
+	private static final class FakeFrameClock implements FrameClock {
+
+		// The current time, in nanoseconds
+		long now = 1_000_000_000;
+		// The time between frames, in nanoseconds
+		long frameIntervalNanos;
+		// The earliest times the frames were asked for
+		final List<Long> requestedNanos = new ArrayList<>();
+		// Whether the clock was woken up since the last frame
+		boolean isWoken;
+
+		@Override
+		public long nanoTime() {
+			return now;
+		}
+
+		@Override
+		public long awaitFrame(long earliestNanos) {
+			requestedNanos.add(earliestNanos);
+			long frame = now + frameIntervalNanos;
+			if(!isWoken) {
+				frame = Math.max(frame, earliestNanos);
+			}
+			isWoken = false;
+			now = frame;
+			return frame;
+		}
+
+		@Override
+		public void wake() {
+			isWoken = true;
+		}
+
+	}
+
+	// The clock of the scheduler
+	private FakeFrameClock clock;
+	// The amount of steps taken
+	private int steps;
+	// The time every step costs, in nanoseconds
+	private long stepCostNanos;
+	// The times the frames were told of, in seconds
+	private List<Double> frameTimes;
+	// Whether something is moving
+	private boolean isActive;
+
+	@Before
+	public void setUp() {
+		clock = new FakeFrameClock();
+		steps = 0;
+		stepCostNanos = 0;
+		frameTimes = new ArrayList<>();
+		isActive = true;
+	}
+
+	/**
+	 * @return A scheduler of 100 steps per second and 10 idle frames per second on the fake clock
+	 */
+	private FrameScheduler createScheduler(double frameBudget, double idleDelay) {
+		return new FrameScheduler(
+			clock, 1e9 / STEP_NANOS, frameBudget, 10, idleDelay,
+			stepTime -> {
+				steps++;
+				clock.now += stepCostNanos;
+			},
+			frameTimes::add,
+			() -> isActive
+		);
+	}
+
+	@Test
+	public void runFrame_takesTheWholeStepsTheTimeHolds() throws InterruptedException {
+		clock.frameIntervalNanos = 25_000_000;
+		FrameScheduler scheduler = createScheduler(1, 1);
+
+		for(int i = 0; i < 4; i++) {
+			scheduler.runFrame();
+		}
+
+		// 25 ms is 2 steps and a half, and the halves add up to a step every second frame
+		assertEquals(10, steps);
+		assertEquals(4, frameTimes.size());
+		assertEquals(0.02, frameTimes.get(0), 1e-9);
+		assertEquals(0.03, frameTimes.get(1), 1e-9);
+		assertEquals(0.02, frameTimes.get(2), 1e-9);
+		assertEquals(0.03, frameTimes.get(3), 1e-9);
+	}
+
+	@Test
+	public void runFrame_doesNotCatchUpOnALongPause() throws InterruptedException {
+		clock.frameIntervalNanos = 10_000_000_000L;
+		FrameScheduler scheduler = createScheduler(1, 1);
+
+		scheduler.runFrame();
+
+		// Only the longest time of a frame, 250 ms, is simulated
+		assertEquals(25, steps);
+	}
+
+	@Test
+	public void start_forgetsTheTimeBeforeIt() throws InterruptedException {
+		clock.frameIntervalNanos = 20_000_000;
+		FrameScheduler scheduler = createScheduler(1, 1);
+		clock.now += 5_000_000_000L;
+
+		scheduler.start();
+		scheduler.runFrame();
+
+		assertEquals(2, steps);
+	}
+
+	@Test
+	public void runFrame_dropsTheStepsOverTheBudget() throws InterruptedException {
+		clock.frameIntervalNanos = 100_000_000;
+		FrameScheduler scheduler = createScheduler(0.01, 1);
+
+		scheduler.runFrame();
+		assertEquals(10, steps);
+		assertEquals(0, scheduler.getOverBudgetFrames());
+
+		// Every step costs 4 ms, so the budget of 10 ms is gone after 3 of the 10 steps that are due
+		stepCostNanos = 4_000_000;
+		scheduler.runFrame();
+		assertEquals(13, steps);
+		assertEquals(1, scheduler.getOverBudgetFrames());
+		assertEquals(0.03, frameTimes.get(1), 1e-9);
+
+		// The dropped time is not made up for in the next frame
+		stepCostNanos = 0;
+		scheduler.runFrame();
+		assertEquals(24, steps);
+		assertEquals(1, scheduler.getOverBudgetFrames());
+	}
+
+	@Test
+	public void runFrame_drawsAStillPictureOnce() throws InterruptedException {
+		clock.frameIntervalNanos = 20_000_000;
+		isActive = false;
+		FrameScheduler scheduler = createScheduler(1, 1);
+
+		scheduler.runFrame();
+		scheduler.runFrame();
+		scheduler.runFrame();
+		assertEquals(1, frameTimes.size());
+
+		scheduler.invalidate();
+		scheduler.runFrame();
+		assertEquals(2, frameTimes.size());
+	}
+
+	@Test
+	public void runFrame_goesIdleOnlyAfterTheIdleDelay() throws InterruptedException {
+		clock.frameIntervalNanos = 20_000_000;
+		isActive = false;
+		FrameScheduler scheduler = createScheduler(1, 1);
+
+		for(int i = 0; i < 49; i++) {
+			scheduler.runFrame();
+		}
+		assertFalse(scheduler.isIdle());
+
+		scheduler.runFrame();
+		assertTrue(scheduler.isIdle());
+
+		// In the idle mode the frames are asked for 100 ms apart
+		long idleFrameStart = clock.now;
+		scheduler.runFrame();
+		assertEquals(idleFrameStart + 100_000_000, clock.now);
+	}
+
+	@Test
+	public void runFrame_leavesTheIdleModeWhenSomethingMoves() throws InterruptedException {
+		clock.frameIntervalNanos = 20_000_000;
+		isActive = false;
+		FrameScheduler scheduler = createScheduler(1, 0);
+		scheduler.runFrame();
+		assertTrue(scheduler.isIdle());
+
+		isActive = true;
+		scheduler.runFrame();
+		assertFalse(scheduler.isIdle());
+		long frameStart = clock.now;
+		scheduler.runFrame();
+		assertEquals(frameStart + 20_000_000, clock.now);
+	}
+
+	@Test
+	public void wake_makesTheNextFrameComeAtTheFullRate() throws InterruptedException {
+		clock.frameIntervalNanos = 20_000_000;
+		isActive = false;
+		FrameScheduler scheduler = createScheduler(1, 0);
+		scheduler.runFrame();
+		assertTrue(scheduler.isIdle());
+
+		scheduler.wake();
+		assertFalse(scheduler.isIdle());
+		long frameStart = clock.now;
+		scheduler.runFrame();
+		assertEquals(frameStart + 20_000_000, clock.now);
+		// Nothing moved, so the scheduler goes back to the idle mode, without drawing
+		assertTrue(scheduler.isIdle());
+		assertEquals(1, frameTimes.size());
+	}
+
+	@Test
+	public void wake_cutsTheWaitOfASystemFrameClock() throws InterruptedException {
+		// Idle frames 100 s apart, which the test would never wait for
+		FrameScheduler scheduler = new FrameScheduler(
+			new SystemFrameClock(100), 100, 1, 0.01, 0, stepTime -> {}, frameTime -> {}, () -> false
+		);
+		scheduler.runFrame();
+		assertTrue(scheduler.isIdle());
+
+		Thread waker = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException ignored) {
+			}
+			scheduler.wake();
+		});
+		long start = System.nanoTime();
+		waker.start();
+		scheduler.runFrame();
+		waker.join();
+
+		assertTrue("The frame waited for the idle rate after the wake", System.nanoTime() - start < 10_000_000_000L);
+	}
+
+}
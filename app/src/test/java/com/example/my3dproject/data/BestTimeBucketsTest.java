@@ -0,0 +1,58 @@
+package com.example.my3dproject.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the edges of BestTimeBuckets.
+ */
+public class BestTimeBucketsTest {
+
+	@Test
+	public void bucketOf_putsZeroAndNegativeTimesInTheFirstBucket() {
+		assertEquals(0, BestTimeBuckets.bucketOf(0));
+		assertEquals(0, BestTimeBuckets.bucketOf(-1));
+		assertEquals(0, BestTimeBuckets.bucketOf(0.009));
+	}
+
+	@Test
+	public void bucketOf_givesEveryHundredthOfASecondItsOwnBucket() {
+		assertEquals(1, BestTimeBuckets.bucketOf(0.01));
+		assertEquals(100, BestTimeBuckets.bucketOf(1));
+		assertEquals(5999, BestTimeBuckets.bucketOf(59.999));
+		assertEquals(BestTimeBuckets.LAST - 1, BestTimeBuckets.bucketOf(3599.999));
+	}
+
+	@Test
+	public void bucketOf_isNotThrownOffByRoundingErrors() {
+		// 0.29 * 100 is 28.999999999999996
+		assertEquals(29, BestTimeBuckets.bucketOf(0.29));
+		for(int bucket = 1; bucket < BestTimeBuckets.COUNT; bucket++) {
+			double start = BestTimeBuckets.startOf(bucket);
+			assertEquals(bucket, BestTimeBuckets.bucketOf(start));
+			assertEquals(bucket - 1, BestTimeBuckets.bucketOf(Math.nextDown(start)));
+		}
+	}
+
+	@Test
+	public void bucketOf_putsAnHourAndLongerInTheLastBucket() {
+		assertEquals(BestTimeBuckets.LAST, BestTimeBuckets.bucketOf(3600));
+		assertEquals(BestTimeBuckets.LAST, BestTimeBuckets.bucketOf(100000));
+	}
+
+	@Test
+	public void isCounted_isFalseOnlyForNoBestTime() {
+		assertFalse(BestTimeBuckets.isCounted(Double.MAX_VALUE));
+		assertTrue(BestTimeBuckets.isCounted(0));
+		assertTrue(BestTimeBuckets.isCounted(100000));
+	}
+
+	@Test
+	public void startOf_isTheShortestTimeOfTheBucket() {
+		assertEquals(0, BestTimeBuckets.startOf(0), 0);
+		assertEquals(29.5, BestTimeBuckets.startOf(2950), 0);
+		assertEquals(3600, BestTimeBuckets.startOf(BestTimeBuckets.LAST), 0);
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.example.my3dproject.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of FenwickTree, and of the node paths that the rank index in the database follows.
+ */
+public class FenwickTreeTest {
+
+	@Test
+	public void updatePath_climbsByTheLowestSetBit() {
+		assertArrayEquals(new int[] {1, 2, 4, 8}, FenwickTree.updatePath(0, 8));
+		assertArrayEquals(new int[] {3, 4, 8}, FenwickTree.updatePath(2, 8));
+		assertArrayEquals(new int[] {5, 6, 8}, FenwickTree.updatePath(4, 8));
+		assertArrayEquals(new int[] {8}, FenwickTree.updatePath(7, 8));
+		// The path stops at the last node of the tree, which does not have to be a power of 2
+		assertArrayEquals(new int[] {1, 2, 4}, FenwickTree.updatePath(0, 7));
+		assertArrayEquals(new int[] {7}, FenwickTree.updatePath(6, 7));
+	}
+
+	@Test
+	public void updatePath_rejectsIndexesOutsideTheTree() {
+		try {
+			FenwickTree.updatePath(-1, 8);
+			fail("A negative index was accepted");
+		}
+		catch (IndexOutOfBoundsException expected) {
+		}
+		try {
+			FenwickTree.updatePath(8, 8);
+			fail("An index past the end was accepted");
+		}
+		catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	@Test
+	public void queryPath_descendsByTheLowestSetBit() {
+		assertArrayEquals(new int[0], FenwickTree.queryPath(0));
+		assertArrayEquals(new int[] {1}, FenwickTree.queryPath(1));
+		assertArrayEquals(new int[] {7, 6, 4}, FenwickTree.queryPath(7));
+		assertArrayEquals(new int[] {8}, FenwickTree.queryPath(8));
+		assertArrayEquals(new int[] {3601, 3600, 3584, 3072, 2048}, FenwickTree.queryPath(3601));
+	}
+
+	@Test
+	public void queryPath_meetsEveryUpdatePathOfAPrefixExactlyOnce() {
+		int size = BestTimeBuckets.COUNT;
+		for(int count = 0; count <= size; count += 997) {
+			for(int index = 0; index < size; index += 991) {
+				int shared = 0;
+				for(int updated : FenwickTree.updatePath(index, size)) {
+					for(int queried : FenwickTree.queryPath(count)) {
+						if(updated == queried) {
+							shared++;
+						}
+					}
+				}
+				// A count is summed once if it is in the prefix, and not at all otherwise
+				assertEquals(index < count ? 1 : 0, shared);
+			}
+		}
+	}
+
+	@Test
+	public void prefixSum_matchesTheSumOfTheCounts() {
+		Random random = new Random(16);
+		FenwickTree tree = new FenwickTree(100);
+		long[] counts = new long[100];
+		for(int i = 0; i < 1000; i++) {
+			int index = random.nextInt(100);
+			long delta = random.nextInt(11) - 5;
+			tree.add(index, delta);
+			counts[index] += delta;
+		}
+		long sum = 0;
+		for(int count = 0; count <= 100; count++) {
+			assertEquals(sum, tree.prefixSum(count));
+			if(count < 100) {
+				sum += counts[count];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.example.my3dproject.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the counting of InMemoryRankIndex, which follows the same buckets as the rank index in the database.
+ */
+public class InMemoryRankIndexTest {
+
+	/**
+	 * @return The amount of accounts the index counts as faster than a best time
+	 */
+	private static long countFaster(RankIndex rankIndex, double bestTime) {
+		long[] count = {-1};
+		rankIndex.countFaster(bestTime, faster -> count[0] = faster);
+		return count[0];
+	}
+
+	@Test
+	public void countFaster_countsTheAccountsInLowerBuckets() {
+		InMemoryRankIndex rankIndex = new InMemoryRankIndex();
+		rankIndex.move(null, 12.5);
+		rankIndex.move(null, 30.0);
+		rankIndex.move(null, 30.004);
+		rankIndex.move(null, 4000.0);
+
+		assertEquals(0, countFaster(rankIndex, 12.509));
+		assertEquals(1, countFaster(rankIndex, 12.51));
+		// Accounts in the same bucket are not counted as faster
+		assertEquals(1, countFaster(rankIndex, 30.009));
+		assertEquals(3, countFaster(rankIndex, 30.01));
+		// Neither are the times of an hour and longer, which all share the last bucket
+		assertEquals(3, countFaster(rankIndex, 3600));
+		assertEquals(3, countFaster(rankIndex, 5000));
+	}
+
+	@Test
+	public void move_treatsNoBestTimeAsNotCounted() {
+		InMemoryRankIndex rankIndex = new InMemoryRankIndex();
+		rankIndex.move(null, 12.0);
+		rankIndex.move(null, Double.MAX_VALUE);
+
+		// Setting the first best time adds the account, and resetting it removes the account
+		rankIndex.move(Double.MAX_VALUE, 20.0);
+		assertEquals(2, countFaster(rankIndex, 50));
+		rankIndex.move(12.0, Double.MAX_VALUE);
+		assertEquals(1, countFaster(rankIndex, 50));
+		assertEquals(0, countFaster(rankIndex, 20));
+	}
+
+	@Test
+	public void move_takesTheAccountOutOfItsOldBucket() {
+		InMemoryRankIndex rankIndex = new InMemoryRankIndex();
+		rankIndex.move(null, 40.0);
+		rankIndex.move(40.0, 20.0);
+
+		assertEquals(0, countFaster(rankIndex, 20));
+		assertEquals(1, countFaster(rankIndex, 20.01));
+		assertEquals(1, countFaster(rankIndex, 50));
+
+		rankIndex.move(20.0, null);
+		assertEquals(0, countFaster(rankIndex, 50));
+	}
+
+}
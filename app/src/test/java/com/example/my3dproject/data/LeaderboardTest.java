@@ -0,0 +1,160 @@
+package com.example.my3dproject.data;
+
+import com.example.my3dproject.Account;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the Leaderboard paging and of the leaderboard order, against an InMemoryLeaderboardSource.
+ */
+public class LeaderboardTest {
+
+	/**
+	 * Creates an account with a best time.
+	 */
+	private static Account account(String userId, double bestTime) {
+		Account account = new Account(userId, userId);
+		account.setBestTime(bestTime);
+		return account;
+	}
+
+	/**
+	 * @return The user IDs of the accounts, in order
+	 */
+	private static List<String> userIdsOf(List<Account> accounts) {
+		List<String> userIds = new ArrayList<>();
+		for(Account account : accounts) {
+			userIds.add(account.getUserId());
+		}
+		return userIds;
+	}
+
+	@Test
+	public void loadNextPage_readsThePagesInLeaderboardOrder() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("e", 50), account("a", 10), account("g", Double.MAX_VALUE), account("c", 30),
+			account("b", 20), account("f", 60), account("d", 40)
+		));
+		int[] loadedPages = {0};
+		Leaderboard leaderboard = new Leaderboard(source, 3, () -> loadedPages[0]++);
+
+		leaderboard.loadNextPage();
+		assertEquals(Arrays.asList("a", "b", "c"), userIdsOf(leaderboard.getAccounts()));
+		assertFalse(leaderboard.isComplete());
+
+		leaderboard.loadNextPage();
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), userIdsOf(leaderboard.getAccounts()));
+		assertFalse(leaderboard.isComplete());
+
+		leaderboard.loadNextPage();
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f", "g"), userIdsOf(leaderboard.getAccounts()));
+		assertTrue(leaderboard.isComplete());
+		assertEquals(3, loadedPages[0]);
+
+		// Nothing is read once the leaderboard is complete
+		leaderboard.loadNextPage();
+		assertEquals(7, leaderboard.getAccounts().size());
+		assertEquals(3, loadedPages[0]);
+	}
+
+	@Test
+	public void loadNextPage_isCompleteAfterAnEmptyPageWhenTheSizeIsAMultipleOfThePageSize() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("a", 1), account("b", 2), account("c", 3), account("d", 4)
+		));
+		Leaderboard leaderboard = new Leaderboard(source, 2, () -> {});
+
+		leaderboard.loadNextPage();
+		leaderboard.loadNextPage();
+		assertEquals(4, leaderboard.getAccounts().size());
+		assertFalse(leaderboard.isComplete());
+
+		leaderboard.loadNextPage();
+		assertEquals(4, leaderboard.getAccounts().size());
+		assertTrue(leaderboard.isComplete());
+	}
+
+	@Test
+	public void loadNextPage_ordersTiesByUserIdWithoutSkippingOrRepeatingAcrossPages() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("d", 30), account("b", 30), account("z", 10), account("a", 30), account("c", 30), account("e", 40)
+		));
+		Leaderboard leaderboard = new Leaderboard(source, 2, () -> {});
+
+		// The pages end in the middle of the accounts with a best time of 30
+		for(int page = 0; page < 4; page++) {
+			leaderboard.loadNextPage();
+		}
+		assertEquals(Arrays.asList("z", "a", "b", "c", "d", "e"), userIdsOf(leaderboard.getAccounts()));
+		assertTrue(leaderboard.isComplete());
+	}
+
+	@Test
+	public void onScrolledTo_readsTheNextPageOnlyNearTheEnd() {
+		List<Account> accounts = new ArrayList<>();
+		for(int i = 0; i < 30; i++) {
+			accounts.add(account(String.format("user%02d", i), i + 1));
+		}
+		Leaderboard leaderboard = new Leaderboard(new InMemoryLeaderboardSource(accounts), 10, () -> {});
+		leaderboard.loadNextPage();
+
+		leaderboard.onScrolledTo(4, 3);
+		assertEquals(10, leaderboard.getAccounts().size());
+
+		leaderboard.onScrolledTo(7, 3);
+		assertEquals(20, leaderboard.getAccounts().size());
+	}
+
+	@Test
+	public void findPlace_countsTheAccountsAheadAtTheSource() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("a", 10), account("b", 20), account("c", 20), account("d", 30)
+		));
+		Leaderboard leaderboard = new Leaderboard(source, 2, () -> {});
+		long[] place = {0};
+
+		leaderboard.findPlace(account("a", 10), found -> place[0] = found);
+		assertEquals(1, place[0]);
+
+		// Accounts with the same best time are placed by their user ID
+		leaderboard.findPlace(account("c", 20), found -> place[0] = found);
+		assertEquals(3, place[0]);
+
+		// An account that is not in the leaderboard gets the place it would have
+		leaderboard.findPlace(account("bb", 20), found -> place[0] = found);
+		assertEquals(3, place[0]);
+		leaderboard.findPlace(account("x", 100), found -> place[0] = found);
+		assertEquals(5, place[0]);
+	}
+
+	@Test
+	public void findPlace_givesNoPlaceToAnAccountWithoutABestTime() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("a", 10), account("b", Double.MAX_VALUE)
+		));
+		Leaderboard leaderboard = new Leaderboard(source, 10, () -> {});
+		Long[] place = { 0L };
+
+		leaderboard.findPlace(account("b", Double.MAX_VALUE), found -> place[0] = found);
+		assertNull(place[0]);
+	}
+
+	@Test
+	public void put_replacesTheAccountOfTheSameUser() {
+		InMemoryLeaderboardSource source = new InMemoryLeaderboardSource(Arrays.asList(
+			account("a", 10), account("b", 20), account("c", 30)
+		));
+		source.put(account("c", 5));
+		Leaderboard leaderboard = new Leaderboard(source, 10, () -> {});
+		leaderboard.loadNextPage();
+
+		assertEquals(Arrays.asList("c", "a", "b"), userIdsOf(leaderboard.getAccounts()));
+	}
+
+}
@@ -0,0 +1,17 @@
+plugins {
+    `java-library`
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+application {
+    mainClass.set("com.example.my3dproject.cli.SolverCli")
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -1,5 +1,6 @@
 package com.example.my3dproject;
 
+import com.example.my3dproject.cube.Move;
 import com.example.my3dproject.math.geometry.Axis;
 import com.example.my3dproject.math.geometry.Point3d;
 
@@ -79,6 +80,55 @@ public class RotationOperation {
 		return angleOfRotation;
 	}
 
+	/**
+	 * Gets the layer the rotation turns, which is the side of the rotation point on the axis
+	 * @return -1, 0 or 1
+	 */
+	public int getLayer() {
+		double position = axisOfRotation == Axis.X ? pointToRotateAround.getX() :
+			axisOfRotation == Axis.Y ? pointToRotateAround.getY() : pointToRotateAround.getZ();
+		return Math.abs(position) < CUBE_POSITION_TOLERANCE_FOR_ROTATION ? 0 : (int) Math.signum(position);
+	}
+
+	/**
+	 * Gets the angle of rotation rounded to whole quarter turns
+	 * @return Amount of quarter turns, positive follows the right-hand rule
+	 */
+	public int getQuarterTurns() {
+		return (int) Math.round(angleOfRotation / Math.toRadians(90));
+	}
+
+	/**
+	 * Converts the rotation to the move that turns the same layer of the world, named as if the cube was never
+	 * turned as a whole (so the faces of the move are the faces of the world)
+	 * @return The move, or null if the rotation leaves the layer where it was
+	 */
+	public Move toWorldMove() {
+		int quarterTurns = getQuarterTurns();
+		if((quarterTurns & 3) == 0) {
+			return null;
+		}
+		return Move.fromLayerTurn(axisOfRotation, getLayer(), quarterTurns);
+	}
+
+	/**
+	 * Creates the rotation of a move that is named by the faces of the world (the inverse of toWorldMove)
+	 * @param move The move
+	 * @param smallCubesSize The size of a single cubie, which is the distance between layers
+	 * @return The rotation of the move
+	 */
+	public static RotationOperation fromWorldMove(Move move, double smallCubesSize) {
+		double position = move.getLayer() * smallCubesSize;
+		Axis axis = move.getAxis();
+		return new RotationOperation(
+			axis == Axis.X ? position : 0,
+			axis == Axis.Y ? position : 0,
+			axis == Axis.Z ? position : 0,
+			axis,
+			Math.toRadians(90) * move.getQuarterTurnsAroundAxis()
+		);
+	}
+
 	/**
 	 * Parses a string representation back into a RotationOperation object
 	 * @param value String representation of a rotation operation
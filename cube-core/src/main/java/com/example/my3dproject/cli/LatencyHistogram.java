@@ -0,0 +1,99 @@
+package com.example.my3dproject.cli;
+
+/**
+ * A histogram of latencies with a fixed amount of memory, no matter how many values are recorded.
+ * Every power of two of microseconds is split into SUB_BUCKETS linear buckets, so a percentile is
+ * accurate to about 1 / SUB_BUCKETS of its value.
+ */
+class LatencyHistogram {
+
+	// Amount of linear buckets in every power of two
+	private static final int SUB_BUCKETS = 32;
+	// Amount of powers of two (covers up to 2^40 microseconds)
+	private static final int POWERS = 40;
+
+	// The amount of values in every bucket
+	private final long[] counts;
+	// The amount of recorded values
+	private long totalCount;
+	// The largest recorded value in microseconds
+	private long max;
+
+	/**
+	 * Creates an empty histogram.
+	 */
+	LatencyHistogram() {
+		this.counts = new long[POWERS * SUB_BUCKETS];
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanoseconds The latency in nanoseconds
+	 */
+	void record(long nanoseconds) {
+		long microseconds = Math.max(nanoseconds / 1000, 0);
+		counts[getBucket(microseconds)]++;
+		totalCount++;
+		max = Math.max(max, microseconds);
+	}
+
+	/**
+	 * @return The amount of recorded values
+	 */
+	long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return The largest recorded latency in milliseconds
+	 */
+	double getMaxMillis() {
+		return max / 1000.0;
+	}
+
+	/**
+	 * Gets a percentile of the recorded latencies.
+	 *
+	 * @param percentile The percentile (0 - 100)
+	 * @return The latency in milliseconds (the upper end of its bucket)
+	 */
+	double getPercentileMillis(double percentile) {
+		long rank = (long) Math.ceil(percentile / 100 * totalCount);
+		long seen = 0;
+		for(int bucket = 0; bucket < counts.length; bucket++) {
+			seen += counts[bucket];
+			if(seen >= rank && seen > 0) {
+				return Math.min(getBucketEnd(bucket), max) / 1000.0;
+			}
+		}
+		return max / 1000.0;
+	}
+
+	/**
+	 * @param microseconds A latency in microseconds
+	 * @return The bucket of the latency
+	 */
+	private static int getBucket(long microseconds) {
+		if(microseconds < SUB_BUCKETS) {
+			return (int) microseconds;
+		}
+		// The shift that leaves the value between SUB_BUCKETS and 2 * SUB_BUCKETS
+		int shift = 63 - Long.numberOfLeadingZeros(microseconds) - Integer.numberOfTrailingZeros(SUB_BUCKETS);
+		return (int) Math.min(shift * SUB_BUCKETS + (microseconds >>> shift), POWERS * SUB_BUCKETS - 1L);
+	}
+
+	/**
+	 * @param bucket A bucket
+	 * @return The largest latency in microseconds that falls into the bucket
+	 */
+	private static long getBucketEnd(int bucket) {
+		if(bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long start = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+		return start + (1L << shift) - 1;
+	}
+
+}
@@ -0,0 +1,335 @@
+package com.example.my3dproject.cli;
+
+import com.example.my3dproject.RotationOperation;
+import com.example.my3dproject.cube.CubeModel;
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+import com.example.my3dproject.cube.solver.OptimalSolver;
+import com.example.my3dproject.cube.solver.OptimalSolverTables;
+import com.example.my3dproject.cube.solver.SolverTables;
+import com.example.my3dproject.cube.solver.TwoPhaseSolver;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A command line tool that solves a file of scrambles, for verifying shuffles and for move count statistics.
+ * <p>
+ * Every line of the input is one scramble, either in the saved rotations format (RotationOperation.toString(),
+ * separated by '~') or in standard notation ("R U2 F' ..."). The scrambles are solved on a thread pool and
+ * the results are written to the standard output in the order of the input, one line per scramble:
+ * the line number, the amount of moves and the solution. The input is read as the solving goes, so only a
+ * bounded amount of scrambles is held in memory at a time. Statistics are written to the standard error at the end.
+ * <p>
+ * Usage: SolverCli [--threads N] [--optimal] [--tables DIRECTORY] [FILE]
+ * (the input is read from the standard input when no file is given, or when the file is "-").
+ */
+public class SolverCli {
+
+	// The amount of scrambles that may wait for a thread, for every thread
+	private static final int QUEUED_SCRAMBLES_PER_THREAD = 4;
+
+	// The amount of threads that solve scrambles (or that the optimal solver splits every solve into)
+	private int threadsCount = Runtime.getRuntime().availableProcessors();
+	// Whether to find optimal solutions instead of two-phase ones
+	private boolean isOptimal = false;
+	// The directory the solver tables are kept in
+	private File tablesDirectory = new File(".");
+	// The input file, or null for the standard input
+	private File inputFile = null;
+
+	/**
+	 * The result of solving a single scramble.
+	 */
+	private static final class Result {
+
+		// The line number of the scramble in the input
+		final long lineNumber;
+		// The solution, or null if the line could not be solved
+		final List<Move> solution;
+		// The reason the line could not be solved
+		final String error;
+		// The time the solve took in nanoseconds
+		final long nanoseconds;
+
+		/**
+		 * Creates a result.
+		 */
+		Result(long lineNumber, List<Move> solution, String error, long nanoseconds) {
+			this.lineNumber = lineNumber;
+			this.solution = solution;
+			this.error = error;
+			this.nanoseconds = nanoseconds;
+		}
+
+	}
+
+	/**
+	 * A scramble that was handed to the solving threads, whose result was not written yet.
+	 */
+	private static final class PendingResult {
+
+		// The line number of the scramble in the input
+		final long lineNumber;
+		// The result of solving the scramble
+		final Future<Result> future;
+
+		/**
+		 * Creates a pending result.
+		 */
+		PendingResult(long lineNumber, Future<Result> future) {
+			this.lineNumber = lineNumber;
+			this.future = future;
+		}
+
+	}
+
+	/**
+	 * The entry point of the tool.
+	 *
+	 * @param args The command line arguments
+	 */
+	public static void main(String[] args) {
+		SolverCli cli = new SolverCli();
+		if(!cli.parseArguments(args)) {
+			System.err.println("Usage: SolverCli [--threads N] [--optimal] [--tables DIRECTORY] [FILE]");
+			System.exit(2);
+		}
+		try {
+			cli.run();
+		}
+		catch (IOException | InterruptedException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Reads the command line arguments.
+	 *
+	 * @param args The command line arguments
+	 * @return false if the arguments are not valid
+	 */
+	private boolean parseArguments(String[] args) {
+		for(int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--threads":
+					if(i + 1 >= args.length) {
+						return false;
+					}
+					try {
+						threadsCount = Integer.parseInt(args[++i]);
+					}
+					catch (NumberFormatException e) {
+						return false;
+					}
+					if(threadsCount < 1) {
+						return false;
+					}
+					break;
+				case "--optimal":
+					isOptimal = true;
+					break;
+				case "--tables":
+					if(i + 1 >= args.length) {
+						return false;
+					}
+					tablesDirectory = new File(args[++i]);
+					break;
+				default:
+					if(inputFile != null || (args[i].startsWith("--"))) {
+						return false;
+					}
+					inputFile = args[i].equals("-") ? null : new File(args[i]);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solves all the scrambles of the input.
+	 */
+	private void run() throws IOException, InterruptedException {
+		if(!tablesDirectory.isDirectory() && !tablesDirectory.mkdirs()) {
+			throw new IOException("Could not create " + tablesDirectory);
+		}
+		long tablesStart = System.nanoTime();
+		SolverTables tables = SolverTables.loadOrBuild(new File(tablesDirectory, "solver_tables.bin"), SolverCli::warnTablesFile);
+		TwoPhaseSolver twoPhaseSolver = new TwoPhaseSolver(tables);
+		OptimalSolver optimalSolver = null;
+		ExecutorService executor;
+		if(isOptimal) {
+			// The optimal solver splits every solve over all the threads, so the scrambles are solved one by one
+			optimalSolver = new OptimalSolver(
+				OptimalSolverTables.loadOrBuild(tables, new File(tablesDirectory, "optimal_tables.bin"), SolverCli::warnTablesFile),
+				new ForkJoinPool(threadsCount)
+			);
+			executor = Executors.newSingleThreadExecutor();
+		}
+		else {
+			executor = Executors.newFixedThreadPool(threadsCount);
+		}
+		System.err.printf(Locale.US, "Tables ready in %.1f ms%n", (System.nanoTime() - tablesStart) / 1e6);
+
+		int maxQueued = threadsCount * QUEUED_SCRAMBLES_PER_THREAD;
+		ArrayDeque<PendingResult> queue = new ArrayDeque<>();
+		LatencyHistogram latencies = new LatencyHistogram();
+		long[] moveCounts = new long[64];
+		long failed = 0;
+		PrintStream out = new PrintStream(System.out, false, "UTF-8");
+		long start = System.nanoTime();
+
+		InputStream input = inputFile == null ? System.in : new FileInputStream(inputFile);
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			long lineNumber = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if(line.trim().isEmpty()) {
+					continue;
+				}
+				final long scrambleLineNumber = lineNumber;
+				final String scramble = line.trim();
+				final OptimalSolver finalOptimalSolver = optimalSolver;
+				queue.add(new PendingResult(scrambleLineNumber, executor.submit(() -> solve(scrambleLineNumber, scramble, twoPhaseSolver, finalOptimalSolver))));
+				// Results are written in order, and reading waits while too many scrambles are still being solved
+				while (queue.size() >= maxQueued || (!queue.isEmpty() && queue.peek().future.isDone())) {
+					failed += writeResult(awaitResult(queue.poll()), out, latencies, moveCounts);
+				}
+			}
+		}
+		while (!queue.isEmpty()) {
+			failed += writeResult(awaitResult(queue.poll()), out, latencies, moveCounts);
+		}
+		out.flush();
+		executor.shutdown();
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		writeStatistics(latencies, moveCounts, failed, seconds);
+	}
+
+	/**
+	 * Reports a tables file that could not be read or written. The tables are still used, so the run goes on.
+	 *
+	 * @param e The failure
+	 */
+	private static void warnTablesFile(IOException e) {
+		System.err.println("Could not use the tables file: " + e);
+	}
+
+	/**
+	 * Parses and solves a single scramble.
+	 *
+	 * @return The result
+	 */
+	private static Result solve(long lineNumber, String scramble, TwoPhaseSolver twoPhaseSolver, OptimalSolver optimalSolver) {
+		CubeModel cubeModel = new CubeModel();
+		try {
+			if(scramble.contains("_")) { // The saved rotations format, for example (2.5,0.0,0.0)_X_1.5707963267948966~
+				for(RotationOperation rotationOperation : RotationOperation.valuesOf(scramble.endsWith("~") ? scramble : scramble + "~")) {
+					cubeModel.applyRotationOperation(rotationOperation);
+				}
+			}
+			else { // Standard notation
+				for(String notation : scramble.split("\\s+")) {
+					cubeModel.apply(Move.parse(notation));
+				}
+			}
+		}
+		catch (RuntimeException e) {
+			return new Result(lineNumber, null, "could not parse the scramble: " + e.getMessage(), 0);
+		}
+		CubieState state = cubeModel.getState();
+		long start = System.nanoTime();
+		List<Move> solution = optimalSolver != null ? optimalSolver.solve(state) : twoPhaseSolver.solve(state);
+		long nanoseconds = System.nanoTime() - start;
+		if(solution == null) {
+			return new Result(lineNumber, null, "no solution found", nanoseconds);
+		}
+		return new Result(lineNumber, solution, null, nanoseconds);
+	}
+
+	/**
+	 * Waits for the result of a scramble. A solver that threw fails only its own scramble, and the run goes on.
+	 *
+	 * @return The result
+	 */
+	private static Result awaitResult(PendingResult pendingResult) throws InterruptedException {
+		try {
+			return pendingResult.future.get();
+		}
+		catch (ExecutionException e) {
+			return new Result(pendingResult.lineNumber, null, "the solver failed: " + e.getCause(), 0);
+		}
+	}
+
+	/**
+	 * Writes a result to the output and adds it to the statistics.
+	 *
+	 * @return 1 if the scramble could not be solved, 0 otherwise
+	 */
+	private static int writeResult(Result result, PrintStream out, LatencyHistogram latencies, long[] moveCounts) {
+		if(result.solution == null) {
+			System.err.println("Line " + result.lineNumber + ": " + result.error);
+			return 1;
+		}
+		StringBuilder line = new StringBuilder();
+		line.append(result.lineNumber).append('\t').append(result.solution.size()).append('\t');
+		for(int i = 0; i < result.solution.size(); i++) {
+			if(i > 0) {
+				line.append(' ');
+			}
+			line.append(result.solution.get(i).getNotation());
+		}
+		out.println(line);
+		latencies.record(result.nanoseconds);
+		moveCounts[Math.min(result.solution.size(), moveCounts.length - 1)]++;
+		return 0;
+	}
+
+	/**
+	 * Writes the statistics of the run to the standard error.
+	 */
+	private static void writeStatistics(LatencyHistogram latencies, long[] moveCounts, long failed, double seconds) {
+		long solved = latencies.getTotalCount();
+		long totalMoves = 0;
+		int maxMoves = 0;
+		for(int moves = 0; moves < moveCounts.length; moves++) {
+			totalMoves += moves * moveCounts[moves];
+			if(moveCounts[moves] > 0) {
+				maxMoves = moves;
+			}
+		}
+		PrintStream err = System.err;
+		err.printf(Locale.US, "Solved %d scrambles (%d failed) in %.2f s - %.1f solves/s%n", solved, failed, seconds, solved / seconds);
+		if(solved == 0) {
+			return;
+		}
+		err.printf(Locale.US, "Moves: mean %.2f, max %d%n", (double) totalMoves / solved, maxMoves);
+		for(int moves = 0; moves < moveCounts.length; moves++) {
+			if(moveCounts[moves] > 0) {
+				err.printf(Locale.US, "  %2d moves: %d%n", moves, moveCounts[moves]);
+			}
+		}
+		err.printf(
+			Locale.US, "Latency (ms): p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+			latencies.getPercentileMillis(50), latencies.getPercentileMillis(90), latencies.getPercentileMillis(99),
+			latencies.getPercentileMillis(99.9), latencies.getMaxMillis()
+		);
+	}
+
+}
@@ -0,0 +1,261 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.RotationOperation;
+import com.example.my3dproject.math.geometry.Axis;
+import com.example.my3dproject.math.geometry.Point3d;
+
+/**
+ * A logical model of the Rubik's cube that does not depend on Android or on any rendering code.
+ * The state of the cube is a CubieState (the corners and edges relative to the face centers)
+ * together with the frame - the orientation of the face centers in the world, which changes
+ * when a middle layer is turned. The orientation of every single cubie, which the renderer needs,
+ * is derived from those two.
+ * <p>
+ * Cubies are indexed in the same order the rendered cubes are created in:
+ * index = (x + 1) * 9 + (z + 1) * 3 + (y + 1), where x, y and z are the home position in layers (-1, 0 or 1).
+ */
+public class CubeModel {
+
+	/**
+	 * The amount of cubies in the Rubik's cube.
+	 */
+	public static final int CUBIES_COUNT = 27;
+
+	// The corner that every cubie index is (-1 for cubies that are not corners)
+	private static final byte[] CORNER_OF_CUBIE = new byte[CUBIES_COUNT];
+	// The edge that every cubie index is (-1 for cubies that are not edges)
+	private static final byte[] EDGE_OF_CUBIE = new byte[CUBIES_COUNT];
+
+	static {
+		for(int cubie = 0; cubie < CUBIES_COUNT; cubie++) {
+			CORNER_OF_CUBIE[cubie] = (byte) findSlotAtHome(CubieGeometry.CORNER_FACELETS, cubie);
+			EDGE_OF_CUBIE[cubie] = (byte) findSlotAtHome(CubieGeometry.EDGE_FACELETS, cubie);
+		}
+	}
+
+	// The corners and edges relative to the face centers
+	private CubieState state;
+	// The orientation of the face centers in the world (an index in CubeOrientation)
+	private int frame;
+
+	/**
+	 * Creates a solved Rubik's cube.
+	 */
+	public CubeModel() {
+		this.state = CubieState.SOLVED;
+		this.frame = CubeOrientation.IDENTITY;
+	}
+
+	/**
+	 * Copy constructor - creates a Rubik's cube in the same state as another one.
+	 *
+	 * @param other The cube to copy the state from
+	 */
+	public CubeModel(CubeModel other) {
+		this.state = other.state;
+		this.frame = other.frame;
+	}
+
+	/**
+	 * Turns a single layer of the Rubik's cube, in world coordinates.
+	 * The turn is mapped to the move of the cube's own faces through the frame. A middle layer move
+	 * also turns the face centers, so it turns the frame as well.
+	 *
+	 * @param axis The axis to turn around
+	 * @param layer The layer on the axis (-1, 0 or 1)
+	 * @param quarterTurns The amount of quarter turns, positive follows the right-hand rule
+	 */
+	public void applyLayerTurn(Axis axis, int layer, int quarterTurns) {
+		if((quarterTurns & 3) == 0) {
+			return;
+		}
+		// The turn as a move of the cube's own faces, which differ from the world's when the frame was turned
+		Face positiveFace = CubieGeometry.rotateFace(CubeOrientation.inverse(frame), Face.of(axis, 1));
+		int quarterTurnsAroundLocalAxis = quarterTurns * positiveFace.getSign();
+		int localLayer = layer * positiveFace.getSign();
+		Move move = Move.fromLayerTurn(positiveFace.getAxis(), localLayer, quarterTurnsAroundLocalAxis);
+		state = state.apply(move);
+		if(move.isSlice()) {
+			frame = CubeOrientation.compose(frame, CubeOrientation.quarterTurn(axis, quarterTurns));
+		}
+	}
+
+	/**
+	 * Applies a move given in the cube's own faces (relative to the face centers, not the world).
+	 *
+	 * @param move The move to apply
+	 */
+	public void apply(Move move) {
+		Face worldFace = getWorldFace(move.getFace());
+		int sign = worldFace.getSign() * move.getFace().getSign();
+		applyLayerTurn(worldFace.getAxis(), move.getLayer() * sign, move.getQuarterTurnsAroundAxis() * sign);
+	}
+
+	/**
+	 * Finds where a face of the cube currently points in the world. A move of the cube's own faces
+	 * turns the layer of the world face, by the same angle around the face.
+	 *
+	 * @param face A face of the cube (as the face centers define it)
+	 * @return The face of the world the face points to
+	 */
+	public Face getWorldFace(Face face) {
+		return CubieGeometry.rotateFace(frame, face);
+	}
+
+	/**
+	 * Applies a saved rotation. The layer is the side of the rotation point on the axis,
+	 * and the angle is rounded to whole quarter turns.
+	 *
+	 * @param rotationOperation The rotation to apply
+	 */
+	public void applyRotationOperation(RotationOperation rotationOperation) {
+		applyLayerTurn(rotationOperation.getAxisOfRotation(), rotationOperation.getLayer(), rotationOperation.getQuarterTurns());
+	}
+
+	/**
+	 * Converts a move of the cube's own faces to the rotation of the world layer it turns,
+	 * in the format the renderer and the saved rotations use.
+	 *
+	 * @param move The move
+	 * @param smallCubesSize The size of a single cubie, which is the distance between layers
+	 * @return The rotation of the move
+	 */
+	public RotationOperation toRotationOperation(Move move, double smallCubesSize) {
+		Face worldFace = getWorldFace(move.getFace());
+		int sign = worldFace.getSign() * move.getFace().getSign();
+		double position = move.getLayer() * sign * smallCubesSize;
+		return new RotationOperation(
+			new Point3d(
+				worldFace.getAxis() == Axis.X ? position : 0,
+				worldFace.getAxis() == Axis.Y ? position : 0,
+				worldFace.getAxis() == Axis.Z ? position : 0
+			),
+			worldFace.getAxis(),
+			Math.toRadians(90) * move.getQuarterTurnsAroundAxis() * sign
+		);
+	}
+
+	/**
+	 * Checks if the Rubik's cube is solved. The cube counts as solved when all the cubies
+	 * are in place relative to the face centers, so a solved cube that was turned as a whole is still solved.
+	 *
+	 * @return true if the cube is solved
+	 */
+	public boolean isSolved() {
+		return state.isSolved();
+	}
+
+	/**
+	 * Resets the Rubik's cube to the solved state.
+	 */
+	public void reset() {
+		state = CubieState.SOLVED;
+		frame = CubeOrientation.IDENTITY;
+	}
+
+	/**
+	 * @return The corners and edges relative to the face centers
+	 */
+	public CubieState getState() {
+		return state;
+	}
+
+	/**
+	 * @return The orientation of the face centers in the world (an index in CubeOrientation)
+	 */
+	public int getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Replaces the whole state of the cube.
+	 *
+	 * @param state The corners and edges relative to the face centers
+	 * @param frame The orientation of the face centers in the world
+	 */
+	public void setState(CubieState state, int frame) {
+		this.state = state;
+		this.frame = frame;
+	}
+
+	/**
+	 * Gets the orientation of a cubie in the world.
+	 *
+	 * @param cubie The index of the cubie
+	 * @return The orientation of the cubie (an index in CubeOrientation)
+	 */
+	public int getCubieOrientation(int cubie) {
+		int rotationInFrame = CubeOrientation.IDENTITY;
+		if(CORNER_OF_CUBIE[cubie] >= 0) {
+			for(int slot = 0; slot < CubieGeometry.CORNERS_COUNT; slot++) {
+				if(state.getCornerPermutation(slot) == CORNER_OF_CUBIE[cubie]) {
+					rotationInFrame = state.getCornerRotation(slot);
+				}
+			}
+		}
+		else if(EDGE_OF_CUBIE[cubie] >= 0) {
+			for(int slot = 0; slot < CubieGeometry.EDGES_COUNT; slot++) {
+				if(state.getEdgePermutation(slot) == EDGE_OF_CUBIE[cubie]) {
+					rotationInFrame = state.getEdgeRotation(slot);
+				}
+			}
+		}
+		return CubeOrientation.compose(rotationInFrame, frame);
+	}
+
+	/**
+	 * Gets the layer a cubie currently sits in.
+	 *
+	 * @param cubie The index of the cubie
+	 * @param axis The axis of the layer
+	 * @return The layer (-1, 0 or 1)
+	 */
+	public int getLayerOfCubie(int cubie, Axis axis) {
+		return CubeOrientation.rotate(getCubieOrientation(cubie), axis, getHomeX(cubie), getHomeY(cubie), getHomeZ(cubie));
+	}
+
+	/**
+	 * @param cubie The index of the cubie
+	 * @return The x layer of the cubie in a solved cube
+	 */
+	public static int getHomeX(int cubie) {
+		return cubie / 9 - 1;
+	}
+
+	/**
+	 * @param cubie The index of the cubie
+	 * @return The y layer of the cubie in a solved cube
+	 */
+	public static int getHomeY(int cubie) {
+		return cubie % 3 - 1;
+	}
+
+	/**
+	 * @param cubie The index of the cubie
+	 * @return The z layer of the cubie in a solved cube
+	 */
+	public static int getHomeZ(int cubie) {
+		return cubie / 3 % 3 - 1;
+	}
+
+	/**
+	 * Finds the slot that is at the home position of a cubie.
+	 *
+	 * @param slots The facelets of all slots of one kind
+	 * @param cubie The index of the cubie
+	 * @return The slot, or -1 if the cubie is not of this kind
+	 */
+	private static int findSlotAtHome(Face[][] slots, int cubie) {
+		for(int slot = 0; slot < slots.length; slot++) {
+			if(
+				CubieGeometry.getSlotPosition(slots[slot], Axis.X) == getHomeX(cubie) &&
+				CubieGeometry.getSlotPosition(slots[slot], Axis.Y) == getHomeY(cubie) &&
+				CubieGeometry.getSlotPosition(slots[slot], Axis.Z) == getHomeZ(cubie)
+			) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.math.geometry.Axis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The 24 orientations a single cubie can have inside the Rubik's cube.
+ * Every orientation is an integer rotation matrix (all entries are -1, 0 or 1),
+ * so composing and applying orientations never involves floating-point math.
+ * Orientations are referred to by their index, where index 0 is the identity.
+ */
+public final class CubeOrientation {
+
+	/**
+	 * The amount of different orientations.
+	 */
+	public static final int COUNT = 24;
+
+	/**
+	 * The index of the identity orientation.
+	 */
+	public static final int IDENTITY = 0;
+
+	// All rotation matrices, indexed by orientation
+	private static final int[][][] MATRICES = new int[COUNT][][];
+	// MULTIPLY[a][b] is the orientation of applying b first and then a
+	private static final byte[][] MULTIPLY = new byte[COUNT][COUNT];
+	// INVERSE[a] is the orientation that undoes a
+	private static final byte[] INVERSE = new byte[COUNT];
+	// QUARTER_TURNS[axis][k] is the orientation of turning k quarter turns (right-hand rule) around the axis
+	private static final byte[][] QUARTER_TURNS = new byte[3][4];
+
+	static {
+		// Generate the group as the closure of the identity under the three basic quarter turns
+		int[][][] generators = {quarterTurnMatrix(Axis.X), quarterTurnMatrix(Axis.Y), quarterTurnMatrix(Axis.Z)};
+		List<int[][]> found = new ArrayList<>();
+		found.add(new int[][] {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}});
+		for(int i = 0; i < found.size(); i++) {
+			for(int[][] generator : generators) {
+				int[][] next = multiplyMatrices(generator, found.get(i));
+				if(indexOf(found, next) < 0) {
+					found.add(next);
+				}
+			}
+		}
+		for(int i = 0; i < COUNT; i++) {
+			MATRICES[i] = found.get(i);
+		}
+		for(int a = 0; a < COUNT; a++) {
+			for(int b = 0; b < COUNT; b++) {
+				MULTIPLY[a][b] = (byte) indexOf(found, multiplyMatrices(MATRICES[a], MATRICES[b]));
+				if(MULTIPLY[a][b] == IDENTITY) {
+					INVERSE[a] = (byte) b;
+				}
+			}
+		}
+		for(Axis axis : Axis.values()) {
+			int quarterTurn = indexOf(found, generators[axis.ordinal()]);
+			QUARTER_TURNS[axis.ordinal()][0] = IDENTITY;
+			for(int k = 1; k < 4; k++) {
+				QUARTER_TURNS[axis.ordinal()][k] = MULTIPLY[quarterTurn][QUARTER_TURNS[axis.ordinal()][k - 1]];
+			}
+		}
+	}
+
+	/**
+	 * Utility class, not meant to be constructed.
+	 */
+	private CubeOrientation() {
+	}
+
+	/**
+	 * Composes two orientations.
+	 *
+	 * @param first The orientation that is applied first
+	 * @param then The orientation that is applied after it
+	 * @return The combined orientation
+	 */
+	public static int compose(int first, int then) {
+		return MULTIPLY[then][first];
+	}
+
+	/**
+	 * @param orientation An orientation
+	 * @return The orientation that undoes the given one
+	 */
+	public static int inverse(int orientation) {
+		return INVERSE[orientation];
+	}
+
+	/**
+	 * Gets the orientation of turning around an axis by whole quarter turns.
+	 * A positive amount follows the right-hand rule, just like Quaternion.fromAxisAngle.
+	 *
+	 * @param axis The axis to turn around
+	 * @param quarterTurns The amount of quarter turns (may be negative)
+	 * @return The resulting orientation
+	 */
+	public static int quarterTurn(Axis axis, int quarterTurns) {
+		return QUARTER_TURNS[axis.ordinal()][quarterTurns & 3];
+	}
+
+	/**
+	 * Rotates a single coordinate of an integer vector.
+	 *
+	 * @param orientation The orientation to rotate by
+	 * @param axis The coordinate of the result that is needed
+	 * @param x The x value of the vector
+	 * @param y The y value of the vector
+	 * @param z The z value of the vector
+	 * @return The requested coordinate of the rotated vector
+	 */
+	public static int rotate(int orientation, Axis axis, int x, int y, int z) {
+		int[] row = MATRICES[orientation][axis.ordinal()];
+		return row[0] * x + row[1] * y + row[2] * z;
+	}
+
+	/**
+	 * Gets a single entry of the rotation matrix of an orientation.
+	 *
+	 * @param orientation The orientation
+	 * @param row The row of the entry
+	 * @param column The column of the entry
+	 * @return The entry (-1, 0 or 1)
+	 */
+	public static int matrixEntry(int orientation, int row, int column) {
+		return MATRICES[orientation][row][column];
+	}
+
+	/**
+	 * Builds the matrix of a single quarter turn around an axis (right-hand rule).
+	 *
+	 * @param axis The axis to turn around
+	 * @return The rotation matrix
+	 */
+	private static int[][] quarterTurnMatrix(Axis axis) {
+		switch (axis) {
+			case X: return new int[][] {{1, 0, 0}, {0, 0, -1}, {0, 1, 0}};
+			case Y: return new int[][] {{0, 0, 1}, {0, 1, 0}, {-1, 0, 0}};
+			default: return new int[][] {{0, -1, 0}, {1, 0, 0}, {0, 0, 1}};
+		}
+	}
+
+	/**
+	 * Multiplies two 3x3 matrices.
+	 *
+	 * @param a The left matrix
+	 * @param b The right matrix
+	 * @return a * b
+	 */
+	private static int[][] multiplyMatrices(int[][] a, int[][] b) {
+		int[][] result = new int[3][3];
+		for(int i = 0; i < 3; i++) {
+			for(int j = 0; j < 3; j++) {
+				for(int k = 0; k < 3; k++) {
+					result[i][j] += a[i][k] * b[k][j];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Searches for a matrix in a list of matrices.
+	 *
+	 * @param matrices The list to search in
+	 * @param matrix The matrix to search for
+	 * @return The index of the matrix, or -1 if it is not in the list
+	 */
+	private static int indexOf(List<int[][]> matrices, int[][] matrix) {
+		for(int i = 0; i < matrices.size(); i++) {
+			boolean isEqual = true;
+			for(int row = 0; row < 3 && isEqual; row++) {
+				for(int column = 0; column < 3 && isEqual; column++) {
+					isEqual = matrices.get(i)[row][column] == matrix[row][column];
+				}
+			}
+			if(isEqual) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
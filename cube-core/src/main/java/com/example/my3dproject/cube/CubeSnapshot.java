@@ -0,0 +1,185 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.cube.solver.Coordinates;
+
+/**
+ * A fixed-size snapshot of a Rubik's cube for saving, so restoring a saved game does not depend on how many
+ * turns were made in it.
+ * <p>
+ * The bytes of a snapshot are: a version byte, the frame (one byte), the corners (4 bytes - the rank of the
+ * corner permutation times 3^7 plus the twists of the first 7 corners) and the edges (5 bytes - the rank of the
+ * edge permutation times 2^11 plus the flips of the first 11 edges), 11 bytes in all. The orientation of the last
+ * corner and the last edge follow from the others. All numbers are big-endian.
+ */
+public final class CubeSnapshot {
+
+	// The version of the format written by toBytes
+	private static final byte VERSION = 1;
+	// The length of a snapshot
+	private static final int LENGTH = 11;
+	// 3^7, the amount of corner twist values
+	private static final int TWISTS_COUNT = 2187;
+	// 2^11, the amount of edge flip values
+	private static final int FLIPS_COUNT = 2048;
+	// 8!, the amount of corner permutations
+	private static final int CORNER_PERMUTATIONS_COUNT = 40320;
+	// 12!, the amount of edge permutations
+	private static final int EDGE_PERMUTATIONS_COUNT = 479001600;
+
+	// The corners and edges relative to the face centers
+	private final CubieState state;
+	// The orientation of the face centers in the world (an index in CubeOrientation)
+	private final int frame;
+
+	/**
+	 * Creates a snapshot.
+	 *
+	 * @param state The corners and edges relative to the face centers
+	 * @param frame The orientation of the face centers in the world
+	 */
+	public CubeSnapshot(CubieState state, int frame) {
+		this.state = state;
+		this.frame = frame;
+	}
+
+	/**
+	 * Creates a snapshot of a cube.
+	 *
+	 * @param cubeModel The cube
+	 */
+	public CubeSnapshot(CubeModel cubeModel) {
+		this(cubeModel.getState(), cubeModel.getFrame());
+	}
+
+	/**
+	 * @return The corners and edges relative to the face centers
+	 */
+	public CubieState getState() {
+		return state;
+	}
+
+	/**
+	 * @return The orientation of the face centers in the world (an index in CubeOrientation)
+	 */
+	public int getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Puts the state of the snapshot into a cube.
+	 *
+	 * @param cubeModel The cube to change
+	 */
+	public void restoreInto(CubeModel cubeModel) {
+		cubeModel.setState(state, frame);
+	}
+
+	/**
+	 * Encodes the snapshot in the format described in the class comment.
+	 *
+	 * @return The bytes of the snapshot
+	 */
+	public byte[] toBytes() {
+		int[] corners = new int[CubieGeometry.CORNERS_COUNT];
+		int twist = 0;
+		for(int slot = 0; slot < CubieGeometry.CORNERS_COUNT; slot++) {
+			corners[slot] = state.getCornerPermutation(slot);
+			if(slot < CubieGeometry.CORNERS_COUNT - 1) {
+				twist = twist * 3 + state.getCornerOrientation(slot);
+			}
+		}
+		int[] edges = new int[CubieGeometry.EDGES_COUNT];
+		int flip = 0;
+		for(int slot = 0; slot < CubieGeometry.EDGES_COUNT; slot++) {
+			edges[slot] = state.getEdgePermutation(slot);
+			if(slot < CubieGeometry.EDGES_COUNT - 1) {
+				flip = flip * 2 + state.getEdgeOrientation(slot);
+			}
+		}
+		long cornersValue = (long) Permutations.encode(corners) * TWISTS_COUNT + twist;
+		long edgesValue = (long) Permutations.encode(edges) * FLIPS_COUNT + flip;
+
+		byte[] bytes = new byte[LENGTH];
+		bytes[0] = VERSION;
+		bytes[1] = (byte) frame;
+		writeBigEndian(bytes, 2, 4, cornersValue);
+		writeBigEndian(bytes, 6, 5, edgesValue);
+		return bytes;
+	}
+
+	/**
+	 * Decodes a snapshot that was encoded by toBytes.
+	 * Only snapshots of states that can be reached by turning the cube are accepted, so a corrupted snapshot
+	 * is never restored as a cube that cannot be solved.
+	 *
+	 * @param bytes The bytes of the snapshot
+	 * @return The snapshot
+	 * @throws IllegalArgumentException If the bytes are not a snapshot of a known version, or not of a legal cube
+	 */
+	public static CubeSnapshot fromBytes(byte[] bytes) {
+		if(bytes.length != LENGTH || bytes[0] != VERSION) {
+			throw new IllegalArgumentException("Not a cube snapshot of version " + VERSION);
+		}
+		int frame = bytes[1] & 0xFF;
+		long cornersValue = readBigEndian(bytes, 2, 4);
+		long edgesValue = readBigEndian(bytes, 6, 5);
+		if(
+			frame >= CubeOrientation.COUNT ||
+			cornersValue >= (long) CORNER_PERMUTATIONS_COUNT * TWISTS_COUNT ||
+			edgesValue >= (long) EDGE_PERMUTATIONS_COUNT * FLIPS_COUNT
+		) {
+			throw new IllegalArgumentException("Corrupted cube snapshot");
+		}
+
+		int[] cornerPermutation = Permutations.decode((int) (cornersValue / TWISTS_COUNT), CubieGeometry.CORNERS_COUNT);
+		int[] cornerOrientation = new int[CubieGeometry.CORNERS_COUNT];
+		int twist = (int) (cornersValue % TWISTS_COUNT);
+		int twistSum = 0;
+		for(int slot = CubieGeometry.CORNERS_COUNT - 2; slot >= 0; slot--) {
+			cornerOrientation[slot] = twist % 3;
+			twistSum += twist % 3;
+			twist /= 3;
+		}
+		cornerOrientation[CubieGeometry.CORNERS_COUNT - 1] = (3 - twistSum % 3) % 3;
+
+		int[] edgePermutation = Permutations.decode((int) (edgesValue / FLIPS_COUNT), CubieGeometry.EDGES_COUNT);
+		int[] edgeOrientation = new int[CubieGeometry.EDGES_COUNT];
+		int flip = (int) (edgesValue % FLIPS_COUNT);
+		int flipSum = 0;
+		for(int slot = CubieGeometry.EDGES_COUNT - 2; slot >= 0; slot--) {
+			edgeOrientation[slot] = flip & 1;
+			flipSum += flip & 1;
+			flip >>>= 1;
+		}
+		edgeOrientation[CubieGeometry.EDGES_COUNT - 1] = flipSum & 1;
+
+		// The parts are each in range, but together they may still be a cube with a single swapped pair
+		CubieState state = CubieState.fromArrays(cornerPermutation, cornerOrientation, edgePermutation, edgeOrientation);
+		if(!Coordinates.isSolvable(state)) {
+			throw new IllegalArgumentException("Corrupted cube snapshot");
+		}
+		return new CubeSnapshot(state, frame);
+	}
+
+	/**
+	 * Writes the lowest bytes of a number, the most significant byte first.
+	 */
+	private static void writeBigEndian(byte[] bytes, int offset, int length, long value) {
+		for(int i = length - 1; i >= 0; i--) {
+			bytes[offset + i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
+	/**
+	 * Reads a number that was written by writeBigEndian.
+	 */
+	private static long readBigEndian(byte[] bytes, int offset, int length) {
+		long value = 0;
+		for(int i = 0; i < length; i++) {
+			value = value << 8 | (bytes[offset + i] & 0xFF);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,207 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.math.geometry.Axis;
+
+/**
+ * The geometry behind the cubie representation of the Rubik's cube: where each corner and edge slot is,
+ * which facelets it has, and how the face turns and cubie orientations follow from that.
+ * All tables are derived from the geometry once, so the cubie representation always agrees with the
+ * way the renderer turns the layers.
+ * <p>
+ * Corner slots (in order): URF, UFL, ULB, UBR, DFR, DLF, DBL, DRB.
+ * Edge slots (in order): UR, UF, UL, UB, DR, DF, DL, DB, FR, FL, BL, BR.
+ * The first facelet of every slot is its reference facelet (U/D, or F/B for the middle layer edges),
+ * and the orientation of a cubie is the index of the slot facelet its own reference facelet sits on.
+ */
+final class CubieGeometry {
+
+	/**
+	 * The amount of corners.
+	 */
+	static final int CORNERS_COUNT = 8;
+
+	/**
+	 * The amount of edges.
+	 */
+	static final int EDGES_COUNT = 12;
+
+	// The facelets of each corner slot, ordered clockwise when looking at the corner
+	static final Face[][] CORNER_FACELETS = {
+		{Face.U, Face.R, Face.F}, {Face.U, Face.F, Face.L}, {Face.U, Face.L, Face.B}, {Face.U, Face.B, Face.R},
+		{Face.D, Face.F, Face.R}, {Face.D, Face.L, Face.F}, {Face.D, Face.B, Face.L}, {Face.D, Face.R, Face.B}
+	};
+
+	// The facelets of each edge slot
+	static final Face[][] EDGE_FACELETS = {
+		{Face.U, Face.R}, {Face.U, Face.F}, {Face.U, Face.L}, {Face.U, Face.B},
+		{Face.D, Face.R}, {Face.D, Face.F}, {Face.D, Face.L}, {Face.D, Face.B},
+		{Face.F, Face.R}, {Face.F, Face.L}, {Face.B, Face.L}, {Face.B, Face.R}
+	};
+
+	// [face][slot] - the slot whose cubie moves into the given slot on a clockwise quarter turn of the face
+	static final byte[][] FACE_TURN_CORNER_SOURCE = new byte[6][CORNERS_COUNT];
+	// [face][slot] - the twist added to the cubie that moves into the given slot
+	static final byte[][] FACE_TURN_CORNER_TWIST = new byte[6][CORNERS_COUNT];
+	// [face][slot] - the slot whose cubie moves into the given slot on a clockwise quarter turn of the face
+	static final byte[][] FACE_TURN_EDGE_SOURCE = new byte[6][EDGES_COUNT];
+	// [face][slot] - the flip added to the cubie that moves into the given slot
+	static final byte[][] FACE_TURN_EDGE_FLIP = new byte[6][EDGES_COUNT];
+
+	// [cubie][slot][orientation] - the orientation (in CubeOrientation) of a corner that sits in a slot
+	static final byte[][][] CORNER_ROTATIONS = new byte[CORNERS_COUNT][CORNERS_COUNT][3];
+	// [cubie][slot][orientation] - the orientation (in CubeOrientation) of an edge that sits in a slot
+	static final byte[][][] EDGE_ROTATIONS = new byte[EDGES_COUNT][EDGES_COUNT][2];
+
+	static {
+		for(Face face : Face.values()) {
+			int turn = getClockwiseTurn(face);
+			fillFaceTurn(face, turn, CORNER_FACELETS, FACE_TURN_CORNER_SOURCE[face.ordinal()], FACE_TURN_CORNER_TWIST[face.ordinal()]);
+			fillFaceTurn(face, turn, EDGE_FACELETS, FACE_TURN_EDGE_SOURCE[face.ordinal()], FACE_TURN_EDGE_FLIP[face.ordinal()]);
+		}
+		fillRotations(CORNER_FACELETS, CORNER_ROTATIONS);
+		fillRotations(EDGE_FACELETS, EDGE_ROTATIONS);
+	}
+
+	/**
+	 * Utility class, not meant to be constructed.
+	 */
+	private CubieGeometry() {
+	}
+
+	/**
+	 * Gets the orientation of a clockwise quarter turn of a face (clockwise when looking at the face).
+	 *
+	 * @param face The face
+	 * @return The orientation (in CubeOrientation) of the turn
+	 */
+	static int getClockwiseTurn(Face face) {
+		return CubeOrientation.quarterTurn(face.getAxis(), -face.getSign());
+	}
+
+	/**
+	 * Gets the position of a slot in layers, as the sum of the directions of its facelets.
+	 *
+	 * @param facelets The facelets of the slot
+	 * @param axis The requested coordinate
+	 * @return The coordinate of the slot on the axis (-1, 0 or 1)
+	 */
+	static int getSlotPosition(Face[] facelets, Axis axis) {
+		int position = 0;
+		for(Face facelet : facelets) {
+			if(facelet.getAxis() == axis) {
+				position += facelet.getSign();
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Rotates the direction of a face.
+	 *
+	 * @param orientation The orientation to rotate by (in CubeOrientation)
+	 * @param face The face whose direction is rotated
+	 * @return The face the direction points to after the rotation
+	 */
+	static Face rotateFace(int orientation, Face face) {
+		int x = face.getAxis() == Axis.X ? face.getSign() : 0;
+		int y = face.getAxis() == Axis.Y ? face.getSign() : 0;
+		int z = face.getAxis() == Axis.Z ? face.getSign() : 0;
+		for(Axis axis : Axis.values()) {
+			int value = CubeOrientation.rotate(orientation, axis, x, y, z);
+			if(value != 0) {
+				return Face.of(axis, value);
+			}
+		}
+		throw new IllegalStateException("A rotation can not remove a direction");
+	}
+
+	/**
+	 * Finds the slot whose facelets are exactly the given set of faces.
+	 *
+	 * @param slots The facelets of all slots
+	 * @param facelets The faces to look for (in any order)
+	 * @return The index of the slot
+	 */
+	private static int findSlot(Face[][] slots, Face[] facelets) {
+		for(int slot = 0; slot < slots.length; slot++) {
+			boolean isMatching = true;
+			for(Face facelet : facelets) {
+				isMatching &= indexOf(slots[slot], facelet) >= 0;
+			}
+			if(isMatching) {
+				return slot;
+			}
+		}
+		throw new IllegalStateException("No slot has the requested facelets");
+	}
+
+	/**
+	 * @param facelets The facelets of a slot
+	 * @param face A face
+	 * @return The index of the face in the facelets, or -1 if the slot has no such facelet
+	 */
+	private static int indexOf(Face[] facelets, Face face) {
+		for(int i = 0; i < facelets.length; i++) {
+			if(facelets[i] == face) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Rotates all facelets of a slot.
+	 *
+	 * @param orientation The orientation to rotate by
+	 * @param facelets The facelets to rotate
+	 * @return The rotated facelets
+	 */
+	private static Face[] rotateFacelets(int orientation, Face[] facelets) {
+		Face[] rotated = new Face[facelets.length];
+		for(int i = 0; i < facelets.length; i++) {
+			rotated[i] = rotateFace(orientation, facelets[i]);
+		}
+		return rotated;
+	}
+
+	/**
+	 * Fills the tables of a clockwise quarter turn of a face for one kind of cubies.
+	 *
+	 * @param face The turned face
+	 * @param turn The orientation of the turn
+	 * @param slots The facelets of all slots of this kind
+	 * @param sources The table of source slots to fill
+	 * @param orientationChanges The table of orientation changes to fill
+	 */
+	private static void fillFaceTurn(Face face, int turn, Face[][] slots, byte[] sources, byte[] orientationChanges) {
+		for(int slot = 0; slot < slots.length; slot++) {
+			sources[slot] = (byte) slot;
+		}
+		for(int slot = 0; slot < slots.length; slot++) {
+			if(indexOf(slots[slot], face) < 0) {
+				continue;
+			}
+			Face[] rotated = rotateFacelets(turn, slots[slot]);
+			int target = findSlot(slots, rotated);
+			sources[target] = (byte) slot;
+			orientationChanges[target] = (byte) indexOf(slots[target], rotated[0]);
+		}
+	}
+
+	/**
+	 * Fills the orientations of every cubie in every slot for one kind of cubies.
+	 *
+	 * @param slots The facelets of all slots of this kind
+	 * @param rotations The table to fill ([cubie][slot][orientation])
+	 */
+	private static void fillRotations(Face[][] slots, byte[][][] rotations) {
+		for(int orientation = 0; orientation < CubeOrientation.COUNT; orientation++) {
+			for(int cubie = 0; cubie < slots.length; cubie++) {
+				Face[] rotated = rotateFacelets(orientation, slots[cubie]);
+				int slot = findSlot(slots, rotated);
+				rotations[cubie][slot][indexOf(slots[slot], rotated[0])] = (byte) orientation;
+			}
+		}
+	}
+
+}
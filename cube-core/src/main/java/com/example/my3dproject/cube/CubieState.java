@@ -0,0 +1,202 @@
+package com.example.my3dproject.cube;
+
+/**
+ * An immutable, compact representation of the Rubik's cube on the cubie level.
+ * The state holds, for each corner and edge slot, which cubie sits there and how it is oriented.
+ * The face centers are considered fixed, so the state is the position of the cubies relative to them.
+ * <p>
+ * Everything is packed into two longs: 5 bits per corner slot (3 bits of cubie, 2 bits of twist)
+ * and 5 bits per edge slot (4 bits of cubie, 1 bit of flip). That makes the solved check,
+ * equality and hashing single operations on the two longs.
+ */
+public final class CubieState {
+
+	// Bits used for every slot
+	private static final int BITS_PER_SLOT = 5;
+	// Shift of the orientation bits inside a corner slot
+	private static final int CORNER_ORIENTATION_SHIFT = 3;
+	// Shift of the orientation bits inside an edge slot
+	private static final int EDGE_ORIENTATION_SHIFT = 4;
+
+	/**
+	 * The solved Rubik's cube.
+	 */
+	public static final CubieState SOLVED = new CubieState(solvedPacked(CubieGeometry.CORNERS_COUNT), solvedPacked(CubieGeometry.EDGES_COUNT));
+
+	// The packed corner slots
+	private final long corners;
+	// The packed edge slots
+	private final long edges;
+
+	/**
+	 * Creates a state out of its packed corners and edges.
+	 *
+	 * @param corners The packed corner slots
+	 * @param edges The packed edge slots
+	 */
+	public CubieState(long corners, long edges) {
+		this.corners = corners;
+		this.edges = edges;
+	}
+
+	/**
+	 * Creates a state out of the cubie arrays.
+	 *
+	 * @param cornerPermutation The corner in each corner slot
+	 * @param cornerOrientation The twist (0 - 2) of each corner slot
+	 * @param edgePermutation The edge in each edge slot
+	 * @param edgeOrientation The flip (0 - 1) of each edge slot
+	 * @return The new state
+	 */
+	public static CubieState fromArrays(int[] cornerPermutation, int[] cornerOrientation, int[] edgePermutation, int[] edgeOrientation) {
+		long corners = 0;
+		for(int slot = 0; slot < CubieGeometry.CORNERS_COUNT; slot++) {
+			corners |= (long) (cornerPermutation[slot] | cornerOrientation[slot] << CORNER_ORIENTATION_SHIFT) << (slot * BITS_PER_SLOT);
+		}
+		long edges = 0;
+		for(int slot = 0; slot < CubieGeometry.EDGES_COUNT; slot++) {
+			edges |= (long) (edgePermutation[slot] | edgeOrientation[slot] << EDGE_ORIENTATION_SHIFT) << (slot * BITS_PER_SLOT);
+		}
+		return new CubieState(corners, edges);
+	}
+
+	/**
+	 * @return The packed corner slots
+	 */
+	public long getCorners() {
+		return corners;
+	}
+
+	/**
+	 * @return The packed edge slots
+	 */
+	public long getEdges() {
+		return edges;
+	}
+
+	/**
+	 * @param slot A corner slot
+	 * @return The corner that sits in the slot
+	 */
+	public int getCornerPermutation(int slot) {
+		return (int) (corners >>> (slot * BITS_PER_SLOT)) & 7;
+	}
+
+	/**
+	 * @param slot A corner slot
+	 * @return The twist (0 - 2) of the corner in the slot
+	 */
+	public int getCornerOrientation(int slot) {
+		return (int) (corners >>> (slot * BITS_PER_SLOT + CORNER_ORIENTATION_SHIFT)) & 3;
+	}
+
+	/**
+	 * @param slot An edge slot
+	 * @return The edge that sits in the slot
+	 */
+	public int getEdgePermutation(int slot) {
+		return (int) (edges >>> (slot * BITS_PER_SLOT)) & 15;
+	}
+
+	/**
+	 * @param slot An edge slot
+	 * @return The flip (0 - 1) of the edge in the slot
+	 */
+	public int getEdgeOrientation(int slot) {
+		return (int) (edges >>> (slot * BITS_PER_SLOT + EDGE_ORIENTATION_SHIFT)) & 1;
+	}
+
+	/**
+	 * @return true if the cube is solved
+	 */
+	public boolean isSolved() {
+		return corners == SOLVED.corners && edges == SOLVED.edges;
+	}
+
+	/**
+	 * Applies a move to the cube. Slice moves are applied relative to the face centers,
+	 * meaning only the corners and edges they move are changed.
+	 *
+	 * @param move The move to apply
+	 * @return The state after the move
+	 */
+	public CubieState apply(Move move) {
+		return new CubieState(MoveTables.applyToCorners(corners, move.ordinal()), MoveTables.applyToEdges(edges, move.ordinal()));
+	}
+
+	/**
+	 * Applies a sequence of moves to the cube.
+	 *
+	 * @param moves The moves to apply, in order
+	 * @return The state after all the moves
+	 */
+	public CubieState apply(Iterable<Move> moves) {
+		long newCorners = corners;
+		long newEdges = edges;
+		for(Move move : moves) {
+			newCorners = MoveTables.applyToCorners(newCorners, move.ordinal());
+			newEdges = MoveTables.applyToEdges(newEdges, move.ordinal());
+		}
+		return new CubieState(newCorners, newEdges);
+	}
+
+	/**
+	 * Turns a face of the cube.
+	 *
+	 * @param face The face to turn
+	 * @param quarterTurns The amount of clockwise quarter turns (may be negative)
+	 * @return The state after the turn
+	 */
+	public CubieState applyFaceTurn(Face face, int quarterTurns) {
+		if((quarterTurns & 3) == 0) {
+			return this;
+		}
+		return apply(Move.ofFace(face, quarterTurns));
+	}
+
+	/**
+	 * Gets the orientation (in CubeOrientation) of the corner in a slot, relative to the face centers.
+	 *
+	 * @param slot The corner slot
+	 * @return The orientation of the corner
+	 */
+	public int getCornerRotation(int slot) {
+		return CubieGeometry.CORNER_ROTATIONS[getCornerPermutation(slot)][slot][getCornerOrientation(slot)];
+	}
+
+	/**
+	 * Gets the orientation (in CubeOrientation) of the edge in a slot, relative to the face centers.
+	 *
+	 * @param slot The edge slot
+	 * @return The orientation of the edge
+	 */
+	public int getEdgeRotation(int slot) {
+		return CubieGeometry.EDGE_ROTATIONS[getEdgePermutation(slot)][slot][getEdgeOrientation(slot)];
+	}
+
+	/**
+	 * @param slotsCount The amount of slots
+	 * @return The packed slots where each cubie is in its own slot, not twisted
+	 */
+	private static long solvedPacked(int slotsCount) {
+		long packed = 0;
+		for(int slot = 0; slot < slotsCount; slot++) {
+			packed |= (long) slot << (slot * BITS_PER_SLOT);
+		}
+		return packed;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if(!(other instanceof CubieState)) {
+			return false;
+		}
+		return corners == ((CubieState) other).corners && edges == ((CubieState) other).edges;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(corners * 31 + edges);
+	}
+
+}
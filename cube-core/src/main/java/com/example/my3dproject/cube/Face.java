@@ -0,0 +1,76 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.math.geometry.Axis;
+
+/**
+ * An enum representing the 6 faces of the Rubik's cube, in the cube's own coordinate system.
+ * The faces follow the right-handed system of the renderer: R is +X, U is +Y and F is +Z.
+ */
+public enum Face {
+
+	U(Axis.Y, 1),
+
+	R(Axis.X, 1),
+
+	F(Axis.Z, 1),
+
+	D(Axis.Y, -1),
+
+	L(Axis.X, -1),
+
+	B(Axis.Z, -1);
+
+	// The axis the face is on
+	private final Axis axis;
+	// The side of the face on the axis (1 or -1)
+	private final int sign;
+
+	/**
+	 * Creates a new Face with the specified axis and side.
+	 *
+	 * @param axis The axis the face is on
+	 * @param sign The side of the face on the axis (1 or -1)
+	 */
+	Face(Axis axis, int sign) {
+		this.axis = axis;
+		this.sign = sign;
+	}
+
+	/**
+	 * @return The axis the face is on
+	 */
+	public Axis getAxis() {
+		return axis;
+	}
+
+	/**
+	 * @return The side of the face on its axis (1 or -1)
+	 */
+	public int getSign() {
+		return sign;
+	}
+
+	/**
+	 * @return The face on the other side of the cube
+	 */
+	public Face getOpposite() {
+		return values()[(ordinal() + 3) % 6];
+	}
+
+	/**
+	 * Finds the face that is on a given side of an axis.
+	 *
+	 * @param axis The axis
+	 * @param sign The side on the axis (1 or -1)
+	 * @return The face
+	 */
+	public static Face of(Axis axis, int sign) {
+		for(Face face : values()) {
+			if(face.axis == axis && face.sign == sign) {
+				return face;
+			}
+		}
+		throw new IllegalArgumentException("No face on side " + sign + " of axis " + axis);
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.math.geometry.Axis;
+
+/**
+ * An enum representing the moves of the Rubik's cube in standard notation.
+ * The first 18 moves are the face turns, ordered by face (U, R, F, D, L, B) and then by power
+ * (clockwise, half turn, counter-clockwise), so a face turn's ordinal is face * 3 + power - 1.
+ * After them come the middle layer (slice) moves: M follows L, E follows D and S follows F.
+ */
+public enum Move {
+
+	U(Face.U, 1), U2(Face.U, 2), U_PRIME(Face.U, 3),
+	R(Face.R, 1), R2(Face.R, 2), R_PRIME(Face.R, 3),
+	F(Face.F, 1), F2(Face.F, 2), F_PRIME(Face.F, 3),
+	D(Face.D, 1), D2(Face.D, 2), D_PRIME(Face.D, 3),
+	L(Face.L, 1), L2(Face.L, 2), L_PRIME(Face.L, 3),
+	B(Face.B, 1), B2(Face.B, 2), B_PRIME(Face.B, 3),
+
+	M(Face.L, 1, true), M2(Face.L, 2, true), M_PRIME(Face.L, 3, true),
+	E(Face.D, 1, true), E2(Face.D, 2, true), E_PRIME(Face.D, 3, true),
+	S(Face.F, 1, true), S2(Face.F, 2, true), S_PRIME(Face.F, 3, true);
+
+	/**
+	 * The amount of face turns (the moves that keep the face centers in place).
+	 */
+	public static final int FACE_TURNS_COUNT = 18;
+
+	// All moves, cached to avoid copying the array of values()
+	private static final Move[] VALUES = values();
+
+	// The face the move turns, or for a slice move the face it follows
+	private final Face face;
+	// The amount of clockwise quarter turns (1 - 3)
+	private final int power;
+	// Whether the move turns the middle layer instead of the face
+	private final boolean isSlice;
+
+	/**
+	 * Creates a face turn.
+	 *
+	 * @param face The turned face
+	 * @param power The amount of clockwise quarter turns (1 - 3)
+	 */
+	Move(Face face, int power) {
+		this(face, power, false);
+	}
+
+	/**
+	 * Creates a move.
+	 *
+	 * @param face The turned face, or for a slice move the face it follows
+	 * @param power The amount of clockwise quarter turns (1 - 3)
+	 * @param isSlice Whether the move turns the middle layer instead of the face
+	 */
+	Move(Face face, int power, boolean isSlice) {
+		this.face = face;
+		this.power = power;
+		this.isSlice = isSlice;
+	}
+
+	/**
+	 * @return The face the move turns, or for a slice move the face it follows
+	 */
+	public Face getFace() {
+		return face;
+	}
+
+	/**
+	 * @return The amount of clockwise quarter turns (1 - 3)
+	 */
+	public int getPower() {
+		return power;
+	}
+
+	/**
+	 * @return true for the middle layer moves (M, E, S)
+	 */
+	public boolean isSlice() {
+		return isSlice;
+	}
+
+	/**
+	 * @return The axis the move turns around
+	 */
+	public Axis getAxis() {
+		return face.getAxis();
+	}
+
+	/**
+	 * @return The turned layer on the axis (-1, 0 or 1)
+	 */
+	public int getLayer() {
+		return isSlice ? 0 : face.getSign();
+	}
+
+	/**
+	 * Gets the amount of quarter turns around the positive direction of the axis (right-hand rule),
+	 * which is how the renderer measures the angle of a turn.
+	 *
+	 * @return The amount of quarter turns (-1, 1 or 2)
+	 */
+	public int getQuarterTurnsAroundAxis() {
+		int quarterTurns = -face.getSign() * power;
+		return ((quarterTurns % 4) + 4 + 1) % 4 - 1;
+	}
+
+	/**
+	 * @return The move that undoes this move
+	 */
+	public Move getInverse() {
+		return VALUES[ordinal() - (power - 1) + (3 - power)];
+	}
+
+	/**
+	 * @return The move in standard notation, for example "R", "U2" or "F'"
+	 */
+	public String getNotation() {
+		String name = isSlice ? (face == Face.L ? "M" : face == Face.D ? "E" : "S") : face.name();
+		return name + (power == 2 ? "2" : power == 3 ? "'" : "");
+	}
+
+	/**
+	 * Finds a move by its ordinal without copying the values array.
+	 *
+	 * @param ordinal The ordinal of the move
+	 * @return The move
+	 */
+	public static Move valueOf(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * Finds the face turn of a face with a given amount of clockwise quarter turns.
+	 *
+	 * @param face The face
+	 * @param clockwiseQuarterTurns The amount of clockwise quarter turns (may be negative, must not be a multiple of 4)
+	 * @return The move
+	 */
+	public static Move ofFace(Face face, int clockwiseQuarterTurns) {
+		return VALUES[face.ordinal() * 3 + (clockwiseQuarterTurns & 3) - 1];
+	}
+
+	/**
+	 * Finds the move that turns a layer around an axis, as the renderer describes turns.
+	 *
+	 * @param axis The axis to turn around
+	 * @param layer The layer on the axis (-1, 0 or 1)
+	 * @param quarterTurns The amount of quarter turns, positive follows the right-hand rule (must not be a multiple of 4)
+	 * @return The move
+	 */
+	public static Move fromLayerTurn(Axis axis, int layer, int quarterTurns) {
+		if(layer != 0) {
+			return ofFace(Face.of(axis, layer), -layer * quarterTurns);
+		}
+		// Slice moves follow the face on their side, but S follows F which is on the positive side of its axis
+		Face followedFace = axis == Axis.Z ? Face.F : Face.of(axis, -1);
+		int power = (-followedFace.getSign() * quarterTurns) & 3;
+		return VALUES[FACE_TURNS_COUNT + (axis == Axis.X ? 0 : axis == Axis.Y ? 3 : 6) + power - 1];
+	}
+
+	/**
+	 * Parses a move in standard notation ("R", "U2", "F'", "M'" and so on).
+	 *
+	 * @param notation The move in standard notation
+	 * @return The move
+	 */
+	public static Move parse(String notation) {
+		for(Move move : VALUES) {
+			if(move.getNotation().equals(notation)) {
+				return move;
+			}
+		}
+		throw new IllegalArgumentException("Unknown move: " + notation);
+	}
+
+}
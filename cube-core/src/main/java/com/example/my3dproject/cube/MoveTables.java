@@ -0,0 +1,192 @@
+package com.example.my3dproject.cube;
+
+/**
+ * Precomputed transition tables for every Move on the packed slots of a CubieState.
+ * For each move and each slot that the move changes, the tables hold the slot the cubie comes from
+ * and, for every possible 5 bit value of that slot, the new value already shifted into place.
+ * Applying a move is then a handful of shifts, masks and array reads, without any object allocation.
+ */
+public final class MoveTables {
+
+	// Bits used for every slot
+	private static final int BITS_PER_SLOT = 5;
+	// Amount of different values a slot can hold
+	private static final int SLOT_VALUES = 1 << BITS_PER_SLOT;
+	// Amount of moves
+	private static final int MOVES_COUNT = Move.values().length;
+
+	// [move] - the bits of the corner slots the move does not change
+	private static final long[] CORNER_KEEP_MASKS = new long[MOVES_COUNT];
+	// [move] - the corner slots the move changes
+	private static final byte[][] CORNER_CHANGED_SLOTS = new byte[MOVES_COUNT][];
+	// [move][changed slot index] - the shift of the source slot
+	private static final byte[][] CORNER_SOURCE_SHIFTS = new byte[MOVES_COUNT][];
+	// [move][changed slot index * 32 + old value] - the new value, shifted into the changed slot
+	private static final long[][] CORNER_VALUES = new long[MOVES_COUNT][];
+
+	// [move] - the bits of the edge slots the move does not change
+	private static final long[] EDGE_KEEP_MASKS = new long[MOVES_COUNT];
+	// [move] - the edge slots the move changes
+	private static final byte[][] EDGE_CHANGED_SLOTS = new byte[MOVES_COUNT][];
+	// [move][changed slot index] - the shift of the source slot
+	private static final byte[][] EDGE_SOURCE_SHIFTS = new byte[MOVES_COUNT][];
+	// [move][changed slot index * 32 + old value] - the new value, shifted into the changed slot
+	private static final long[][] EDGE_VALUES = new long[MOVES_COUNT][];
+
+	static {
+		for(Move move : Move.values()) {
+			// Work out the combined permutation of the move by turning the faces it is made of, one quarter at a time
+			int[] cornerSources = identity(CubieGeometry.CORNERS_COUNT);
+			int[] cornerTwists = new int[CubieGeometry.CORNERS_COUNT];
+			int[] edgeSources = identity(CubieGeometry.EDGES_COUNT);
+			int[] edgeFlips = new int[CubieGeometry.EDGES_COUNT];
+			if(move.isSlice()) {
+				// A slice move keeps the centers of the cube fixed by turning the two faces next to it the other way
+				Face followed = move.getFace();
+				for(int i = 0; i < 4 - move.getPower(); i++) {
+					compose(cornerSources, cornerTwists, 3, CubieGeometry.FACE_TURN_CORNER_SOURCE[followed.ordinal()], CubieGeometry.FACE_TURN_CORNER_TWIST[followed.ordinal()]);
+					compose(edgeSources, edgeFlips, 2, CubieGeometry.FACE_TURN_EDGE_SOURCE[followed.ordinal()], CubieGeometry.FACE_TURN_EDGE_FLIP[followed.ordinal()]);
+				}
+				Face opposite = followed.getOpposite();
+				for(int i = 0; i < move.getPower(); i++) {
+					compose(cornerSources, cornerTwists, 3, CubieGeometry.FACE_TURN_CORNER_SOURCE[opposite.ordinal()], CubieGeometry.FACE_TURN_CORNER_TWIST[opposite.ordinal()]);
+					compose(edgeSources, edgeFlips, 2, CubieGeometry.FACE_TURN_EDGE_SOURCE[opposite.ordinal()], CubieGeometry.FACE_TURN_EDGE_FLIP[opposite.ordinal()]);
+				}
+			}
+			else {
+				Face face = move.getFace();
+				for(int i = 0; i < move.getPower(); i++) {
+					compose(cornerSources, cornerTwists, 3, CubieGeometry.FACE_TURN_CORNER_SOURCE[face.ordinal()], CubieGeometry.FACE_TURN_CORNER_TWIST[face.ordinal()]);
+					compose(edgeSources, edgeFlips, 2, CubieGeometry.FACE_TURN_EDGE_SOURCE[face.ordinal()], CubieGeometry.FACE_TURN_EDGE_FLIP[face.ordinal()]);
+				}
+			}
+			fillTables(move.ordinal(), cornerSources, cornerTwists, 3, 3, CORNER_KEEP_MASKS, CORNER_CHANGED_SLOTS, CORNER_SOURCE_SHIFTS, CORNER_VALUES);
+			fillTables(move.ordinal(), edgeSources, edgeFlips, 2, 4, EDGE_KEEP_MASKS, EDGE_CHANGED_SLOTS, EDGE_SOURCE_SHIFTS, EDGE_VALUES);
+		}
+	}
+
+	/**
+	 * Utility class, not meant to be constructed.
+	 */
+	private MoveTables() {
+	}
+
+	/**
+	 * Applies a move to packed corner slots.
+	 *
+	 * @param corners The packed corner slots (as in CubieState.getCorners)
+	 * @param move The ordinal of the move
+	 * @return The packed corner slots after the move
+	 */
+	public static long applyToCorners(long corners, int move) {
+		return apply(corners, CORNER_KEEP_MASKS[move], CORNER_SOURCE_SHIFTS[move], CORNER_VALUES[move]);
+	}
+
+	/**
+	 * Applies a move to packed edge slots.
+	 *
+	 * @param edges The packed edge slots (as in CubieState.getEdges)
+	 * @param move The ordinal of the move
+	 * @return The packed edge slots after the move
+	 */
+	public static long applyToEdges(long edges, int move) {
+		return apply(edges, EDGE_KEEP_MASKS[move], EDGE_SOURCE_SHIFTS[move], EDGE_VALUES[move]);
+	}
+
+	/**
+	 * Applies a move to packed slots of one kind.
+	 *
+	 * @param packed The packed slots
+	 * @param keepMask The bits the move does not change
+	 * @param sourceShifts The shift of the source of each changed slot
+	 * @param values The new values of the changed slots, by changed slot and old value
+	 * @return The packed slots after the move
+	 */
+	private static long apply(long packed, long keepMask, byte[] sourceShifts, long[] values) {
+		long result = packed & keepMask;
+		for(int i = 0; i < sourceShifts.length; i++) {
+			result |= values[(i << BITS_PER_SLOT) | (int) (packed >>> sourceShifts[i]) & (SLOT_VALUES - 1)];
+		}
+		return result;
+	}
+
+	/**
+	 * @param size The size of the permutation
+	 * @return The identity permutation
+	 */
+	private static int[] identity(int size) {
+		int[] permutation = new int[size];
+		for(int i = 0; i < size; i++) {
+			permutation[i] = i;
+		}
+		return permutation;
+	}
+
+	/**
+	 * Appends a quarter face turn to a permutation with orientations.
+	 *
+	 * @param sources The slot each slot receives its cubie from, updated in place
+	 * @param orientations The orientation added to each slot, updated in place
+	 * @param orientationsCount The amount of different orientations
+	 * @param turnSources The source slots of the appended turn
+	 * @param turnOrientations The orientations added by the appended turn
+	 */
+	private static void compose(int[] sources, int[] orientations, int orientationsCount, byte[] turnSources, byte[] turnOrientations) {
+		int[] oldSources = sources.clone();
+		int[] oldOrientations = orientations.clone();
+		for(int slot = 0; slot < sources.length; slot++) {
+			sources[slot] = oldSources[turnSources[slot]];
+			orientations[slot] = (oldOrientations[turnSources[slot]] + turnOrientations[slot]) % orientationsCount;
+		}
+	}
+
+	/**
+	 * Fills the tables of a move for one kind of cubies.
+	 *
+	 * @param move The ordinal of the move
+	 * @param sources The slot each slot receives its cubie from
+	 * @param orientations The orientation added to each slot
+	 * @param orientationsCount The amount of different orientations
+	 * @param orientationShift The shift of the orientation bits inside a slot
+	 * @param keepMasks The keep masks table to fill
+	 * @param changedSlots The changed slots table to fill
+	 * @param sourceShifts The source shifts table to fill
+	 * @param values The values table to fill
+	 */
+	private static void fillTables(
+		int move, int[] sources, int[] orientations, int orientationsCount, int orientationShift,
+		long[] keepMasks, byte[][] changedSlots, byte[][] sourceShifts, long[][] values
+	) {
+		int changedCount = 0;
+		for(int slot = 0; slot < sources.length; slot++) {
+			if(sources[slot] != slot || orientations[slot] != 0) {
+				changedCount++;
+			}
+		}
+		changedSlots[move] = new byte[changedCount];
+		sourceShifts[move] = new byte[changedCount];
+		values[move] = new long[changedCount * SLOT_VALUES];
+		long keepMask = -1L;
+		int index = 0;
+		for(int slot = 0; slot < sources.length; slot++) {
+			if(sources[slot] == slot && orientations[slot] == 0) {
+				continue;
+			}
+			keepMask &= ~(((long) SLOT_VALUES - 1) << (slot * BITS_PER_SLOT));
+			changedSlots[move][index] = (byte) slot;
+			sourceShifts[move][index] = (byte) (sources[slot] * BITS_PER_SLOT);
+			for(int value = 0; value < SLOT_VALUES; value++) {
+				int cubie = value & ((1 << orientationShift) - 1);
+				int orientation = value >>> orientationShift;
+				if(orientation >= orientationsCount) {
+					continue;
+				}
+				int newValue = cubie | ((orientation + orientations[slot]) % orientationsCount) << orientationShift;
+				values[move][(index << BITS_PER_SLOT) | value] = (long) newValue << (slot * BITS_PER_SLOT);
+			}
+			index++;
+		}
+		keepMasks[move] = keepMask;
+	}
+
+}
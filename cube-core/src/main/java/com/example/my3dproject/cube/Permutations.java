@@ -0,0 +1,63 @@
+package com.example.my3dproject.cube;
+
+/**
+ * Ranking of permutations, shared by the coordinates of the solver and by the saved cube snapshots.
+ */
+public final class Permutations {
+
+	/**
+	 * The class only has static methods.
+	 */
+	private Permutations() {
+	}
+
+	/**
+	 * Ranks a permutation (Lehmer code), so the identity is 0.
+	 *
+	 * @param permutation The permutation of 0 to n - 1
+	 * @return The rank of the permutation (0 to n! - 1)
+	 */
+	public static int encode(int[] permutation) {
+		int rank = 0;
+		for(int i = 0; i < permutation.length; i++) {
+			int smallerAfter = 0;
+			for(int j = i + 1; j < permutation.length; j++) {
+				if(permutation[j] < permutation[i]) {
+					smallerAfter++;
+				}
+			}
+			rank = rank * (permutation.length - i) + smallerAfter;
+		}
+		return rank;
+	}
+
+	/**
+	 * The inverse of encode.
+	 *
+	 * @param rank The rank of the permutation
+	 * @param size The size of the permutation
+	 * @return The permutation of 0 to size - 1
+	 */
+	public static int[] decode(int rank, int size) {
+		int[] smallerAfter = new int[size];
+		for(int i = size - 1; i >= 0; i--) {
+			smallerAfter[i] = rank % (size - i);
+			rank /= size - i;
+		}
+		int[] permutation = new int[size];
+		int unused = (1 << size) - 1;
+		for(int i = 0; i < size; i++) {
+			// Take the unused value that has exactly smallerAfter[i] unused values below it
+			int value = 0;
+			for(int skipped = -1; ; value++) {
+				if((unused & (1 << value)) != 0 && ++skipped == smallerAfter[i]) {
+					break;
+				}
+			}
+			permutation[i] = value;
+			unused &= ~(1 << value);
+		}
+		return permutation;
+	}
+
+}
@@ -0,0 +1,310 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Permutations;
+
+/**
+ * The coordinates of the two-phase algorithm - small integers that each describe one part of a CubieState.
+ * Phase 1 uses the twist of the corners, the flip of the edges and the positions of the middle layer (slice)
+ * edges. Phase 2 uses the permutation of the corners, of the U and D layer edges and of the slice edges.
+ * All coordinates are 0 for the solved cube.
+ * <p>
+ * Every coordinate also has a method that builds a state with the given coordinate, which is how the move
+ * tables are generated.
+ */
+public final class Coordinates {
+
+	/**
+	 * The amount of corner twists (3^7, the last twist follows from the others).
+	 */
+	static final int TWISTS_COUNT = 2187;
+
+	/**
+	 * The amount of edge flips (2^11, the last flip follows from the others).
+	 */
+	static final int FLIPS_COUNT = 2048;
+
+	/**
+	 * The amount of ways to place the 4 slice edges in the 12 edge slots (12 choose 4).
+	 */
+	static final int SLICES_COUNT = 495;
+
+	/**
+	 * The amount of corner permutations (8!).
+	 */
+	static final int CORNER_PERMUTATIONS_COUNT = 40320;
+
+	/**
+	 * The amount of permutations of the 8 U and D layer edges (8!).
+	 */
+	static final int UD_EDGE_PERMUTATIONS_COUNT = 40320;
+
+	/**
+	 * The amount of permutations of the 4 slice edges (4!).
+	 */
+	static final int SLICE_PERMUTATIONS_COUNT = 24;
+
+	// The amount of corners
+	private static final int CORNERS_COUNT = 8;
+	// The amount of edges
+	private static final int EDGES_COUNT = 12;
+	// The first of the slice edges (FR), the edges after it are FL, BL and BR
+	private static final int FIRST_SLICE_EDGE = 8;
+	// The amount of slice edges
+	private static final int SLICE_EDGES_COUNT = 4;
+
+	/**
+	 * Utility class, not meant to be constructed.
+	 */
+	private Coordinates() {
+	}
+
+	/**
+	 * @param state The state
+	 * @return The twist coordinate (0 - 2186)
+	 */
+	static int getTwist(CubieState state) {
+		int twist = 0;
+		for(int slot = 0; slot < CORNERS_COUNT - 1; slot++) {
+			twist = twist * 3 + state.getCornerOrientation(slot);
+		}
+		return twist;
+	}
+
+	/**
+	 * @param state The state
+	 * @return The flip coordinate (0 - 2047)
+	 */
+	static int getFlip(CubieState state) {
+		int flip = 0;
+		for(int slot = 0; slot < EDGES_COUNT - 1; slot++) {
+			flip = flip * 2 + state.getEdgeOrientation(slot);
+		}
+		return flip;
+	}
+
+	/**
+	 * Gets the slice coordinate - which 4 slots hold the slice edges, ignoring their order.
+	 * The slots are ranked in the combinatorial number system, starting from the last slot.
+	 *
+	 * @param state The state
+	 * @return The slice coordinate (0 - 494)
+	 */
+	static int getSlice(CubieState state) {
+		int slice = 0;
+		int found = 0;
+		for(int slot = EDGES_COUNT - 1; slot >= 0; slot--) {
+			if(state.getEdgePermutation(slot) >= FIRST_SLICE_EDGE) {
+				found++;
+				slice += binomial(EDGES_COUNT - 1 - slot, found);
+			}
+		}
+		return slice;
+	}
+
+	/**
+	 * @param state The state
+	 * @return The corner permutation coordinate (0 - 40319)
+	 */
+	static int getCornerPermutation(CubieState state) {
+		int[] permutation = new int[CORNERS_COUNT];
+		for(int slot = 0; slot < CORNERS_COUNT; slot++) {
+			permutation[slot] = state.getCornerPermutation(slot);
+		}
+		return Permutations.encode(permutation);
+	}
+
+	/**
+	 * Gets the permutation of the U and D layer edges. Only meaningful in phase 2,
+	 * where those edges are all in the U and D layers.
+	 *
+	 * @param state The state
+	 * @return The U and D edge permutation coordinate (0 - 40319)
+	 */
+	static int getUDEdgePermutation(CubieState state) {
+		int[] permutation = new int[FIRST_SLICE_EDGE];
+		for(int slot = 0; slot < FIRST_SLICE_EDGE; slot++) {
+			permutation[slot] = state.getEdgePermutation(slot);
+		}
+		return Permutations.encode(permutation);
+	}
+
+	/**
+	 * Gets the permutation of the slice edges. Only meaningful in phase 2,
+	 * where those edges are all in the slice.
+	 *
+	 * @param state The state
+	 * @return The slice permutation coordinate (0 - 23)
+	 */
+	static int getSlicePermutation(CubieState state) {
+		int[] permutation = new int[SLICE_EDGES_COUNT];
+		for(int i = 0; i < SLICE_EDGES_COUNT; i++) {
+			permutation[i] = state.getEdgePermutation(FIRST_SLICE_EDGE + i) - FIRST_SLICE_EDGE;
+		}
+		return Permutations.encode(permutation);
+	}
+
+	/**
+	 * @param twist The twist coordinate
+	 * @return A state with the given twist and every cubie in its own slot
+	 */
+	static CubieState fromTwist(int twist) {
+		int[] orientations = new int[CORNERS_COUNT];
+		int sum = 0;
+		for(int slot = CORNERS_COUNT - 2; slot >= 0; slot--) {
+			orientations[slot] = twist % 3;
+			sum += orientations[slot];
+			twist /= 3;
+		}
+		orientations[CORNERS_COUNT - 1] = (3 - sum % 3) % 3;
+		return CubieState.fromArrays(identity(CORNERS_COUNT), orientations, identity(EDGES_COUNT), new int[EDGES_COUNT]);
+	}
+
+	/**
+	 * @param flip The flip coordinate
+	 * @return A state with the given flip and every cubie in its own slot
+	 */
+	static CubieState fromFlip(int flip) {
+		int[] orientations = new int[EDGES_COUNT];
+		int sum = 0;
+		for(int slot = EDGES_COUNT - 2; slot >= 0; slot--) {
+			orientations[slot] = flip % 2;
+			sum += orientations[slot];
+			flip /= 2;
+		}
+		orientations[EDGES_COUNT - 1] = sum % 2;
+		return CubieState.fromArrays(identity(CORNERS_COUNT), new int[CORNERS_COUNT], identity(EDGES_COUNT), orientations);
+	}
+
+	/**
+	 * @param slice The slice coordinate
+	 * @return A state with the slice edges in the given slots and the other edges in order around them
+	 */
+	static CubieState fromSlice(int slice) {
+		int[] edges = new int[EDGES_COUNT];
+		int sliceEdgesLeft = SLICE_EDGES_COUNT;
+		int nextSliceEdge = FIRST_SLICE_EDGE;
+		int nextOtherEdge = 0;
+		for(int slot = 0; slot < EDGES_COUNT; slot++) {
+			int rank = binomial(EDGES_COUNT - 1 - slot, sliceEdgesLeft);
+			if(sliceEdgesLeft > 0 && slice >= rank) {
+				edges[slot] = nextSliceEdge++;
+				slice -= rank;
+				sliceEdgesLeft--;
+			}
+			else {
+				edges[slot] = nextOtherEdge++;
+			}
+		}
+		return CubieState.fromArrays(identity(CORNERS_COUNT), new int[CORNERS_COUNT], edges, new int[EDGES_COUNT]);
+	}
+
+	/**
+	 * @param cornerPermutation The corner permutation coordinate
+	 * @return A state with the given corner permutation and the edges in place
+	 */
+	static CubieState fromCornerPermutation(int cornerPermutation) {
+		return CubieState.fromArrays(Permutations.decode(cornerPermutation, CORNERS_COUNT), new int[CORNERS_COUNT], identity(EDGES_COUNT), new int[EDGES_COUNT]);
+	}
+
+	/**
+	 * @param udEdgePermutation The U and D edge permutation coordinate
+	 * @return A state with the given permutation of the U and D edges and everything else in place
+	 */
+	static CubieState fromUDEdgePermutation(int udEdgePermutation) {
+		int[] edges = identity(EDGES_COUNT);
+		System.arraycopy(Permutations.decode(udEdgePermutation, FIRST_SLICE_EDGE), 0, edges, 0, FIRST_SLICE_EDGE);
+		return CubieState.fromArrays(identity(CORNERS_COUNT), new int[CORNERS_COUNT], edges, new int[EDGES_COUNT]);
+	}
+
+	/**
+	 * @param slicePermutation The slice permutation coordinate
+	 * @return A state with the given permutation of the slice edges and everything else in place
+	 */
+	static CubieState fromSlicePermutation(int slicePermutation) {
+		int[] edges = identity(EDGES_COUNT);
+		int[] permutation = Permutations.decode(slicePermutation, SLICE_EDGES_COUNT);
+		for(int i = 0; i < SLICE_EDGES_COUNT; i++) {
+			edges[FIRST_SLICE_EDGE + i] = FIRST_SLICE_EDGE + permutation[i];
+		}
+		return CubieState.fromArrays(identity(CORNERS_COUNT), new int[CORNERS_COUNT], edges, new int[EDGES_COUNT]);
+	}
+
+	/**
+	 * Checks that a state can be reached from the solved cube by turning faces.
+	 * The only method of the class that is used outside of the solvers.
+	 *
+	 * @param state The state to check
+	 * @return true if the state is a legal state of the Rubik's cube
+	 */
+	public static boolean isSolvable(CubieState state) {
+		int[] corners = new int[CORNERS_COUNT];
+		int twistSum = 0;
+		int seenCorners = 0;
+		for(int slot = 0; slot < CORNERS_COUNT; slot++) {
+			corners[slot] = state.getCornerPermutation(slot);
+			seenCorners |= 1 << corners[slot];
+			twistSum += state.getCornerOrientation(slot);
+		}
+		int[] edges = new int[EDGES_COUNT];
+		int flipSum = 0;
+		int seenEdges = 0;
+		for(int slot = 0; slot < EDGES_COUNT; slot++) {
+			edges[slot] = state.getEdgePermutation(slot);
+			if(edges[slot] >= EDGES_COUNT) {
+				return false;
+			}
+			seenEdges |= 1 << edges[slot];
+			flipSum += state.getEdgeOrientation(slot);
+		}
+		return
+			seenCorners == (1 << CORNERS_COUNT) - 1 && seenEdges == (1 << EDGES_COUNT) - 1 &&
+			twistSum % 3 == 0 && flipSum % 2 == 0 &&
+			getParity(corners) == getParity(edges);
+	}
+
+	/**
+	 * @param permutation A permutation
+	 * @return The parity of the permutation (0 for even, 1 for odd)
+	 */
+	private static int getParity(int[] permutation) {
+		int parity = 0;
+		for(int i = 0; i < permutation.length; i++) {
+			for(int j = i + 1; j < permutation.length; j++) {
+				if(permutation[j] < permutation[i]) {
+					parity ^= 1;
+				}
+			}
+		}
+		return parity;
+	}
+
+	/**
+	 * @param size The size of the permutation
+	 * @return The identity permutation
+	 */
+	private static int[] identity(int size) {
+		int[] permutation = new int[size];
+		for(int i = 0; i < size; i++) {
+			permutation[i] = i;
+		}
+		return permutation;
+	}
+
+	/**
+	 * @param n The amount of items
+	 * @param k The amount of chosen items
+	 * @return n choose k, or 0 when k is larger than n
+	 */
+	private static int binomial(int n, int k) {
+		if(k > n) {
+			return 0;
+		}
+		int result = 1;
+		for(int i = 0; i < k; i++) {
+			result = result * (n - i) / (i + 1);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+import com.example.my3dproject.cube.MoveTables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An optimal solver for the Rubik's cube - it always finds a shortest solution (at most 20 face turns).
+ * The search is IDA* over the face turns, with the largest of three lower bounds as its heuristic:
+ * the corner pattern database, and the slice-twist and slice-flip tables of phase 1.
+ * <p>
+ * Every iteration of IDA* is split into subtrees at the first SPLIT_DEPTH moves, which run as tasks of a
+ * ForkJoinPool. All the tasks of an iteration share the found solution: once a task finds one, every
+ * other task sees it and stops, since no solution of the same length can be better.
+ * <p>
+ * Unlike the two-phase solver this may take seconds to minutes for a deeply scrambled cube, so it is meant
+ * for analysis rather than for the game.
+ */
+public class OptimalSolver {
+
+	// The depth the search tree is split at into tasks (18 * 15 = 270 subtrees at most)
+	private static final int SPLIT_DEPTH = 2;
+	// Iterations with fewer moves than this are not worth splitting
+	private static final int MIN_LENGTH_TO_SPLIT = 7;
+
+	// The packed edges of the solved cube
+	private static final long SOLVED_EDGES = CubieState.SOLVED.getEdges();
+
+	// The tables the search uses
+	private final OptimalSolverTables tables;
+	// The pool the subtrees run in
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a solver that runs in the common ForkJoinPool.
+	 *
+	 * @param tables The tables of the optimal solver
+	 */
+	public OptimalSolver(OptimalSolverTables tables) {
+		this(tables, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a solver.
+	 *
+	 * @param tables The tables of the optimal solver
+	 * @param pool The pool to run the search in
+	 */
+	public OptimalSolver(OptimalSolverTables tables, ForkJoinPool pool) {
+		this.tables = tables;
+		this.pool = pool;
+	}
+
+	/**
+	 * Finds a shortest solution of a cube.
+	 *
+	 * @param state The state to solve
+	 * @return The moves of a shortest solution, in the cube's own faces
+	 */
+	public List<Move> solve(CubieState state) {
+		if(!Coordinates.isSolvable(state)) {
+			throw new IllegalArgumentException("The state is not reachable from the solved cube");
+		}
+		Node root = new Node(
+			Coordinates.getCornerPermutation(state), Coordinates.getTwist(state), Coordinates.getFlip(state),
+			Coordinates.getSlice(state), state.getEdges()
+		);
+		for(int length = getDistance(root.cornerPermutation, root.twist, root.flip, root.slice); ; length++) {
+			AtomicReference<int[]> solution = new AtomicReference<>();
+			if(length < MIN_LENGTH_TO_SPLIT) {
+				new SubtreeTask(root, new int[length], 0, length, solution).compute();
+			}
+			else {
+				pool.invoke(new SubtreeTask(root, new int[length], 0, length, solution));
+			}
+			if(solution.get() != null) {
+				List<Move> moves = new ArrayList<>(length);
+				for(int move : solution.get()) {
+					moves.add(Move.valueOf(move));
+				}
+				return moves;
+			}
+		}
+	}
+
+	/**
+	 * @return A lower bound on the amount of moves needed to solve a node
+	 */
+	private int getDistance(int cornerPermutation, int twist, int flip, int slice) {
+		SolverTables phase1Tables = tables.phase1Tables;
+		return Math.max(
+			SolverTables.getDistance(tables.cornerPruning, cornerPermutation * Coordinates.TWISTS_COUNT + twist),
+			Math.max(
+				SolverTables.getDistance(phase1Tables.sliceTwistPruning, slice * Coordinates.TWISTS_COUNT + twist),
+				SolverTables.getDistance(phase1Tables.sliceFlipPruning, slice * Coordinates.FLIPS_COUNT + flip)
+			)
+		);
+	}
+
+	/**
+	 * A node of the search tree - the coordinates the heuristic needs, and the packed edges which
+	 * the coordinates do not fully describe.
+	 */
+	private static final class Node {
+
+		// The corner permutation coordinate
+		final int cornerPermutation;
+		// The twist coordinate
+		final int twist;
+		// The flip coordinate
+		final int flip;
+		// The slice coordinate
+		final int slice;
+		// The packed edges (as in CubieState.getEdges)
+		final long edges;
+
+		/**
+		 * Creates a node.
+		 */
+		Node(int cornerPermutation, int twist, int flip, int slice, long edges) {
+			this.cornerPermutation = cornerPermutation;
+			this.twist = twist;
+			this.flip = flip;
+			this.slice = slice;
+			this.edges = edges;
+		}
+
+	}
+
+	/**
+	 * A task that searches a subtree of one IDA* iteration. Above SPLIT_DEPTH it forks a task for every child,
+	 * below it searches the rest of the subtree by itself.
+	 */
+	private final class SubtreeTask extends RecursiveAction {
+
+		// RecursiveAction is Serializable, though the tasks are never serialized
+		private static final long serialVersionUID = 1L;
+
+		// The root of the subtree
+		private final Node node;
+		// The moves that lead to the root of the subtree (the array has the length of the iteration)
+		private final int[] moves;
+		// The amount of moves made to reach the root of the subtree
+		private final int depth;
+		// The length of the solutions searched in this iteration
+		private final int length;
+		// The solution, shared by all the tasks of the iteration
+		private final AtomicReference<int[]> solution;
+
+		/**
+		 * Creates a task.
+		 */
+		SubtreeTask(Node node, int[] moves, int depth, int length, AtomicReference<int[]> solution) {
+			this.node = node;
+			this.moves = moves;
+			this.depth = depth;
+			this.length = length;
+			this.solution = solution;
+		}
+
+		@Override
+		protected void compute() {
+			if(depth >= SPLIT_DEPTH || length < MIN_LENGTH_TO_SPLIT) {
+				search(node.cornerPermutation, node.twist, node.flip, node.slice, node.edges, depth);
+				return;
+			}
+			List<SubtreeTask> children = new ArrayList<>();
+			int lastMove = depth > 0 ? moves[depth - 1] : -1;
+			for(int move = 0; move < SolverTables.PHASE1_MOVES_COUNT; move++) {
+				if(TwoPhaseSolver.isRedundant(move, lastMove)) {
+					continue;
+				}
+				Node child = applyMove(node, move);
+				if(getDistance(child.cornerPermutation, child.twist, child.flip, child.slice) >= length - depth) {
+					continue;
+				}
+				int[] childMoves = moves.clone();
+				childMoves[depth] = move;
+				children.add(new SubtreeTask(child, childMoves, depth + 1, length, solution));
+			}
+			invokeAll(children);
+		}
+
+		/**
+		 * Searches the rest of the subtree depth first.
+		 *
+		 * @return true if the search should stop (a solution was found by this or any other task)
+		 */
+		private boolean search(int cornerPermutation, int twist, int flip, int slice, long edges, int depth) {
+			if(solution.get() != null) {
+				return true;
+			}
+			if(depth == length) {
+				// The heuristic is 0 here, so the corners, the orientations and the slice are solved
+				if(edges == SOLVED_EDGES) {
+					solution.compareAndSet(null, moves.clone());
+					return true;
+				}
+				return false;
+			}
+			SolverTables phase1Tables = tables.phase1Tables;
+			int lastMove = depth > 0 ? moves[depth - 1] : -1;
+			for(int move = 0; move < SolverTables.PHASE1_MOVES_COUNT; move++) {
+				if(TwoPhaseSolver.isRedundant(move, lastMove)) {
+					continue;
+				}
+				int newCornerPermutation = tables.cornerPermutationMoves[cornerPermutation * SolverTables.PHASE1_MOVES_COUNT + move];
+				int newTwist = phase1Tables.twistMoves[twist * SolverTables.PHASE1_MOVES_COUNT + move];
+				int newFlip = phase1Tables.flipMoves[flip * SolverTables.PHASE1_MOVES_COUNT + move];
+				int newSlice = phase1Tables.sliceMoves[slice * SolverTables.PHASE1_MOVES_COUNT + move];
+				if(getDistance(newCornerPermutation, newTwist, newFlip, newSlice) >= length - depth) {
+					continue;
+				}
+				moves[depth] = move;
+				if(search(newCornerPermutation, newTwist, newFlip, newSlice, MoveTables.applyToEdges(edges, move), depth + 1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @param node A node
+		 * @param move The ordinal of a face turn
+		 * @return The node after the move
+		 */
+		private Node applyMove(Node node, int move) {
+			SolverTables phase1Tables = tables.phase1Tables;
+			return new Node(
+				tables.cornerPermutationMoves[node.cornerPermutation * SolverTables.PHASE1_MOVES_COUNT + move],
+				phase1Tables.twistMoves[node.twist * SolverTables.PHASE1_MOVES_COUNT + move],
+				phase1Tables.flipMoves[node.flip * SolverTables.PHASE1_MOVES_COUNT + move],
+				phase1Tables.sliceMoves[node.slice * SolverTables.PHASE1_MOVES_COUNT + move],
+				MoveTables.applyToEdges(node.edges, move)
+			);
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * The tables of the optimal solver. On top of the phase 1 tables of the two-phase solver, the optimal solver
+ * uses a pattern database of all the corners - the exact distance to solved corners for every corner
+ * permutation and twist (88 million entries, 42 MB as 4 bit distances).
+ * <p>
+ * The corner database takes a while to build (tens of seconds), so like SolverTables it is built once,
+ * written to a TableFile and from then on memory mapped from it.
+ */
+public final class OptimalSolverTables {
+
+	// The length in bytes of every table, in the order they are stored in a file
+	private static final long[] TABLE_LENGTHS = {
+		Coordinates.CORNER_PERMUTATIONS_COUNT * SolverTables.PHASE1_MOVES_COUNT * 2L,
+		((long) Coordinates.CORNER_PERMUTATIONS_COUNT * Coordinates.TWISTS_COUNT + 1) / 2
+	};
+
+	// The phase 1 tables of the two-phase solver (twist, flip and slice)
+	final SolverTables phase1Tables;
+	// [corner permutation * 18 + move] - the corner permutation after any face turn
+	final char[] cornerPermutationMoves;
+	// Distances of corner permutation * TWISTS_COUNT + twist to solved corners
+	final ByteBuffer cornerPruning;
+
+	/**
+	 * Creates the tables out of already built or mapped tables.
+	 */
+	private OptimalSolverTables(SolverTables phase1Tables, char[] cornerPermutationMoves, ByteBuffer cornerPruning) {
+		this.phase1Tables = phase1Tables;
+		this.cornerPermutationMoves = cornerPermutationMoves;
+		this.cornerPruning = cornerPruning;
+	}
+
+	/**
+	 * Builds the tables.
+	 *
+	 * @param phase1Tables The tables of the two-phase solver, whose phase 1 tables are shared
+	 * @return The built tables
+	 */
+	public static OptimalSolverTables build(SolverTables phase1Tables) {
+		char[] cornerPermutationMoves = new char[Coordinates.CORNER_PERMUTATIONS_COUNT * SolverTables.PHASE1_MOVES_COUNT];
+		for(int permutation = 0; permutation < Coordinates.CORNER_PERMUTATIONS_COUNT; permutation++) {
+			CubieState state = Coordinates.fromCornerPermutation(permutation);
+			for(int move = 0; move < SolverTables.PHASE1_MOVES_COUNT; move++) {
+				cornerPermutationMoves[permutation * SolverTables.PHASE1_MOVES_COUNT + move] = (char) Coordinates.getCornerPermutation(state.apply(Move.valueOf(move)));
+			}
+		}
+		byte[] cornerPruning = SolverTables.buildPruningTable(
+			cornerPermutationMoves, Coordinates.CORNER_PERMUTATIONS_COUNT,
+			phase1Tables.twistMoves, Coordinates.TWISTS_COUNT,
+			SolverTables.PHASE1_MOVES_COUNT
+		);
+		return new OptimalSolverTables(phase1Tables, cornerPermutationMoves, ByteBuffer.wrap(cornerPruning));
+	}
+
+	/**
+	 * Maps the tables from a file that was written by writeTo.
+	 *
+	 * @param phase1Tables The tables of the two-phase solver, whose phase 1 tables are shared
+	 * @param file The file of the tables
+	 * @return The tables, or null if the file does not exist or was written by a different version
+	 * @throws IOException If the file could not be read
+	 */
+	public static OptimalSolverTables load(SolverTables phase1Tables, File file) throws IOException {
+		ByteBuffer[] sections = TableFile.map(file, TABLE_LENGTHS);
+		if(sections == null) {
+			return null;
+		}
+		return new OptimalSolverTables(phase1Tables, SolverTables.toChars(sections[0]), sections[1]);
+	}
+
+	/**
+	 * Maps the tables from a file, or builds them and writes them to the file if it does not hold them yet.
+	 *
+	 * @param phase1Tables The tables of the two-phase solver, whose phase 1 tables are shared
+	 * @param file The file of the tables
+	 * @param onFileError Called with the failure when the file could not be read or written. The failure is not
+	 * fatal: the tables are built instead of read, or are used without being saved
+	 * @return The tables
+	 */
+	public static OptimalSolverTables loadOrBuild(SolverTables phase1Tables, File file, Consumer<IOException> onFileError) {
+		try {
+			OptimalSolverTables tables = load(phase1Tables, file);
+			if(tables != null) {
+				return tables;
+			}
+		}
+		catch (IOException e) {
+			onFileError.accept(e);
+		}
+		OptimalSolverTables tables = build(phase1Tables);
+		try {
+			tables.writeTo(file);
+		}
+		catch (IOException e) {
+			// The tables can still be used, they would just be built again next time
+			onFileError.accept(e);
+		}
+		return tables;
+	}
+
+	/**
+	 * Writes the tables to a file, in the format load reads. The phase 1 tables are not included.
+	 *
+	 * @param file The file to write
+	 * @throws IOException If the file could not be written
+	 */
+	public void writeTo(File file) throws IOException {
+		TableFile.write(file, SolverTables.toBytes(cornerPermutationMoves), cornerPruning.duplicate());
+	}
+
+}
@@ -0,0 +1,333 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The move tables and pruning tables of the two-phase algorithm.
+ * The move tables give the coordinate after every move for every coordinate value, so the search never
+ * touches a CubieState. The pruning tables give, for a pair of coordinates, a lower bound on the amount
+ * of moves needed to finish the phase, stored as 4 bit distances (two per byte).
+ * <p>
+ * Building the tables takes a noticeable amount of time (about a second on a desktop, more on a phone),
+ * so they are built once, written to a TableFile and from then on memory mapped from it. The pruning tables,
+ * which make up most of the file, stay in the mapped buffers and are paged in as the search reads them; the move
+ * tables are small and read on every node, so they are copied into arrays. Nothing is changed after it is built,
+ * and buffers are only read with absolute reads, so the tables may be used from multiple threads.
+ */
+public final class SolverTables {
+
+	/**
+	 * The amount of moves in phase 1 (all 18 face turns).
+	 */
+	static final int PHASE1_MOVES_COUNT = Move.FACE_TURNS_COUNT;
+
+	/**
+	 * The moves of phase 2 - the moves that keep the cube in the subgroup <U, D, R2, L2, F2, B2>.
+	 */
+	static final Move[] PHASE2_MOVES = {
+		Move.U, Move.U2, Move.U_PRIME, Move.D, Move.D2, Move.D_PRIME, Move.R2, Move.L2, Move.F2, Move.B2
+	};
+
+	/**
+	 * The amount of moves in phase 2.
+	 */
+	static final int PHASE2_MOVES_COUNT = PHASE2_MOVES.length;
+
+	/**
+	 * The value of an empty entry in a pruning table while it is built.
+	 */
+	static final int EMPTY_DISTANCE = 15;
+
+	// The length in bytes of every table, in the order they are stored in a file
+	private static final long[] TABLE_LENGTHS = {
+		Coordinates.TWISTS_COUNT * PHASE1_MOVES_COUNT * 2L,
+		Coordinates.FLIPS_COUNT * PHASE1_MOVES_COUNT * 2L,
+		Coordinates.SLICES_COUNT * PHASE1_MOVES_COUNT * 2L,
+		Coordinates.CORNER_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT * 2L,
+		Coordinates.UD_EDGE_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT * 2L,
+		Coordinates.SLICE_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT * 2L,
+		(Coordinates.SLICES_COUNT * Coordinates.TWISTS_COUNT + 1) / 2,
+		(Coordinates.SLICES_COUNT * Coordinates.FLIPS_COUNT + 1) / 2,
+		(Coordinates.CORNER_PERMUTATIONS_COUNT * Coordinates.SLICE_PERMUTATIONS_COUNT + 1) / 2,
+		(Coordinates.UD_EDGE_PERMUTATIONS_COUNT * Coordinates.SLICE_PERMUTATIONS_COUNT + 1) / 2
+	};
+
+	// [twist * 18 + move] - the twist after a phase 1 move
+	final char[] twistMoves;
+	// [flip * 18 + move] - the flip after a phase 1 move
+	final char[] flipMoves;
+	// [slice * 18 + move] - the slice after a phase 1 move
+	final char[] sliceMoves;
+	// [corner permutation * 10 + phase 2 move] - the corner permutation after a phase 2 move
+	final char[] cornerPermutationMoves;
+	// [U and D edge permutation * 10 + phase 2 move] - the U and D edge permutation after a phase 2 move
+	final char[] udEdgePermutationMoves;
+	// [slice permutation * 10 + phase 2 move] - the slice permutation after a phase 2 move
+	final char[] slicePermutationMoves;
+
+	// Distances of slice * TWISTS_COUNT + twist to the end of phase 1
+	final ByteBuffer sliceTwistPruning;
+	// Distances of slice * FLIPS_COUNT + flip to the end of phase 1
+	final ByteBuffer sliceFlipPruning;
+	// Distances of corner permutation * SLICE_PERMUTATIONS_COUNT + slice permutation to the solved cube in phase 2
+	final ByteBuffer cornerSlicePruning;
+	// Distances of U and D edge permutation * SLICE_PERMUTATIONS_COUNT + slice permutation to the solved cube in phase 2
+	final ByteBuffer edgeSlicePruning;
+
+	/**
+	 * Creates the tables out of already built or mapped buffers.
+	 */
+	private SolverTables(
+		char[] twistMoves, char[] flipMoves, char[] sliceMoves,
+		char[] cornerPermutationMoves, char[] udEdgePermutationMoves, char[] slicePermutationMoves,
+		ByteBuffer sliceTwistPruning, ByteBuffer sliceFlipPruning, ByteBuffer cornerSlicePruning, ByteBuffer edgeSlicePruning
+	) {
+		this.twistMoves = twistMoves;
+		this.flipMoves = flipMoves;
+		this.sliceMoves = sliceMoves;
+		this.cornerPermutationMoves = cornerPermutationMoves;
+		this.udEdgePermutationMoves = udEdgePermutationMoves;
+		this.slicePermutationMoves = slicePermutationMoves;
+		this.sliceTwistPruning = sliceTwistPruning;
+		this.sliceFlipPruning = sliceFlipPruning;
+		this.cornerSlicePruning = cornerSlicePruning;
+		this.edgeSlicePruning = edgeSlicePruning;
+	}
+
+	/**
+	 * Builds all the tables.
+	 *
+	 * @return The built tables
+	 */
+	public static SolverTables build() {
+		char[] twistMoves = new char[Coordinates.TWISTS_COUNT * PHASE1_MOVES_COUNT];
+		for(int twist = 0; twist < Coordinates.TWISTS_COUNT; twist++) {
+			CubieState state = Coordinates.fromTwist(twist);
+			for(int move = 0; move < PHASE1_MOVES_COUNT; move++) {
+				twistMoves[twist * PHASE1_MOVES_COUNT + move] = (char) Coordinates.getTwist(state.apply(Move.valueOf(move)));
+			}
+		}
+		char[] flipMoves = new char[Coordinates.FLIPS_COUNT * PHASE1_MOVES_COUNT];
+		for(int flip = 0; flip < Coordinates.FLIPS_COUNT; flip++) {
+			CubieState state = Coordinates.fromFlip(flip);
+			for(int move = 0; move < PHASE1_MOVES_COUNT; move++) {
+				flipMoves[flip * PHASE1_MOVES_COUNT + move] = (char) Coordinates.getFlip(state.apply(Move.valueOf(move)));
+			}
+		}
+		char[] sliceMoves = new char[Coordinates.SLICES_COUNT * PHASE1_MOVES_COUNT];
+		for(int slice = 0; slice < Coordinates.SLICES_COUNT; slice++) {
+			CubieState state = Coordinates.fromSlice(slice);
+			for(int move = 0; move < PHASE1_MOVES_COUNT; move++) {
+				sliceMoves[slice * PHASE1_MOVES_COUNT + move] = (char) Coordinates.getSlice(state.apply(Move.valueOf(move)));
+			}
+		}
+		char[] cornerPermutationMoves = new char[Coordinates.CORNER_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT];
+		for(int permutation = 0; permutation < Coordinates.CORNER_PERMUTATIONS_COUNT; permutation++) {
+			CubieState state = Coordinates.fromCornerPermutation(permutation);
+			for(int move = 0; move < PHASE2_MOVES_COUNT; move++) {
+				cornerPermutationMoves[permutation * PHASE2_MOVES_COUNT + move] = (char) Coordinates.getCornerPermutation(state.apply(PHASE2_MOVES[move]));
+			}
+		}
+		char[] udEdgePermutationMoves = new char[Coordinates.UD_EDGE_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT];
+		for(int permutation = 0; permutation < Coordinates.UD_EDGE_PERMUTATIONS_COUNT; permutation++) {
+			CubieState state = Coordinates.fromUDEdgePermutation(permutation);
+			for(int move = 0; move < PHASE2_MOVES_COUNT; move++) {
+				udEdgePermutationMoves[permutation * PHASE2_MOVES_COUNT + move] = (char) Coordinates.getUDEdgePermutation(state.apply(PHASE2_MOVES[move]));
+			}
+		}
+		char[] slicePermutationMoves = new char[Coordinates.SLICE_PERMUTATIONS_COUNT * PHASE2_MOVES_COUNT];
+		for(int permutation = 0; permutation < Coordinates.SLICE_PERMUTATIONS_COUNT; permutation++) {
+			CubieState state = Coordinates.fromSlicePermutation(permutation);
+			for(int move = 0; move < PHASE2_MOVES_COUNT; move++) {
+				slicePermutationMoves[permutation * PHASE2_MOVES_COUNT + move] = (char) Coordinates.getSlicePermutation(state.apply(PHASE2_MOVES[move]));
+			}
+		}
+
+		return new SolverTables(
+			twistMoves, flipMoves, sliceMoves,
+			cornerPermutationMoves, udEdgePermutationMoves, slicePermutationMoves,
+			ByteBuffer.wrap(buildPruningTable(sliceMoves, Coordinates.SLICES_COUNT, twistMoves, Coordinates.TWISTS_COUNT, PHASE1_MOVES_COUNT)),
+			ByteBuffer.wrap(buildPruningTable(sliceMoves, Coordinates.SLICES_COUNT, flipMoves, Coordinates.FLIPS_COUNT, PHASE1_MOVES_COUNT)),
+			ByteBuffer.wrap(buildPruningTable(cornerPermutationMoves, Coordinates.CORNER_PERMUTATIONS_COUNT, slicePermutationMoves, Coordinates.SLICE_PERMUTATIONS_COUNT, PHASE2_MOVES_COUNT)),
+			ByteBuffer.wrap(buildPruningTable(udEdgePermutationMoves, Coordinates.UD_EDGE_PERMUTATIONS_COUNT, slicePermutationMoves, Coordinates.SLICE_PERMUTATIONS_COUNT, PHASE2_MOVES_COUNT))
+		);
+	}
+
+	/**
+	 * Maps the tables from a file that was written by writeTo.
+	 *
+	 * @param file The file of the tables
+	 * @return The tables, or null if the file does not exist or was written by a different version
+	 * @throws IOException If the file could not be read
+	 */
+	public static SolverTables load(File file) throws IOException {
+		ByteBuffer[] sections = TableFile.map(file, TABLE_LENGTHS);
+		if(sections == null) {
+			return null;
+		}
+		return new SolverTables(
+			toChars(sections[0]), toChars(sections[1]), toChars(sections[2]),
+			toChars(sections[3]), toChars(sections[4]), toChars(sections[5]),
+			sections[6], sections[7], sections[8], sections[9]
+		);
+	}
+
+	/**
+	 * Maps the tables from a file, or builds them and writes them to the file if it does not hold them yet.
+	 * Only the first call on a device pays for building the tables, every later one only maps the file.
+	 *
+	 * @param file The file of the tables
+	 * @param onFileError Called with the failure when the file could not be read or written. The failure is not
+	 * fatal: the tables are built instead of read, or are used without being saved
+	 * @return The tables
+	 */
+	public static SolverTables loadOrBuild(File file, Consumer<IOException> onFileError) {
+		try {
+			SolverTables tables = load(file);
+			if(tables != null) {
+				return tables;
+			}
+		}
+		catch (IOException e) {
+			onFileError.accept(e);
+		}
+		SolverTables tables = build();
+		try {
+			tables.writeTo(file);
+		}
+		catch (IOException e) {
+			// The tables can still be used, they would just be built again next time
+			onFileError.accept(e);
+		}
+		return tables;
+	}
+
+	/**
+	 * Writes the tables to a file, in the format load reads.
+	 *
+	 * @param file The file to write
+	 * @throws IOException If the file could not be written
+	 */
+	public void writeTo(File file) throws IOException {
+		TableFile.write(
+			file,
+			toBytes(twistMoves), toBytes(flipMoves), toBytes(sliceMoves),
+			toBytes(cornerPermutationMoves), toBytes(udEdgePermutationMoves), toBytes(slicePermutationMoves),
+			sliceTwistPruning.duplicate(), sliceFlipPruning.duplicate(), cornerSlicePruning.duplicate(), edgeSlicePruning.duplicate()
+		);
+	}
+
+	/**
+	 * @param table A move table
+	 * @return The content of the table as bytes, in the byte order of the table files
+	 */
+	static ByteBuffer toBytes(char[] table) {
+		ByteBuffer bytes = ByteBuffer.allocate(table.length * 2).order(TableFile.BYTE_ORDER);
+		bytes.asCharBuffer().put(table);
+		return bytes;
+	}
+
+	/**
+	 * @param section A mapped move table
+	 * @return The content of the table as chars
+	 */
+	static char[] toChars(ByteBuffer section) {
+		CharBuffer chars = section.asCharBuffer();
+		char[] table = new char[chars.remaining()];
+		chars.get(table);
+		return table;
+	}
+
+	/**
+	 * Reads a distance from a pruning table.
+	 *
+	 * @param table The pruning table
+	 * @param index The index of the entry
+	 * @return The distance (EMPTY_DISTANCE if the entry was not filled yet)
+	 */
+	static int getDistance(ByteBuffer table, int index) {
+		return (table.get(index >> 1) >> ((index & 1) << 2)) & 0xF;
+	}
+
+	/**
+	 * Reads a distance from a pruning table while it is built.
+	 *
+	 * @param table The pruning table
+	 * @param index The index of the entry
+	 * @return The distance (EMPTY_DISTANCE if the entry was not filled yet)
+	 */
+	private static int getDistance(byte[] table, int index) {
+		return (table[index >> 1] >> ((index & 1) << 2)) & 0xF;
+	}
+
+	/**
+	 * Writes a distance to a pruning table.
+	 *
+	 * @param table The pruning table
+	 * @param index The index of the entry
+	 * @param distance The distance (0 - 15)
+	 */
+	private static void setDistance(byte[] table, int index, int distance) {
+		int shift = (index & 1) << 2;
+		table[index >> 1] = (byte) ((table[index >> 1] & ~(0xF << shift)) | (distance << shift));
+	}
+
+	/**
+	 * Builds a pruning table of two coordinates by a breadth first search from the solved cube.
+	 * Once most of the table is filled, every level is found by checking the empty entries against the
+	 * previous level instead, which is much faster since the set of moves is closed under inverse.
+	 *
+	 * @param firstMoves The move table of the first coordinate
+	 * @param firstCount The amount of values of the first coordinate
+	 * @param secondMoves The move table of the second coordinate
+	 * @param secondCount The amount of values of the second coordinate
+	 * @param movesCount The amount of moves in the move tables
+	 * @return The pruning table, indexed by first * secondCount + second
+	 */
+	static byte[] buildPruningTable(char[] firstMoves, int firstCount, char[] secondMoves, int secondCount, int movesCount) {
+		int size = firstCount * secondCount;
+		byte[] table = new byte[(size + 1) / 2];
+		Arrays.fill(table, (byte) -1);
+		setDistance(table, 0, 0);
+		int filled = 1;
+		for(int depth = 0; filled < size; depth++) {
+			boolean isBackward = filled > size / 2;
+			int filledBefore = filled;
+			for(int index = 0; index < size; index++) {
+				int distance = getDistance(table, index);
+				if(isBackward ? distance != EMPTY_DISTANCE : distance != depth) {
+					continue;
+				}
+				int first = index / secondCount;
+				int second = index % secondCount;
+				for(int move = 0; move < movesCount; move++) {
+					int next = firstMoves[first * movesCount + move] * secondCount + secondMoves[second * movesCount + move];
+					if(isBackward) {
+						if(getDistance(table, next) == depth) {
+							setDistance(table, index, depth + 1);
+							filled++;
+							break;
+						}
+					}
+					else if(getDistance(table, next) == EMPTY_DISTANCE) {
+						setDistance(table, next, depth + 1);
+						filled++;
+					}
+				}
+			}
+			if(filled == filledBefore) {
+				break;
+			}
+		}
+		return table;
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.example.my3dproject.cube.solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A simple binary file of solver tables, meant to be memory mapped instead of read.
+ * The file starts with a header (magic number, format version, amount of sections and the length of every
+ * section), followed by the sections themselves, each aligned to 8 bytes. All values are little-endian.
+ * <p>
+ * Mapping the file costs almost nothing - the operating system only pages in the parts of the tables that
+ * a search actually reads, so loading stays fast no matter how large the tables are.
+ */
+final class TableFile {
+
+	// The first int of every table file ("CUBE")
+	private static final int MAGIC = 0x43554245;
+	// The version of the format, changed whenever the layout or the content of the tables changes
+	private static final int FORMAT_VERSION = 1;
+	// The alignment of every section in the file
+	private static final int ALIGNMENT = 8;
+	// The byte order of everything in the file
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * Utility class, not meant to be constructed.
+	 */
+	private TableFile() {
+	}
+
+	/**
+	 * Writes sections to a file. The file is first written under a temporary name and then renamed,
+	 * so a file that exists is always complete.
+	 *
+	 * @param file The file to write
+	 * @param sections The content of the sections (read from their position to their limit)
+	 * @throws IOException If the file could not be written
+	 */
+	static void write(File file, ByteBuffer... sections) throws IOException {
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(temporaryFile, "rw")) {
+			randomAccessFile.setLength(0);
+			FileChannel channel = randomAccessFile.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(getHeaderLength(sections.length)).order(BYTE_ORDER);
+			header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(sections.length);
+			for(ByteBuffer section : sections) {
+				header.putLong(section.remaining());
+			}
+			header.position(0);
+			writeFully(channel, header);
+			for(ByteBuffer section : sections) {
+				writeFully(channel, section.duplicate());
+				int padding = (int) (-channel.position() & (ALIGNMENT - 1));
+				writeFully(channel, ByteBuffer.allocate(padding));
+			}
+			channel.force(false);
+		}
+		if(!temporaryFile.renameTo(file)) {
+			// Some file systems do not replace an existing file on rename
+			if(!file.delete() || !temporaryFile.renameTo(file)) {
+				throw new IOException("Could not replace " + file);
+			}
+		}
+	}
+
+	/**
+	 * Maps the sections of a file, read only.
+	 *
+	 * @param file The file to map
+	 * @param expectedLengths The expected length in bytes of every section
+	 * @return The sections (little-endian), or null if the file does not exist or does not match the expected layout
+	 * @throws IOException If the file could not be read
+	 */
+	static ByteBuffer[] map(File file, long... expectedLengths) throws IOException {
+		if(!file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			FileChannel channel = randomAccessFile.getChannel();
+			long expectedFileLength = getHeaderLength(expectedLengths.length);
+			for(long length : expectedLengths) {
+				expectedFileLength += align(length);
+			}
+			if(channel.size() != expectedFileLength) {
+				return null;
+			}
+			// The mapping stays valid after the channel is closed
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			mapped.order(BYTE_ORDER);
+			if(mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION || mapped.getInt(8) != expectedLengths.length) {
+				return null;
+			}
+			ByteBuffer[] sections = new ByteBuffer[expectedLengths.length];
+			long offset = getHeaderLength(expectedLengths.length);
+			for(int i = 0; i < expectedLengths.length; i++) {
+				if(mapped.getLong(12 + i * 8) != expectedLengths[i]) {
+					return null;
+				}
+				ByteBuffer section = mapped.duplicate();
+				section.position((int) offset);
+				section.limit((int) (offset + expectedLengths[i]));
+				sections[i] = section.slice().order(BYTE_ORDER);
+				offset += align(expectedLengths[i]);
+			}
+			return sections;
+		}
+	}
+
+	/**
+	 * @param sectionsCount The amount of sections
+	 * @return The length of the header in bytes (aligned)
+	 */
+	private static int getHeaderLength(int sectionsCount) {
+		return (int) align(12 + sectionsCount * 8L);
+	}
+
+	/**
+	 * @param length A length in bytes
+	 * @return The length rounded up to the alignment of the sections
+	 */
+	private static long align(long length) {
+		return (length + ALIGNMENT - 1) & -ALIGNMENT;
+	}
+
+	/**
+	 * Writes a whole buffer to a channel.
+	 *
+	 * @param channel The channel to write to
+	 * @param buffer The buffer to write
+	 * @throws IOException If the writing failed
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+}
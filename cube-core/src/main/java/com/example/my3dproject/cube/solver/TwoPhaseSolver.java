@@ -0,0 +1,259 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kociemba's two-phase algorithm for solving the Rubik's cube.
+ * Phase 1 brings the cube into the subgroup <U, D, R2, L2, F2, B2> (all corners and edges oriented,
+ * slice edges in the slice), and phase 2 solves the cube using only moves of that subgroup.
+ * Both phases are iterative deepening searches over the coordinates, pruned by the tables of SolverTables.
+ * Phase 1 solutions are tried from the shortest up, and the first full solution that fits in the maximal
+ * length is returned, which is usually found within milliseconds.
+ * <p>
+ * The solver holds no state of its own between calls, so a single solver may be used from multiple threads.
+ */
+public class TwoPhaseSolver {
+
+	/**
+	 * The default maximal length of a solution.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 22;
+
+	// The face (as an ordinal of Face) of every face turn
+	private static final int[] FACE_OF_MOVE = new int[Move.FACE_TURNS_COUNT];
+
+	static {
+		for(int move = 0; move < Move.FACE_TURNS_COUNT; move++) {
+			FACE_OF_MOVE[move] = Move.valueOf(move).getFace().ordinal();
+		}
+	}
+
+	// The tables the search uses
+	private final SolverTables tables;
+
+	/**
+	 * Creates a solver.
+	 *
+	 * @param tables The move tables and pruning tables
+	 */
+	public TwoPhaseSolver(SolverTables tables) {
+		this.tables = tables;
+	}
+
+	/**
+	 * Solves a cube within DEFAULT_MAX_LENGTH moves.
+	 *
+	 * @param state The state to solve
+	 * @return The moves that solve the cube, in the cube's own faces
+	 */
+	public List<Move> solve(CubieState state) {
+		return solve(state, DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * Solves a cube.
+	 *
+	 * @param state The state to solve
+	 * @param maxLength The maximal amount of moves in the solution
+	 * @return The moves that solve the cube in the cube's own faces, or null if there is no solution within maxLength
+	 */
+	public List<Move> solve(CubieState state, int maxLength) {
+		if(!Coordinates.isSolvable(state)) {
+			throw new IllegalArgumentException("The state is not reachable from the solved cube");
+		}
+		Search search = new Search(state, maxLength);
+		int twist = Coordinates.getTwist(state);
+		int flip = Coordinates.getFlip(state);
+		int slice = Coordinates.getSlice(state);
+		int minimalLength = Math.max(
+			SolverTables.getDistance(tables.sliceTwistPruning, slice * Coordinates.TWISTS_COUNT + twist),
+			SolverTables.getDistance(tables.sliceFlipPruning, slice * Coordinates.FLIPS_COUNT + flip)
+		);
+		for(int phase1Length = minimalLength; phase1Length <= maxLength; phase1Length++) {
+			if(search.searchPhase1(twist, flip, slice, 0, phase1Length)) {
+				return search.getSolution();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks if a move may follow another one. A move never follows a move of the same face, and of two
+	 * opposite faces (which commute) only one order is searched.
+	 *
+	 * @param move The ordinal of the move
+	 * @param lastMove The ordinal of the previous move, or -1 if there is none
+	 * @return true if the move is redundant after the previous move
+	 */
+	static boolean isRedundant(int move, int lastMove) {
+		if(lastMove < 0) {
+			return false;
+		}
+		int face = FACE_OF_MOVE[move];
+		int lastFace = FACE_OF_MOVE[lastMove];
+		return face == lastFace || face + 3 == lastFace;
+	}
+
+	/**
+	 * The state of a single search - the moves found so far.
+	 */
+	private final class Search {
+
+		// The state being solved
+		private final CubieState state;
+		// The maximal amount of moves in the solution
+		private final int maxLength;
+		// The ordinals of the moves of the current path
+		private final int[] moves;
+		// The length of the solution once found
+		private int solutionLength;
+
+		/**
+		 * Creates a search.
+		 *
+		 * @param state The state being solved
+		 * @param maxLength The maximal amount of moves in the solution
+		 */
+		Search(CubieState state, int maxLength) {
+			this.state = state;
+			this.maxLength = maxLength;
+			this.moves = new int[Math.max(maxLength, 0) + 1];
+		}
+
+		/**
+		 * Searches for phase 1 solutions of an exact length, and continues each of them with phase 2.
+		 *
+		 * @param twist The current twist coordinate
+		 * @param flip The current flip coordinate
+		 * @param slice The current slice coordinate
+		 * @param depth The amount of moves made so far
+		 * @param movesLeft The amount of moves left for phase 1
+		 * @return true if a full solution was found
+		 */
+		boolean searchPhase1(int twist, int flip, int slice, int depth, int movesLeft) {
+			if(movesLeft == 0) {
+				// A phase 1 solution that ends with a phase 2 move has a shorter version that was already tried
+				if(depth > 0 && isPhase2Move(moves[depth - 1])) {
+					return false;
+				}
+				return startPhase2(depth);
+			}
+			int lastMove = depth > 0 ? moves[depth - 1] : -1;
+			for(int move = 0; move < SolverTables.PHASE1_MOVES_COUNT; move++) {
+				if(isRedundant(move, lastMove)) {
+					continue;
+				}
+				int newTwist = tables.twistMoves[twist * SolverTables.PHASE1_MOVES_COUNT + move];
+				int newFlip = tables.flipMoves[flip * SolverTables.PHASE1_MOVES_COUNT + move];
+				int newSlice = tables.sliceMoves[slice * SolverTables.PHASE1_MOVES_COUNT + move];
+				int distance = Math.max(
+					SolverTables.getDistance(tables.sliceTwistPruning, newSlice * Coordinates.TWISTS_COUNT + newTwist),
+					SolverTables.getDistance(tables.sliceFlipPruning, newSlice * Coordinates.FLIPS_COUNT + newFlip)
+				);
+				if(distance >= movesLeft) {
+					continue;
+				}
+				moves[depth] = move;
+				if(searchPhase1(newTwist, newFlip, newSlice, depth + 1, movesLeft - 1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Finds the phase 2 coordinates after a phase 1 solution, and searches for the shortest phase 2
+		 * solution that fits in the maximal length.
+		 *
+		 * @param phase1Length The length of the phase 1 solution
+		 * @return true if a full solution was found
+		 */
+		private boolean startPhase2(int phase1Length) {
+			CubieState afterPhase1 = state;
+			for(int i = 0; i < phase1Length; i++) {
+				afterPhase1 = afterPhase1.apply(Move.valueOf(moves[i]));
+			}
+			int cornerPermutation = Coordinates.getCornerPermutation(afterPhase1);
+			int udEdgePermutation = Coordinates.getUDEdgePermutation(afterPhase1);
+			int slicePermutation = Coordinates.getSlicePermutation(afterPhase1);
+			int minimalLength = getPhase2Distance(cornerPermutation, udEdgePermutation, slicePermutation);
+			for(int phase2Length = minimalLength; phase2Length <= maxLength - phase1Length; phase2Length++) {
+				if(searchPhase2(cornerPermutation, udEdgePermutation, slicePermutation, phase1Length, phase2Length)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Searches for phase 2 solutions of an exact length.
+		 *
+		 * @param cornerPermutation The current corner permutation coordinate
+		 * @param udEdgePermutation The current U and D edge permutation coordinate
+		 * @param slicePermutation The current slice permutation coordinate
+		 * @param depth The amount of moves made so far (in both phases)
+		 * @param movesLeft The amount of moves left for phase 2
+		 * @return true if a full solution was found
+		 */
+		private boolean searchPhase2(int cornerPermutation, int udEdgePermutation, int slicePermutation, int depth, int movesLeft) {
+			if(movesLeft == 0) {
+				solutionLength = depth;
+				return true;
+			}
+			int lastMove = depth > 0 ? moves[depth - 1] : -1;
+			for(int move = 0; move < SolverTables.PHASE2_MOVES_COUNT; move++) {
+				int moveOrdinal = SolverTables.PHASE2_MOVES[move].ordinal();
+				if(isRedundant(moveOrdinal, lastMove)) {
+					continue;
+				}
+				int newCornerPermutation = tables.cornerPermutationMoves[cornerPermutation * SolverTables.PHASE2_MOVES_COUNT + move];
+				int newUDEdgePermutation = tables.udEdgePermutationMoves[udEdgePermutation * SolverTables.PHASE2_MOVES_COUNT + move];
+				int newSlicePermutation = tables.slicePermutationMoves[slicePermutation * SolverTables.PHASE2_MOVES_COUNT + move];
+				if(getPhase2Distance(newCornerPermutation, newUDEdgePermutation, newSlicePermutation) >= movesLeft) {
+					continue;
+				}
+				moves[depth] = moveOrdinal;
+				if(searchPhase2(newCornerPermutation, newUDEdgePermutation, newSlicePermutation, depth + 1, movesLeft - 1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return A lower bound on the amount of phase 2 moves left
+		 */
+		private int getPhase2Distance(int cornerPermutation, int udEdgePermutation, int slicePermutation) {
+			return Math.max(
+				SolverTables.getDistance(tables.cornerSlicePruning, cornerPermutation * Coordinates.SLICE_PERMUTATIONS_COUNT + slicePermutation),
+				SolverTables.getDistance(tables.edgeSlicePruning, udEdgePermutation * Coordinates.SLICE_PERMUTATIONS_COUNT + slicePermutation)
+			);
+		}
+
+		/**
+		 * @param move The ordinal of a face turn
+		 * @return true if the move is one of the phase 2 moves
+		 */
+		private boolean isPhase2Move(int move) {
+			Move asMove = Move.valueOf(move);
+			return asMove.getPower() == 2 || asMove.getAxis() == Move.U.getAxis();
+		}
+
+		/**
+		 * @return The solution that was found
+		 */
+		List<Move> getSolution() {
+			List<Move> solution = new ArrayList<>(solutionLength);
+			for(int i = 0; i < solutionLength; i++) {
+				solution.add(Move.valueOf(moves[i]));
+			}
+			return solution;
+		}
+
+	}
+
+}
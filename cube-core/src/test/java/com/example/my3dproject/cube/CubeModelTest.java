@@ -0,0 +1,142 @@
+package com.example.my3dproject.cube;
+
+import com.example.my3dproject.math.geometry.Axis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of CubeModel against a plain geometric model of the 27 cubies, in which a layer turn rotates the
+ * position and the orientation matrix of every cubie in the layer.
+ */
+public class CubeModelTest {
+
+	// The quarter turn matrices around X, Y and Z (right-hand rule)
+	private static final int[][][] QUARTER_TURNS = {
+		{{1, 0, 0}, {0, 0, -1}, {0, 1, 0}},
+		{{0, 0, 1}, {0, 1, 0}, {-1, 0, 0}},
+		{{0, -1, 0}, {1, 0, 0}, {0, 0, 1}}
+	};
+
+	@Test
+	public void randomLayerTurns_matchTheGeometricModel() {
+		Random random = new Random(9);
+		for(int sequence = 0; sequence < 2000; sequence++) {
+			CubeModel cubeModel = new CubeModel();
+			int[][] positions = new int[CubeModel.CUBIES_COUNT][];
+			int[][][] orientations = new int[CubeModel.CUBIES_COUNT][][];
+			for(int cubie = 0; cubie < CubeModel.CUBIES_COUNT; cubie++) {
+				positions[cubie] = new int[] {CubeModel.getHomeX(cubie), CubeModel.getHomeY(cubie), CubeModel.getHomeZ(cubie)};
+				orientations[cubie] = new int[][] {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+			}
+			int turnsCount = 1 + random.nextInt(20);
+			for(int turn = 0; turn < turnsCount; turn++) {
+				Axis axis = Axis.values()[random.nextInt(3)];
+				int layer = random.nextInt(3) - 1;
+				int quarterTurns = random.nextInt(3) - 1;
+				if(quarterTurns == 0) {
+					quarterTurns = 2;
+				}
+				cubeModel.applyLayerTurn(axis, layer, quarterTurns);
+				int[][] rotation = power(QUARTER_TURNS[axis.ordinal()], quarterTurns & 3);
+				for(int cubie = 0; cubie < CubeModel.CUBIES_COUNT; cubie++) {
+					if(positions[cubie][axis.ordinal()] == layer) {
+						positions[cubie] = multiply(rotation, positions[cubie]);
+						orientations[cubie] = multiply(rotation, orientations[cubie]);
+					}
+				}
+			}
+
+			for(int cubie = 0; cubie < CubeModel.CUBIES_COUNT; cubie++) {
+				for(Axis axis : Axis.values()) {
+					assertEquals(positions[cubie][axis.ordinal()], cubeModel.getLayerOfCubie(cubie, axis));
+				}
+				// A face center spins in place on a face turn, which the model does not follow
+				if(isFaceCenter(cubie)) {
+					continue;
+				}
+				int orientation = cubeModel.getCubieOrientation(cubie);
+				for(int row = 0; row < 3; row++) {
+					for(int column = 0; column < 3; column++) {
+						assertEquals(orientations[cubie][row][column], CubeOrientation.matrixEntry(orientation, row, column));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void applyingAMove_turnsTheWorldLayerOfItsFace() {
+		Random random = new Random(10);
+		CubeModel cubeModel = new CubeModel();
+		for(int i = 0; i < 200; i++) {
+			// Slice moves turn the face centers, so the moves after them turn other world layers
+			cubeModel.apply(Move.valueOf(random.nextInt(Move.values().length)));
+		}
+		for(Move move : Move.values()) {
+			CubeModel byMove = new CubeModel(cubeModel);
+			byMove.apply(move);
+			CubeModel byRotationOperation = new CubeModel(cubeModel);
+			byRotationOperation.applyRotationOperation(cubeModel.toRotationOperation(move, 1));
+			assertEquals(move.getNotation(), byMove.getState(), byRotationOperation.getState());
+			assertEquals(move.getNotation(), byMove.getFrame(), byRotationOperation.getFrame());
+			assertEquals(move.getNotation(), cubeModel.getState().apply(move), byMove.getState());
+		}
+	}
+
+	/**
+	 * @return true if the cubie is in the middle of a face
+	 */
+	private static boolean isFaceCenter(int cubie) {
+		int nonZero = 0;
+		for(int coordinate : new int[] {CubeModel.getHomeX(cubie), CubeModel.getHomeY(cubie), CubeModel.getHomeZ(cubie)}) {
+			if(coordinate != 0) {
+				nonZero++;
+			}
+		}
+		return nonZero == 1;
+	}
+
+	/**
+	 * @return The matrix to the power of a non-negative exponent
+	 */
+	private static int[][] power(int[][] matrix, int exponent) {
+		int[][] result = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+		for(int i = 0; i < exponent; i++) {
+			result = multiply(matrix, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return a * b
+	 */
+	private static int[][] multiply(int[][] a, int[][] b) {
+		int[][] result = new int[3][3];
+		for(int row = 0; row < 3; row++) {
+			for(int column = 0; column < 3; column++) {
+				for(int k = 0; k < 3; k++) {
+					result[row][column] += a[row][k] * b[k][column];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The matrix times a vector
+	 */
+	private static int[] multiply(int[][] matrix, int[] vector) {
+		int[] result = new int[3];
+		for(int row = 0; row < 3; row++) {
+			for(int column = 0; column < 3; column++) {
+				result[row] += matrix[row][column] * vector[column];
+			}
+		}
+		return result;
+	}
+
+}
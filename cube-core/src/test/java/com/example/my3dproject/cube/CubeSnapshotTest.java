@@ -0,0 +1,71 @@
+package com.example.my3dproject.cube;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of encoding and decoding cube snapshots.
+ */
+public class CubeSnapshotTest {
+
+	@Test
+	public void fromBytes_decodesWhatToBytesEncoded() {
+		Random random = new Random(11);
+		for(int i = 0; i < 1000; i++) {
+			CubeModel cubeModel = new CubeModel();
+			for(int j = 0; j < 30; j++) {
+				cubeModel.apply(Move.valueOf(random.nextInt(Move.values().length)));
+			}
+			byte[] bytes = new CubeSnapshot(cubeModel).toBytes();
+			assertEquals(11, bytes.length);
+
+			CubeModel restored = new CubeModel();
+			CubeSnapshot.fromBytes(bytes).restoreInto(restored);
+			assertEquals(cubeModel.getState(), restored.getState());
+			assertEquals(cubeModel.getFrame(), restored.getFrame());
+		}
+	}
+
+	@Test
+	public void fromBytes_rejectsOtherVersionsAndLengths() {
+		byte[] bytes = new CubeSnapshot(new CubeModel()).toBytes();
+		assertRejected(new byte[0]);
+		assertRejected(Arrays.copyOf(bytes, bytes.length - 1));
+		assertRejected(Arrays.copyOf(bytes, bytes.length + 1));
+		bytes[0]++;
+		assertRejected(bytes);
+	}
+
+	@Test
+	public void fromBytes_rejectsACubeThatCannotBeSolved() {
+		// A single swapped pair of edges, which no turns can reach
+		CubieState swapped = CubieState.fromArrays(
+			new int[] {0, 1, 2, 3, 4, 5, 6, 7}, new int[8], new int[] {1, 0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, new int[12]
+		);
+		assertRejected(new CubeSnapshot(swapped, CubeOrientation.IDENTITY).toBytes());
+	}
+
+	@Test
+	public void fromBytes_rejectsAFrameOutOfRange() {
+		byte[] bytes = new CubeSnapshot(new CubeModel()).toBytes();
+		bytes[1] = CubeOrientation.COUNT;
+		assertRejected(bytes);
+	}
+
+	/**
+	 * Checks that bytes are not accepted as a snapshot.
+	 */
+	private static void assertRejected(byte[] bytes) {
+		try {
+			CubeSnapshot.fromBytes(bytes);
+			fail("The bytes were accepted as a snapshot");
+		}
+		catch (IllegalArgumentException expected) {
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.example.my3dproject.cube;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the move tables, through the moves of CubieState.
+ */
+public class MoveTablesTest {
+
+	@Test
+	public void everyMove_isUndoneByItsInverse() {
+		CubieState scrambled = scramble(new Random(3), 30);
+		for(Move move : Move.values()) {
+			assertEquals(move.getNotation(), scrambled, scrambled.apply(move).apply(move.getInverse()));
+		}
+	}
+
+	@Test
+	public void everyQuarterTurn_hasOrder4() {
+		CubieState scrambled = scramble(new Random(4), 30);
+		for(Move move : Move.values()) {
+			if(move.getPower() != 1) {
+				continue;
+			}
+			CubieState state = scrambled;
+			for(int i = 1; i <= 4; i++) {
+				state = state.apply(move);
+				assertEquals(move.getNotation() + " " + i, i == 4, state.equals(scrambled));
+			}
+		}
+	}
+
+	@Test
+	public void halfAndCounterClockwiseTurns_areRepeatedQuarterTurns() {
+		CubieState scrambled = scramble(new Random(5), 30);
+		for(Move move : Move.values()) {
+			if(move.getPower() != 1) {
+				continue;
+			}
+			Move half = Move.valueOf(move.ordinal() + 1);
+			Move counterClockwise = Move.valueOf(move.ordinal() + 2);
+			assertEquals(half.getNotation(), scrambled.apply(move).apply(move), scrambled.apply(half));
+			assertEquals(counterClockwise.getNotation(), scrambled.apply(half).apply(move), scrambled.apply(counterClockwise));
+		}
+	}
+
+	@Test
+	public void applyingASequence_matchesApplyingItsMovesOneByOne() {
+		Random random = new Random(6);
+		for(int i = 0; i < 100; i++) {
+			List<Move> moves = new ArrayList<>();
+			CubieState state = CubieState.SOLVED;
+			for(int j = 0; j < 25; j++) {
+				Move move = Move.valueOf(random.nextInt(Move.values().length));
+				moves.add(move);
+				state = state.apply(move);
+			}
+			assertEquals(state, CubieState.SOLVED.apply(moves));
+		}
+	}
+
+	/**
+	 * @return The state after random moves (face turns and slice moves) from the solved cube
+	 */
+	static CubieState scramble(Random random, int movesCount) {
+		CubieState state = CubieState.SOLVED;
+		for(int i = 0; i < movesCount; i++) {
+			state = state.apply(Move.valueOf(random.nextInt(Move.values().length)));
+		}
+		return state;
+	}
+
+}
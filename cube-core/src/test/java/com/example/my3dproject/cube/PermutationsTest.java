@@ -0,0 +1,32 @@
+package com.example.my3dproject.cube;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of ranking permutations.
+ */
+public class PermutationsTest {
+
+	@Test
+	public void decode_isTheInverseOfEncodeForEveryRank() {
+		int count = 40320; // 8!
+		for(int rank = 0; rank < count; rank++) {
+			int[] permutation = Permutations.decode(rank, 8);
+			boolean[] seen = new boolean[8];
+			for(int value : permutation) {
+				assertFalse(seen[value]);
+				seen[value] = true;
+			}
+			assertEquals(rank, Permutations.encode(permutation));
+		}
+	}
+
+	@Test
+	public void encode_ranksTheIdentityFirstAndTheReverseLast() {
+		assertEquals(0, Permutations.encode(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}));
+		assertEquals(479001599, Permutations.encode(new int[] {11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0}));
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the optimal solver. The scrambles are short, since a deep scramble may take minutes to solve optimally.
+ */
+public class OptimalSolverTest {
+
+	// The tables of the two-phase solver, built once for all the tests
+	private static final SolverTables TABLES = SolverTables.build();
+	// The tables of the optimal solver, built once for all the tests
+	private static final OptimalSolverTables OPTIMAL_TABLES = OptimalSolverTables.build(TABLES);
+
+	@Test
+	public void solve_isNeverLongerThanTheScrambleOrTheTwoPhaseSolution() {
+		OptimalSolver optimalSolver = new OptimalSolver(OPTIMAL_TABLES, new ForkJoinPool(2));
+		TwoPhaseSolver twoPhaseSolver = new TwoPhaseSolver(TABLES);
+		Random random = new Random(6);
+		for(int i = 0; i < 20; i++) {
+			int scrambleLength = 1 + random.nextInt(9);
+			CubieState state = TwoPhaseSolverTest.scramble(random, scrambleLength);
+			List<Move> optimal = optimalSolver.solve(state);
+			List<Move> twoPhase = twoPhaseSolver.solve(state);
+
+			assertTrue(state.apply(optimal).isSolved());
+			assertTrue(optimal.size() <= scrambleLength);
+			assertTrue(optimal.size() <= twoPhase.size());
+		}
+	}
+
+	@Test
+	public void solve_findsTheKnownOptimalLength() {
+		OptimalSolver optimalSolver = new OptimalSolver(OPTIMAL_TABLES);
+		// R U R' U' has no shorter solution
+		CubieState sexyMove = CubieState.SOLVED.apply(Move.R).apply(Move.U).apply(Move.R_PRIME).apply(Move.U_PRIME);
+		assertEquals(4, optimalSolver.solve(sexyMove).size());
+		// Every move of a half turn of every face is needed
+		CubieState halfTurns = CubieState.SOLVED;
+		for(Move move : new Move[] {Move.U2, Move.D2, Move.F2, Move.B2, Move.L2, Move.R2}) {
+			halfTurns = halfTurns.apply(move);
+		}
+		assertEquals(6, optimalSolver.solve(halfTurns).size());
+		assertTrue(optimalSolver.solve(CubieState.SOLVED).isEmpty());
+	}
+
+}
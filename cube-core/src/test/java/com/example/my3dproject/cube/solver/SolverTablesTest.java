@@ -0,0 +1,156 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of writing the solver tables to a table file and mapping them back.
+ */
+public class SolverTablesTest {
+
+	// The tables, built once for all the tests
+	private static final SolverTables TABLES = SolverTables.build();
+
+	@Test
+	public void load_mapsTheTablesThatWereWritten() throws IOException {
+		File file = createTempFile();
+		try {
+			TABLES.writeTo(file);
+			SolverTables loaded = SolverTables.load(file);
+
+			assertNotNull(loaded);
+			assertArrayEquals(TABLES.twistMoves, loaded.twistMoves);
+			assertArrayEquals(TABLES.flipMoves, loaded.flipMoves);
+			assertArrayEquals(TABLES.sliceMoves, loaded.sliceMoves);
+			assertArrayEquals(TABLES.cornerPermutationMoves, loaded.cornerPermutationMoves);
+			assertArrayEquals(TABLES.udEdgePermutationMoves, loaded.udEdgePermutationMoves);
+			assertArrayEquals(TABLES.slicePermutationMoves, loaded.slicePermutationMoves);
+			assertEquals(TABLES.sliceTwistPruning, loaded.sliceTwistPruning);
+			assertEquals(TABLES.sliceFlipPruning, loaded.sliceFlipPruning);
+			assertEquals(TABLES.cornerSlicePruning, loaded.cornerSlicePruning);
+			assertEquals(TABLES.edgeSlicePruning, loaded.edgeSlicePruning);
+
+			// The mapped tables solve like the built ones
+			Random random = new Random(5);
+			TwoPhaseSolver solver = new TwoPhaseSolver(loaded);
+			for(int i = 0; i < 20; i++) {
+				CubieState state = TwoPhaseSolverTest.scramble(random, 40);
+				TwoPhaseSolverTest.assertValidSolution(state, solver.solve(state));
+			}
+		}
+		finally {
+			delete(file);
+		}
+	}
+
+	@Test
+	public void load_returnsNullWithoutAFile() throws IOException {
+		File file = createTempFile();
+		delete(file);
+		assertNull(SolverTables.load(file));
+	}
+
+	@Test
+	public void map_rejectsATruncatedFile() throws IOException {
+		File file = writeSmallTableFile();
+		try {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				randomAccessFile.setLength(randomAccessFile.length() - 8);
+			}
+			assertNull(TableFile.map(file, 3, 16));
+		}
+		finally {
+			delete(file);
+		}
+	}
+
+	@Test
+	public void map_rejectsAWrongMagicNumberOrVersion() throws IOException {
+		for(int offset : new int[] {0, 4}) {
+			File file = writeSmallTableFile();
+			try {
+				try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+					randomAccessFile.seek(offset);
+					randomAccessFile.write(0x7F);
+				}
+				assertNull("Byte " + offset, TableFile.map(file, 3, 16));
+			}
+			finally {
+				delete(file);
+			}
+		}
+	}
+
+	@Test
+	public void map_rejectsOtherSectionLengths() throws IOException {
+		File file = writeSmallTableFile();
+		try {
+			assertNotNull(TableFile.map(file, 3, 16));
+			// The same file size, but split differently
+			assertNull(TableFile.map(file, 8, 8));
+			assertNull(TableFile.map(file, 3, 16, 0));
+		}
+		finally {
+			delete(file);
+		}
+	}
+
+	@Test
+	public void loadOrBuild_replacesACorruptedFile() throws IOException {
+		File file = createTempFile();
+		try {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				randomAccessFile.write(new byte[100]);
+			}
+			List<IOException> errors = new ArrayList<>();
+			SolverTables tables = SolverTables.loadOrBuild(file, errors::add);
+
+			assertTrue(errors.isEmpty());
+			assertArrayEquals(TABLES.twistMoves, tables.twistMoves);
+			// The file was written again, so the next load maps it
+			assertNotNull(SolverTables.load(file));
+		}
+		finally {
+			delete(file);
+		}
+	}
+
+	/**
+	 * @return A table file with a section of 3 bytes and a section of 16 bytes
+	 */
+	private static File writeSmallTableFile() throws IOException {
+		File file = createTempFile();
+		TableFile.write(file, ByteBuffer.wrap(new byte[] {1, 2, 3}), ByteBuffer.allocate(16));
+		ByteBuffer[] sections = TableFile.map(file, 3, 16);
+		assertNotNull(sections);
+		assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), sections[0]);
+		return file;
+	}
+
+	/**
+	 * @return A new empty file
+	 */
+	private static File createTempFile() throws IOException {
+		return File.createTempFile("solver_tables", ".bin");
+	}
+
+	/**
+	 * Deletes a file, and the temporary file a write may have left next to it.
+	 */
+	private static void delete(File file) {
+		file.delete();
+		new File(file.getPath() + ".tmp").delete();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.example.my3dproject.cube.solver;
+
+import com.example.my3dproject.cube.CubieState;
+import com.example.my3dproject.cube.Move;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the solutions of the two-phase solver.
+ */
+public class TwoPhaseSolverTest {
+
+	// The tables, built once for all the tests
+	private static final TwoPhaseSolver SOLVER = new TwoPhaseSolver(SolverTables.build());
+
+	@Test
+	public void solve_solvesRandomScramblesInAtMost22Moves() {
+		Random random = new Random(300);
+		for(int i = 0; i < 300; i++) {
+			CubieState state = scramble(random, 40);
+			assertValidSolution(state, SOLVER.solve(state));
+		}
+	}
+
+	@Test
+	public void solve_solvesTheSuperflip() {
+		int[] flips = new int[12];
+		Arrays.fill(flips, 1);
+		CubieState superflip = CubieState.fromArrays(new int[] {0, 1, 2, 3, 4, 5, 6, 7}, new int[8], new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, flips);
+		assertValidSolution(superflip, SOLVER.solve(superflip));
+	}
+
+	@Test
+	public void solve_returnsNoMovesForTheSolvedCube() {
+		assertTrue(SOLVER.solve(CubieState.SOLVED).isEmpty());
+	}
+
+	@Test
+	public void solve_usesOnlyFaceTurnsWithoutRedundantPairs() {
+		Random random = new Random(301);
+		for(int i = 0; i < 50; i++) {
+			List<Move> solution = SOLVER.solve(scramble(random, 40));
+			for(int j = 0; j < solution.size(); j++) {
+				assertFalse(solution.get(j).isSlice());
+				if(j > 0) {
+					assertNotEquals(solution.get(j - 1).getFace(), solution.get(j).getFace());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void solve_rejectsAnUnsolvableState() {
+		// A single swapped pair of edges
+		CubieState swapped = CubieState.fromArrays(
+			new int[] {0, 1, 2, 3, 4, 5, 6, 7}, new int[8], new int[] {1, 0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, new int[12]
+		);
+		try {
+			SOLVER.solve(swapped);
+			fail("An unsolvable state was solved");
+		}
+		catch (IllegalArgumentException expected) {
+		}
+	}
+
+	/**
+	 * Checks that a solution solves a state, within the length the solver promises.
+	 */
+	static void assertValidSolution(CubieState state, List<Move> solution) {
+		assertNotNull(solution);
+		assertTrue("A solution of " + solution.size() + " moves", solution.size() <= TwoPhaseSolver.DEFAULT_MAX_LENGTH);
+		assertTrue(state.apply(solution).isSolved());
+	}
+
+	/**
+	 * @return The state after random face turns from the solved cube
+	 */
+	static CubieState scramble(Random random, int movesCount) {
+		CubieState state = CubieState.SOLVED;
+		for(int i = 0; i < movesCount; i++) {
+			state = state.apply(Move.valueOf(random.nextInt(Move.FACE_TURNS_COUNT)));
+		}
+		return state;
+	}
+
+}
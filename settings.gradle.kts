@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "My 3DProject"
 include(":app")
+include(":cube-core")
  
\ No newline at end of file